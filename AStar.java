@@ -6,50 +6,144 @@ import java.util.function.*;
 
 public class AStar {
     
-    // Count of how many nodes were expanded in the most recent search.
-    private static int expandedCount;
+    // The statistics of the most recent search executed in each thread. The methods that
+    // return a SearchResult are the preferred way to get the statistics of each search.
+    private static final ThreadLocal<SearchStats> lastStats = new ThreadLocal<>();
     /**
-     * Returns the count of how many nodes were expanded in the most recent search.
+     * Returns the count of how many nodes were expanded in the most recent search that was
+     * executed in the current thread.
      * @return The node expansion count.
      */
-    public static int getExpandedCount() { return expandedCount; }
+    public static int getExpandedCount() {
+        SearchStats stats = lastStats.get();
+        return stats == null ? 0 : (int)stats.getExpanded();
+    }
     
     // A data structure to store a vertex that we have found in the search, along with
     // the distance to that vertex and reference from what node we arrived to this node.
+    // The f = g + h value is computed once when the node is created, so that the heuristic
+    // is not evaluated again every time the frontier compares two nodes.
     private static class SearchNode<V> {
         public V vertex;
         public SearchNode<V> prev;
         public double g;
-        public SearchNode(V vertex, SearchNode<V> prev, double g) {
-            this.vertex = vertex; this.prev = prev; this.g = g;
+        public double f;
+        public boolean closed; // Whether this node has been expanded.
+        public SearchNode(V vertex, SearchNode<V> prev, double g, double f) {
+            this.vertex = vertex; this.prev = prev; this.g = g; this.f = f;
         }
     }
     
-    // Comparator used by the search priority queue to sort the search nodes in order
-    // of increasing value of the sum g + h.
-    private static class SearchNodeComparator<V> implements Comparator<SearchNode<V>> {
-        private Function<V, Double> h; // The heuristic function used.
-        public SearchNodeComparator(Function<V, Double> h) {
-            this.h = h;
-        }
-        public int compare(SearchNode<V> n1, SearchNode<V> n2) {
-            double d1 = h.apply(n1.vertex) + n1.g;
-            double d2 = h.apply(n2.vertex) + n2.g;
-            return d1 < d2 ? -1: (d1 > d2? +1: 0);
-        }
+    /**
+     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The heuristic lower bound function used by the A* algorithm. To guarantee
+     * finding the shortest path, this function must be both admissible and monotonic.
+     * @return List of nodes that comprise the shortest path from start to goal.
+     */
+    public static <V> List<V> shortestPath(
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        Predicate<V> goalTest,
+        Function<V, Double> h
+    )
+    {
+        return search(edges, cost, start, goalTest, h, Frontier.Kind.BINARY).getPath();
     }
     
     /**
-     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm.
+     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm
+     * in the common special case where all edge costs and heuristic values are nonnegative
+     * integers. The search frontier is then a bucket queue with constant time operations.
+     * With the heuristic that is constant zero, this is the uniform cost search.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the integer cost of moving along an edge from one vertex
+     * to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The integer heuristic lower bound function used by the A* algorithm. To
+     * guarantee finding the shortest path, this function must be both admissible and monotonic.
+     * @return List of nodes that comprise the shortest path from start to goal.
+     */
+    public static <V> List<V> shortestPathIntegral(
+        Function<V, List<V>> edges,
+        ToIntBiFunction<V, V> cost,
+        V start,
+        Predicate<V> goalTest,
+        ToIntFunction<V> h
+    )
+    {
+        return searchIntegral(edges, cost, start, goalTest, h).getPath();
+    }
+    
+    /**
+     * As {@code shortestPathIntegral}, but returns the path together with the search statistics.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the integer cost of moving along an edge from one vertex
+     * to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The integer heuristic lower bound function used by the A* algorithm.
+     * @return The search result with the shortest path from start to goal.
+     */
+    public static <V> SearchResult<V> searchIntegral(
+        Function<V, List<V>> edges,
+        ToIntBiFunction<V, V> cost,
+        V start,
+        Predicate<V> goalTest,
+        ToIntFunction<V> h
+    )
+    {
+        return search(
+            edges,
+            (v1, v2) -> (double)cost.applyAsInt(v1, v2),
+            start,
+            goalTest,
+            h == null ? null : v -> (double)h.applyAsInt(v),
+            Frontier.Kind.BUCKET
+        );
+    }
+    
+    /**
+     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm,
+     * using the given kind of priority queue as the search frontier.
      * @param edges Function giving the list of edges from given vertex.
      * @param cost Function giving the cost of moving along an edge from one vertex to another.
      * @param start The vertex to start the search from.
      * @param goalTest Predicate to check whether given vertex is a goal.
      * @param h The heuristic lower bound function used by the A* algorithm. To guarantee
      * finding the shortest path, this function must be both admissible and monotonic.
+     * @param kind The kind of priority queue to use as the search frontier.
      * @return List of nodes that comprise the shortest path from start to goal.
      */
     public static <V> List<V> shortestPath(
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        Predicate<V> goalTest,
+        Function<V, Double> h,
+        Frontier.Kind kind
+    )
+    {
+        return search(edges, cost, start, goalTest, h, kind).getPath();
+    }
+    
+    /**
+     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm,
+     * and return it together with the statistics of this search. This method does not share
+     * any state between calls, so it can be called from several threads at the same time.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The heuristic lower bound function used by the A* algorithm.
+     * @return The search result with the shortest path from start to goal.
+     */
+    public static <V> SearchResult<V> search(
         Function<V, List<V>> edges,
         BiFunction<V, V, Double> cost,
         V start,
@@ -57,28 +151,56 @@ public class AStar {
         Function<V, Double> h
     )
     {
-        // Initialize the node expansion count.
-        expandedCount = 0;
-        // The vertices that have been discovered, along with so far best g-values.
-        Map<V, Double> discovered = new HashMap<V, Double>();
+        return search(edges, cost, start, goalTest, h, Frontier.Kind.BINARY);
+    }
+    
+    /**
+     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm
+     * with the given kind of search frontier, and return it together with the statistics of
+     * this search.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The heuristic lower bound function used by the A* algorithm.
+     * @param kind The kind of priority queue to use as the search frontier.
+     * @return The search result with the shortest path from start to goal.
+     */
+    public static <V> SearchResult<V> search(
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        Predicate<V> goalTest,
+        Function<V, Double> h,
+        Frontier.Kind kind
+    )
+    {
+        // The counters for the statistics of this search.
+        SearchStats.Counter counter = new SearchStats.Counter();
+        // The best search node found so far for each discovered vertex.
+        Map<V, SearchNode<V>> discovered = new HashMap<V, SearchNode<V>>();
         // Initialize the null heuristic.
         if(h == null) { h = v -> 0.0; }
-        // The search nodes waiting to be processed.
-        PriorityQueue<SearchNode<V>> frontier = 
-            new PriorityQueue<>(new SearchNodeComparator<V>(h));
+        // The search nodes waiting to be processed, ordered by their f-values.
+        Frontier<SearchNode<V>> frontier = Frontier.create(kind);
         // Initialize the search frontier to contain the start node.
-        frontier.offer(new SearchNode<V>(start, null, 0));
-        discovered.put(start, 0.0);
+        double hs = h.apply(start);
+        SearchNode<V> startNode = new SearchNode<V>(start, null, 0, hs);
+        frontier.offer(startNode, hs);
+        discovered.put(start, startNode);
+        counter.generated++;
     
         while(frontier.size() > 0) {
+            counter.frontierSize(frontier.size());
             // Extract the node with lowest (g + h) value to be expanded next.
             SearchNode<V> curr = frontier.poll();
             // The vertex of the original graph stored in the current node.
             V current = curr.vertex;
-            // If this vertex has previously been expanded with a lower cost, skip it now.
-            if(discovered.get(current) < curr.g) { continue; }
+            // If this vertex has since been reached with a lower cost, skip this node now.
+            if(discovered.get(current) != curr) { continue; }
             // Otherwise, expand this vertex.
-            expandedCount++;
+            curr.closed = true;
+            counter.expanded++;
             // If the current vertex is a goal, finish the search and return the answer path.
             if(goalTest.test(current)) { 
                 LinkedList<V> solutionPath = new LinkedList<V>();
@@ -87,20 +209,154 @@ public class AStar {
                     solutionPath.addFirst(curr.vertex);
                     curr = curr.prev;
                 }
-                return solutionPath;
+                return finish(solutionPath, counter);
             }
             // Add the undiscovered neighbours of the current vertex to the search frontier.
             for(V next: edges.apply(current)) {
                 // Neighbour node path total cost.
                 double ng = curr.g + cost.apply(current, next);
                 // If we have already discovered some at least as good path to this neighbour, skip it.
-                if(discovered.getOrDefault(next, Double.POSITIVE_INFINITY) <= ng) { continue; }
+                SearchNode<V> old = discovered.get(next);
+                if(old != null && old.g <= ng) { continue; }
+                // An inconsistent heuristic can cause an expanded vertex to be reopened.
+                if(old != null && old.closed) { counter.reopened++; }
                 // Otherwise, create/add new node for this neighbour.
-                frontier.offer(new SearchNode<V>(next, curr, ng));
-                discovered.put(next, ng);
+                double nf = ng + h.apply(next);
+                SearchNode<V> node = new SearchNode<V>(next, curr, ng, nf);
+                frontier.offer(node, nf);
+                discovered.put(next, node);
+                counter.generated++;
             }           
         }
         // Search completed with no solution found.
-        return null;
+        return finish(null, counter);
+    }
+    
+    // Package the path and the statistics into the search result, also remembering these
+    // statistics as the most recent ones of the current thread.
+    private static <V> SearchResult<V> finish(List<V> path, SearchStats.Counter counter) {
+        SearchStats stats = counter.toStats();
+        lastStats.set(stats);
+        return new SearchResult<V>(path, stats);
+    }
+    
+    /**
+     * Find the shortest path from the start vertex to the goal vertex using bidirectional A*
+     * that runs a forward search from the start and a backward search from the goal, each
+     * time expanding the side whose frontier is currently smaller. The search stops once
+     * either frontier can no longer contain a node whose f-value is less than the cost of
+     * the shortest path found so far through some vertex discovered by both searches.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param reverseEdges Function giving the list of vertices that have an edge into the
+     * given vertex. In an undirected graph, this is the same function as {@code edges}.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goal The goal vertex of the search.
+     * @param hForward The heuristic lower bound for the cost from given vertex to the goal.
+     * @param hBackward The heuristic lower bound for the cost from the start to given vertex.
+     * To guarantee finding the shortest path, both heuristics must be admissible and monotonic.
+     * @return List of nodes that comprise the shortest path from start to goal.
+     */
+    public static <V> List<V> bidirectionalPath(
+        Function<V, List<V>> edges,
+        Function<V, List<V>> reverseEdges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        V goal,
+        Function<V, Double> hForward,
+        Function<V, Double> hBackward
+    )
+    {
+        return bidirectionalSearch(edges, reverseEdges, cost, start, goal, hForward, hBackward).getPath();
+    }
+    
+    /**
+     * As {@code bidirectionalPath}, but returns the path together with the search statistics.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param reverseEdges Function giving the list of vertices that have an edge into the
+     * given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goal The goal vertex of the search.
+     * @param hForward The heuristic lower bound for the cost from given vertex to the goal.
+     * @param hBackward The heuristic lower bound for the cost from the start to given vertex.
+     * @return The search result with the shortest path from start to goal.
+     */
+    public static <V> SearchResult<V> bidirectionalSearch(
+        Function<V, List<V>> edges,
+        Function<V, List<V>> reverseEdges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        V goal,
+        Function<V, Double> hForward,
+        Function<V, Double> hBackward
+    )
+    {
+        // The counters for the statistics of this search.
+        SearchStats.Counter counter = new SearchStats.Counter();
+        // Initialize the null heuristics.
+        if(hForward == null) { hForward = v -> 0.0; }
+        if(hBackward == null) { hBackward = v -> 0.0; }
+        // The best search node found so far for each vertex, in both directions. In the
+        // backward search, the prev of a node is the next node on the path to the goal.
+        Map<V, SearchNode<V>> forwardBest = new HashMap<V, SearchNode<V>>();
+        Map<V, SearchNode<V>> backwardBest = new HashMap<V, SearchNode<V>>();
+        Frontier<SearchNode<V>> forwardFrontier = Frontier.create(Frontier.Kind.BINARY);
+        Frontier<SearchNode<V>> backwardFrontier = Frontier.create(Frontier.Kind.BINARY);
+        SearchNode<V> sn = new SearchNode<V>(start, null, 0, hForward.apply(start));
+        forwardBest.put(start, sn);
+        forwardFrontier.offer(sn, sn.f);
+        SearchNode<V> gn = new SearchNode<V>(goal, null, 0, hBackward.apply(goal));
+        backwardBest.put(goal, gn);
+        backwardFrontier.offer(gn, gn.f);
+        counter.generated += 2;
+        // The cost of the best path found so far, and the two nodes where it was found.
+        double mu = start.equals(goal) ? 0 : Double.POSITIVE_INFINITY;
+        SearchNode<V> meetForward = sn, meetBackward = gn;
+        
+        while(forwardFrontier.size() > 0 && backwardFrontier.size() > 0) {
+            counter.frontierSize(forwardFrontier.size() + backwardFrontier.size());
+            // Each frontier key is a lower bound for the cost of any path not yet found.
+            if(Math.max(forwardFrontier.peekKey(), backwardFrontier.peekKey()) >= mu) { break; }
+            boolean forward = forwardFrontier.size() <= backwardFrontier.size();
+            Frontier<SearchNode<V>> frontier = forward ? forwardFrontier : backwardFrontier;
+            Map<V, SearchNode<V>> best = forward ? forwardBest : backwardBest;
+            Map<V, SearchNode<V>> otherBest = forward ? backwardBest : forwardBest;
+            Function<V, List<V>> dir = forward ? edges : reverseEdges;
+            Function<V, Double> h = forward ? hForward : hBackward;
+            SearchNode<V> curr = frontier.poll();
+            V current = curr.vertex;
+            // If this vertex has previously been expanded with a lower cost, skip it now.
+            if(best.get(current) != curr) { continue; }
+            curr.closed = true;
+            counter.expanded++;
+            for(V next: dir.apply(current)) {
+                // The edge goes from current to next in the forward search, and from next
+                // to current in the backward search.
+                double ng = curr.g + (forward ? cost.apply(current, next) : cost.apply(next, current));
+                SearchNode<V> old = best.get(next);
+                if(old != null && old.g <= ng) { continue; }
+                if(old != null && old.closed) { counter.reopened++; }
+                double nf = ng + h.apply(next);
+                SearchNode<V> node = new SearchNode<V>(next, curr, ng, nf);
+                best.put(next, node);
+                frontier.offer(node, nf);
+                counter.generated++;
+                // If the other search has also reached this vertex, we have found a path.
+                SearchNode<V> other = otherBest.get(next);
+                if(other != null && ng + other.g < mu) {
+                    mu = ng + other.g;
+                    meetForward = forward ? node : other;
+                    meetBackward = forward ? other : node;
+                }
+            }
+        }
+        // Search completed with no solution found.
+        if(mu == Double.POSITIVE_INFINITY) { return finish(null, counter); }
+        // Join the two halves of the path at the meeting vertex.
+        LinkedList<V> solutionPath = new LinkedList<V>();
+        for(SearchNode<V> n = meetForward; n != null; n = n.prev) { solutionPath.addFirst(n.vertex); }
+        for(SearchNode<V> n = meetBackward.prev; n != null; n = n.prev) { solutionPath.addLast(n.vertex); }
+        return finish(solutionPath, counter);
     }
 }
@@ -0,0 +1,166 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * The matrix of unweighted shortest path distances between all pairs of vertices of an
+ * {@code IntGraph}, precomputed so that each distance query takes constant time. The
+ * distances are found with breadth first searches from 64 sources at the same time, the
+ * frontier and the visited set of each vertex being a single long whose bit i tells whether
+ * the vertex has been reached from the i:th source of the batch. One pass over the edges
+ * thus advances all 64 searches by one level. The batches are independent of each other,
+ * so they are executed in parallel. Each distance is stored in one byte, limiting this
+ * class to the graphs whose finite distances are less than 255.
+ */
+public class AllPairsDistances {
+
+    // The byte stored for the pairs of vertices with no path between them.
+    private static final int UNREACHABLE = 255;
+
+    private final IntGraph graph;
+    // The distance from each vertex to each vertex, as an unsigned byte.
+    private final byte[][] dist;
+    // The greatest finite distance from each vertex to the other vertices.
+    private final int[] eccentricity;
+
+    /**
+     * Constructor to compute the distances between all pairs of vertices of the graph.
+     * @param graph The graph whose distances are computed.
+     * @param threads The number of threads to use in computing the distances.
+     */
+    public AllPairsDistances(IntGraph graph, int threads) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        this.dist = new byte[n][];
+        this.eccentricity = new int[n];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int first = 0; first < n; first += 64) {
+                int batchStart = first;
+                futures.add(pool.submit(() -> searchBatch(batchStart, Math.min(batchStart + 64, n))));
+            }
+            for(Future<?> future: futures) { future.get(); }
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing the distances", e);
+        }
+        catch(ExecutionException e) {
+            throw new IllegalStateException("Computing the distances failed: " + e.getCause(), e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Run the breadth first searches from the sources first, ..., last-1 together.
+    private void searchBatch(int first, int last) {
+        int n = graph.vertexCount();
+        long[] visited = new long[n];
+        long[] frontier = new long[n];
+        long[] next = new long[n];
+        for(int s = first; s < last; s++) {
+            dist[s] = new byte[n];
+            Arrays.fill(dist[s], (byte)UNREACHABLE);
+            dist[s][s] = 0;
+            visited[s] |= 1L << (s - first);
+            frontier[s] |= 1L << (s - first);
+        }
+        boolean active = true;
+        for(int level = 1; active; level++) {
+            active = false;
+            // Every source that reaches a vertex in the frontier reaches its neighbours.
+            for(int v = 0; v < n; v++) {
+                long bits = frontier[v];
+                if(bits == 0) { continue; }
+                for(int e = graph.firstEdge(v), end = graph.firstEdge(v + 1); e < end; e++) {
+                    next[graph.target(e)] |= bits;
+                }
+            }
+            for(int v = 0; v < n; v++) {
+                long bits = next[v] & ~visited[v];
+                next[v] = 0;
+                frontier[v] = bits;
+                if(bits == 0) { continue; }
+                if(level >= UNREACHABLE) {
+                    throw new IllegalArgumentException("Distances of " + UNREACHABLE + " or more cannot be stored");
+                }
+                active = true;
+                visited[v] |= bits;
+                // Record the distance for each source whose search reached v at this level.
+                while(bits != 0) {
+                    int s = first + Long.numberOfTrailingZeros(bits);
+                    dist[s][v] = (byte)level;
+                    eccentricity[s] = level;
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of edges on the shortest path from one vertex to another.
+     * @param from The start vertex of the path.
+     * @param to The end vertex of the path.
+     * @return The distance from {@code from} to {@code to}, or -1 if there is no path.
+     */
+    public int distance(int from, int to) {
+        int d = dist[from][to] & 0xFF;
+        return d == UNREACHABLE ? -1 : d;
+    }
+
+    /**
+     * Find a shortest path by starting from one vertex, and repeatedly moving to some
+     * neighbour that is one step closer to the other vertex.
+     * @param from The start vertex of the path.
+     * @param to The end vertex of the path.
+     * @return Array of vertices on a shortest path from {@code from} to {@code to}, or
+     * {@code null} if there is no path.
+     */
+    public int[] shortestPath(int from, int to) {
+        int d = distance(from, to);
+        if(d < 0) { return null; }
+        int[] path = new int[d + 1];
+        path[0] = from;
+        for(int i = 1; i <= d; i++) {
+            int v = path[i - 1];
+            for(int e = graph.firstEdge(v), end = graph.firstEdge(v + 1); e < end; e++) {
+                int w = graph.target(e);
+                if(distance(w, to) == d - i) { path[i] = w; break; }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Returns the eccentricity of the vertex, its greatest distance to any vertex that can
+     * be reached from it.
+     * @param v The vertex whose eccentricity is returned.
+     * @return The eccentricity of the vertex.
+     */
+    public int eccentricity(int v) { return eccentricity[v]; }
+
+    /**
+     * Returns the diameter of the graph, the greatest finite distance between two vertices.
+     * @return The diameter of the graph.
+     */
+    public int diameter() {
+        int result = 0;
+        for(int e: eccentricity) { result = Math.max(result, e); }
+        return result;
+    }
+
+    /**
+     * Returns the number of pairs of distinct vertices with a path from the first to the second.
+     * @return The number of connected pairs.
+     */
+    public long connectedPairs() {
+        long result = 0;
+        for(byte[] row: dist) {
+            for(byte d: row) {
+                if((d & 0xFF) != UNREACHABLE) { result++; }
+            }
+        }
+        return result - dist.length;
+    }
+}
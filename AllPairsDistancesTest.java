@@ -0,0 +1,112 @@
+import java.util.*;
+
+// Randomized tests of the bit-parallel all pairs distances against a plain breadth first
+// search from every vertex, on random directed graphs of several batches of 64 sources.
+
+public class AllPairsDistancesTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The distances from the start vertex to all vertices, with -1 for the unreachable ones.
+    private static int[] bfs(int[][] adjacency, int start) {
+        int[] dist = new int[adjacency.length];
+        Arrays.fill(dist, -1);
+        dist[start] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+        while(!queue.isEmpty()) {
+            int v = queue.poll();
+            for(int w: adjacency[v]) {
+                if(dist[w] < 0) { dist[w] = dist[v] + 1; queue.add(w); }
+            }
+        }
+        return dist;
+    }
+
+    // A random directed graph whose edges mostly lead to nearby vertices, so that the
+    // distances are long, with some vertices that have no edges at all.
+    private static int[][] randomGraph(Random rng, int n, int maxDegree) {
+        int[][] adjacency = new int[n][];
+        for(int v = 0; v < n; v++) {
+            Set<Integer> nb = new TreeSet<>();
+            int degree = rng.nextInt(6) == 0 ? 0 : rng.nextInt(maxDegree + 1);
+            for(int i = 0; i < degree; i++) {
+                int w = rng.nextInt(5) == 0 ? rng.nextInt(n) : Math.floorMod(v + rng.nextInt(7) - 2, n);
+                if(w != v) { nb.add(w); }
+            }
+            adjacency[v] = nb.stream().mapToInt(x -> x).toArray();
+        }
+        return adjacency;
+    }
+
+    public static void test(int seed, int n, int maxDegree, int threads) {
+        int[][] adjacency = randomGraph(new Random(seed), n, maxDegree);
+        AllPairsDistances apd = new AllPairsDistances(new IntGraph(adjacency), threads);
+        int diameter = 0;
+        long connected = 0;
+        for(int s = 0; s < n; s++) {
+            int[] dist = bfs(adjacency, s);
+            int eccentricity = 0;
+            for(int t = 0; t < n; t++) {
+                check(apd.distance(s, t) == dist[t], "distance from " + s + " to " + t + " was " + apd.distance(s, t)
+                    + ", expected " + dist[t]);
+                int[] path = apd.shortestPath(s, t);
+                if(dist[t] < 0) {
+                    check(path == null, "path from " + s + " to unreachable " + t);
+                    continue;
+                }
+                check(path.length == dist[t] + 1 && path[0] == s && path[dist[t]] == t, "path from " + s + " to "
+                    + t + " was " + Arrays.toString(path));
+                for(int i = 1; i < path.length; i++) {
+                    int prev = path[i - 1], next = path[i];
+                    check(Arrays.stream(adjacency[prev]).anyMatch(w -> w == next), "path " + Arrays.toString(path)
+                        + " uses a missing edge");
+                }
+                eccentricity = Math.max(eccentricity, dist[t]);
+                if(t != s) { connected++; }
+            }
+            check(apd.eccentricity(s) == eccentricity, "eccentricity of " + s + " was " + apd.eccentricity(s)
+                + ", expected " + eccentricity);
+            diameter = Math.max(diameter, eccentricity);
+        }
+        check(apd.diameter() == diameter, "diameter " + apd.diameter() + ", expected " + diameter);
+        check(apd.connectedPairs() == connected, apd.connectedPairs() + " connected pairs, expected " + connected);
+    }
+
+    // A directed path of the given number of vertices, whose longest distance is one less.
+    private static IntGraph chain(int n) {
+        int[][] adjacency = new int[n][];
+        for(int v = 0; v < n; v++) { adjacency[v] = v < n - 1 ? new int[] { v + 1 } : new int[0]; }
+        return new IntGraph(adjacency);
+    }
+
+    // The longest distance that fits into a byte is 254, and longer ones must be rejected.
+    public static void testLongDistances() {
+        AllPairsDistances apd = new AllPairsDistances(chain(255), 2);
+        check(apd.distance(0, 254) == 254 && apd.distance(254, 0) == -1, "distances along the chain");
+        check(apd.diameter() == 254, "chain diameter " + apd.diameter());
+        try {
+            new AllPairsDistances(chain(256), 2);
+        }
+        catch(IllegalStateException expected) {
+            check(expected.getCause() instanceof IllegalArgumentException, "failure cause " + expected.getCause());
+            return;
+        }
+        throw new AssertionError("distance of 255 was accepted");
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int threads: new int[] { 1, 2, 4 }) {
+            test(seed++, 65, 2, threads);
+            test(seed++, 130, 3, threads);
+            test(seed++, 200, 1, threads);
+            test(seed++, 300, 4, threads);
+        }
+        test(seed++, 1, 0, 1);
+        testLongDistances();
+        System.out.println("All AllPairsDistances tests passed.");
+    }
+}
@@ -0,0 +1,417 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Search algorithms for state spaces too large for the memory of A*, each trading away
+ * some of the optimality of the answer for bounded time or memory. Anytime repairing A*
+ * finds a first solution quickly with a heavily weighted heuristic, and then keeps
+ * improving it while lowering the weight, so that the best solution so far is always
+ * available. Beam search keeps only the given number of most promising nodes on each
+ * level. Simplified memory-bounded A* keeps at most the given number of nodes in memory,
+ * forgetting the least promising ones whenever memory runs out, but remembering their
+ * costs in their parents so that they can be regenerated if they turn out to be needed.
+ */
+public class AnytimeSearch {
+
+    // An entry in the frontier of anytime repairing A*. The entry is stale if the vertex has
+    // since been reached with a smaller g, or has been expanded.
+    private static class Entry<V> {
+        public V vertex;
+        public double g;
+        public double key;
+        public Entry(V vertex, double g, double key) {
+            this.vertex = vertex; this.g = g; this.key = key;
+        }
+    }
+
+    /**
+     * Find a path from the start vertex to some goal vertex with anytime repairing A*
+     * (ARA*). The search is a series of weighted A* searches where the heuristic is
+     * multiplied by epsilon, each search reusing the work of the previous ones. After each
+     * search that improves either the path or its bound, the path is given to the consumer
+     * along with the proven bound for how many times more it can cost than the shortest
+     * path. Epsilon is then reduced by the given step, until the bound reaches one and the
+     * path is known to be the shortest.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The admissible and monotonic heuristic lower bound function.
+     * @param epsilon The initial weight of the heuristic, at least one.
+     * @param epsilonStep The amount by which epsilon is reduced after each search.
+     * @param onSolution The consumer of each improved path and its suboptimality bound, or
+     * {@code null} if only the final result is needed.
+     * @return The search result with the shortest path from start to goal.
+     * @throws IllegalArgumentException If epsilon is less than one, or the step is not
+     * positive, either of which would keep the bound from ever reaching one.
+     */
+    public static <V> SearchResult<V> araStar(
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        Predicate<V> goalTest,
+        Function<V, Double> h,
+        double epsilon,
+        double epsilonStep,
+        BiConsumer<List<V>, Double> onSolution
+    )
+    {
+        if(!(epsilon >= 1)) {
+            throw new IllegalArgumentException("Epsilon must be at least one, was " + epsilon + ".");
+        }
+        if(!(epsilonStep > 0)) {
+            throw new IllegalArgumentException("Epsilon step must be positive, was " + epsilonStep + ".");
+        }
+        SearchStats.Counter counter = new SearchStats.Counter();
+        Comparator<Entry<V>> byKey = (e1, e2) -> Double.compare(e1.key, e2.key);
+        PriorityQueue<Entry<V>> open = new PriorityQueue<>(byKey);
+        // The best known cost and predecessor of each vertex that has been reached.
+        Map<V, Double> g = new HashMap<>();
+        Map<V, V> prev = new HashMap<>();
+        // The vertices expanded in the current search, and those whose cost improved after
+        // they had been expanded. The latter will be reconsidered in the next search.
+        Set<V> closed = new HashSet<>();
+        Set<V> incons = new HashSet<>();
+        // The heuristic values are computed only once for each vertex.
+        Map<V, Double> hValue = new HashMap<>();
+        g.put(start, 0.0);
+        if(goalTest.test(start)) {
+            List<V> path = Collections.singletonList(start);
+            if(onSolution != null) { onSolution.accept(path, 1.0); }
+            return new SearchResult<V>(path, counter.toStats());
+        }
+        hValue.put(start, h.apply(start));
+        open.offer(new Entry<V>(start, 0, epsilon * hValue.get(start)));
+        counter.generated++;
+        V goal = null;
+        double goalG = Double.POSITIVE_INFINITY;
+        List<V> path = null;
+        double reportedG = Double.POSITIVE_INFINITY, reportedBound = Double.POSITIVE_INFINITY;
+        while(true) {
+            // Weighted A* until no vertex in the frontier could lead to a cheaper goal.
+            while(!open.isEmpty() && open.peek().key < goalG) {
+                Entry<V> curr = open.poll();
+                if(curr.g != g.get(curr.vertex) || !closed.add(curr.vertex)) { continue; }
+                counter.expanded++;
+                for(V next: edges.apply(curr.vertex)) {
+                    double newG = curr.g + cost.apply(curr.vertex, next);
+                    Double oldG = g.get(next);
+                    if(oldG != null && oldG <= newG) { continue; }
+                    g.put(next, newG);
+                    prev.put(next, curr.vertex);
+                    counter.generated++;
+                    if(goalTest.test(next)) {
+                        // A goal vertex has no use for expansion, as edge costs are nonnegative.
+                        if(newG < goalG) { goal = next; goalG = newG; }
+                        continue;
+                    }
+                    // A vertex already expanded with a higher cost waits for the next round.
+                    if(closed.contains(next)) {
+                        incons.add(next);
+                        counter.reopened++;
+                    }
+                    else {
+                        double hNext = hValue.computeIfAbsent(next, h);
+                        open.offer(new Entry<V>(next, newG, newG + epsilon * hNext));
+                    }
+                }
+                counter.frontierSize(open.size());
+            }
+            // The shortest path costs at least the smallest unweighted f in the frontier.
+            double lowerBound = goalG;
+            for(Entry<V> e: open) {
+                if(e.g == g.get(e.vertex)) { lowerBound = Math.min(lowerBound, e.g + hValue.get(e.vertex)); }
+            }
+            for(V v: incons) { lowerBound = Math.min(lowerBound, g.get(v) + hValue.get(v)); }
+            if(goal == null) { break; } // No goal is reachable.
+            // A path that costs no more than the lower bound is proven to be the shortest. This
+            // also covers the zero lower bound of a zero cost path, where the ratio is undefined.
+            double bound = goalG <= lowerBound ? 1 : Math.min(epsilon, goalG / lowerBound);
+            path = new ArrayList<V>();
+            for(V v = goal; v != null; v = prev.get(v)) { path.add(v); }
+            Collections.reverse(path);
+            // Report the solution only when either it or its bound has improved.
+            if(onSolution != null && (goalG < reportedG || bound < reportedBound)) {
+                onSolution.accept(path, bound);
+                reportedG = goalG;
+                reportedBound = bound;
+            }
+            if(bound <= 1) { break; }
+            // Lower epsilon, and move the inconsistent vertices back to the frontier.
+            epsilon = Math.max(1, epsilon - epsilonStep);
+            PriorityQueue<Entry<V>> newOpen = new PriorityQueue<>(byKey);
+            for(Entry<V> e: open) {
+                if(e.g == g.get(e.vertex) && !closed.contains(e.vertex)) {
+                    newOpen.offer(new Entry<V>(e.vertex, e.g, e.g + epsilon * hValue.get(e.vertex)));
+                }
+            }
+            for(V v: incons) { newOpen.offer(new Entry<V>(v, g.get(v), g.get(v) + epsilon * hValue.get(v))); }
+            open = newOpen;
+            incons.clear();
+            closed.clear();
+        }
+        return new SearchResult<V>(path, counter.toStats());
+    }
+
+    // A node of beam search, chained to the node it was reached from.
+    private static class BeamNode<V> {
+        public V vertex;
+        public BeamNode<V> prev;
+        public double g;
+        public double f;
+        public BeamNode(V vertex, BeamNode<V> prev, double g, double f) {
+            this.vertex = vertex; this.prev = prev; this.g = g; this.f = f;
+        }
+    }
+
+    /**
+     * Find a path from the start vertex to some goal vertex with beam search. The search
+     * proceeds level by level as breadth first search, but keeps only the given number of
+     * nodes with the lowest f = g + h on each level, so that the memory needed is
+     * proportional to the width of the beam times the length of the path. The search stops
+     * once no node remaining in the beam can lead to a goal cheaper than the best one found.
+     * The path found need not be the shortest, and the search can miss the goal altogether.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The heuristic function used to rank the nodes.
+     * @param width The maximum number of nodes kept on each level.
+     * @return The search result with the path from start to goal.
+     */
+    public static <V> SearchResult<V> beamSearch(
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        Predicate<V> goalTest,
+        Function<V, Double> h,
+        int width
+    )
+    {
+        SearchStats.Counter counter = new SearchStats.Counter();
+        BeamNode<V> best = null;
+        if(goalTest.test(start)) { best = new BeamNode<V>(start, null, 0, 0); }
+        List<BeamNode<V>> beam = new ArrayList<>();
+        beam.add(new BeamNode<V>(start, null, 0, h.apply(start)));
+        counter.generated++;
+        // The lowest cost with which each vertex has been kept in the beam.
+        Map<V, Double> kept = new HashMap<>();
+        kept.put(start, 0.0);
+        while(!beam.isEmpty()) {
+            Map<V, BeamNode<V>> level = new HashMap<>();
+            for(BeamNode<V> curr: beam) {
+                counter.expanded++;
+                for(V next: edges.apply(curr.vertex)) {
+                    double g = curr.g + cost.apply(curr.vertex, next);
+                    Double oldG = kept.get(next);
+                    if(oldG != null && oldG <= g) { continue; }
+                    BeamNode<V> other = level.get(next);
+                    if(other != null && other.g <= g) { continue; }
+                    counter.generated++;
+                    BeamNode<V> node = new BeamNode<V>(next, curr, g, g + h.apply(next));
+                    if(goalTest.test(next)) {
+                        if(best == null || g < best.g) { best = node; }
+                    }
+                    else { level.put(next, node); }
+                }
+            }
+            // Keep only the most promising nodes of the new level.
+            beam = new ArrayList<>(level.values());
+            beam.sort((n1, n2) -> Double.compare(n1.f, n2.f));
+            if(beam.size() > width) { beam = new ArrayList<>(beam.subList(0, width)); }
+            // Continue past the first goal only with the nodes that might lead to a cheaper one.
+            if(best != null) {
+                double bestG = best.g;
+                beam.removeIf(n -> n.f >= bestG);
+            }
+            for(BeamNode<V> node: beam) { kept.put(node.vertex, node.g); }
+            counter.frontierSize(beam.size());
+        }
+        List<V> path = null;
+        if(best != null) {
+            path = new ArrayList<V>();
+            for(BeamNode<V> n = best; n != null; n = n.prev) { path.add(n.vertex); }
+            Collections.reverse(path);
+        }
+        return new SearchResult<V>(path, counter.toStats());
+    }
+
+    // A node of simplified memory-bounded A*.
+    private static class SmaNode<V> {
+        public V vertex;
+        public SmaNode<V> parent;
+        public double g;
+        public int depth;
+        public long id;
+        // The backed up f value, the lowest f of the nodes below this one.
+        public double f;
+        // The children of this node that are currently in memory, and the lowest f of those
+        // that have been forgotten and must be generated again to be explored further.
+        public List<SmaNode<V>> children = new ArrayList<>();
+        public double forgotten = Double.POSITIVE_INFINITY;
+        public boolean expanded;
+        // The key of this node in the open set, kept unchanged while the node is in there.
+        public double key;
+        public SmaNode(V vertex, SmaNode<V> parent, double g, double f, long id) {
+            this.vertex = vertex; this.parent = parent; this.g = g; this.f = f; this.id = id;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+    }
+
+    // The state of one execution of simplified memory-bounded A*.
+    private static class Sma<V> {
+        // The nodes that can be expanded, either for the first time or to generate again their
+        // forgotten children, ordered by their key with the deepest node first among equals.
+        private final TreeSet<SmaNode<V>> open = new TreeSet<>((n1, n2) -> {
+            int c = Double.compare(n1.key, n2.key);
+            if(c == 0) { c = Integer.compare(n2.depth, n1.depth); }
+            return c != 0 ? c : Long.compare(n1.id, n2.id);
+        });
+        // The nodes without children in memory that could be forgotten, so that the last one
+        // is the shallowest of those with the highest f.
+        private final TreeSet<SmaNode<V>> leaves = new TreeSet<>((n1, n2) -> {
+            int c = Double.compare(n1.f, n2.f);
+            if(c == 0) { c = Integer.compare(n2.depth, n1.depth); }
+            return c != 0 ? c : Long.compare(n1.id, n2.id);
+        });
+        // The cheapest node of each vertex in memory. A path reaching the same vertex with
+        // no lower cost cannot lead anywhere more cheaply, so it need not be kept.
+        private final Map<V, SmaNode<V>> cheapest = new HashMap<>();
+        private SmaNode<V> root;
+        private int inMemory = 0;
+
+        // Remove the node from the ordered sets so that its fields can be changed.
+        private void detach(SmaNode<V> node) {
+            open.remove(node);
+            leaves.remove(node);
+        }
+
+        // Put the node back into the ordered sets that it belongs to.
+        private void attach(SmaNode<V> node) {
+            if(!node.expanded || node.forgotten < Double.POSITIVE_INFINITY) {
+                node.key = node.expanded ? node.forgotten : node.f;
+                open.add(node);
+            }
+            if(node.children.isEmpty() && node != root) { leaves.add(node); }
+        }
+
+        // Forget the given node, remembering its f in its parent.
+        private void forget(SmaNode<V> node) {
+            detach(node);
+            inMemory--;
+            if(cheapest.get(node.vertex) == node) { cheapest.remove(node.vertex); }
+            SmaNode<V> parent = node.parent;
+            detach(parent);
+            parent.children.remove(node);
+            parent.forgotten = Math.min(parent.forgotten, node.f);
+            attach(parent);
+        }
+
+        // Forget the worst leaf other than the protected node, if there is one.
+        private boolean forgetWorst(SmaNode<V> protect) {
+            for(SmaNode<V> leaf: leaves.descendingSet()) {
+                if(leaf != protect) { forget(leaf); return true; }
+            }
+            return false;
+        }
+
+        // Update the f values of the node and its ancestors to the lowest f below them.
+        private void backup(SmaNode<V> node) {
+            while(node != null) {
+                double f = node.forgotten;
+                for(SmaNode<V> child: node.children) { f = Math.min(f, child.f); }
+                if(f == node.f) { return; }
+                detach(node);
+                node.f = f;
+                attach(node);
+                node = node.parent;
+            }
+        }
+    }
+
+    /**
+     * Find a path from the start vertex to some goal vertex with simplified memory-bounded
+     * A* (SMA*), keeping at most the given number of nodes in memory. Whenever memory is
+     * full, the shallowest of the leaf nodes with the highest f is forgotten, its f being
+     * backed up into its parent. When the forgotten part of the tree becomes the most
+     * promising, its nodes are generated again. A path that cannot fit into the memory
+     * is never found, but the path found is the shortest one that fits.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The admissible and monotonic heuristic lower bound function.
+     * @param maxNodes The maximum number of nodes kept in memory.
+     * @return The search result with the path from start to goal.
+     */
+    public static <V> SearchResult<V> smaStar(
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        Predicate<V> goalTest,
+        Function<V, Double> h,
+        int maxNodes
+    )
+    {
+        SearchStats.Counter counter = new SearchStats.Counter();
+        Sma<V> sma = new Sma<>();
+        long nextId = 0;
+        sma.root = new SmaNode<V>(start, null, 0, h.apply(start), nextId++);
+        sma.inMemory = 1;
+        sma.cheapest.put(start, sma.root);
+        sma.attach(sma.root);
+        counter.generated++;
+        while(!sma.open.isEmpty()) {
+            SmaNode<V> best = sma.open.first();
+            if(best.key == Double.POSITIVE_INFINITY) { break; } // No goal fits into memory.
+            if(goalTest.test(best.vertex)) {
+                List<V> path = new ArrayList<V>();
+                for(SmaNode<V> n = best; n != null; n = n.parent) { path.add(n.vertex); }
+                Collections.reverse(path);
+                return new SearchResult<V>(path, counter.toStats());
+            }
+            sma.detach(best);
+            counter.expanded++;
+            if(best.expanded) { counter.reopened++; }
+            best.expanded = true;
+            best.forgotten = Double.POSITIVE_INFINITY;
+            // Generate the children that are not in memory, skipping the vertices on the path.
+            Set<V> present = new HashSet<>();
+            for(SmaNode<V> child: best.children) { present.add(child.vertex); }
+            for(SmaNode<V> n = best; n != null; n = n.parent) { present.add(n.vertex); }
+            for(V next: edges.apply(best.vertex)) {
+                if(present.contains(next)) { continue; }
+                double g = best.g + cost.apply(best.vertex, next);
+                SmaNode<V> other = sma.cheapest.get(next);
+                if(other != null && other.g <= g) { continue; }
+                double f = Math.max(best.f, g + h.apply(next));
+                // A path that has filled the memory and still not found the goal cannot be extended.
+                if(best.depth + 2 >= maxNodes && !goalTest.test(next)) { f = Double.POSITIVE_INFINITY; }
+                if(sma.inMemory >= maxNodes && !sma.forgetWorst(best)) {
+                    best.forgotten = Math.min(best.forgotten, f);
+                    continue;
+                }
+                SmaNode<V> child = new SmaNode<V>(next, best, g, f, nextId++);
+                best.children.add(child);
+                sma.cheapest.put(next, child);
+                sma.inMemory++;
+                sma.attach(child);
+                counter.generated++;
+            }
+            sma.detach(best); // Forgetting a new child may have put it back into the sets.
+            if(best.children.isEmpty() && best.forgotten == Double.POSITIVE_INFINITY) {
+                // A dead end, so that this node can be forgotten for good.
+                if(best == sma.root) { break; }
+                best.f = Double.POSITIVE_INFINITY;
+                sma.forget(best);
+                sma.backup(best.parent);
+            }
+            else {
+                sma.attach(best);
+                sma.backup(best);
+            }
+            counter.frontierSize(sma.inMemory);
+        }
+        return new SearchResult<V>(null, counter.toStats());
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+// Tests of anytime repairing A*: the final and intermediate paths against A* on random
+// grids, termination with zero cost paths, and the rejection of invalid weights.
+
+public class AnytimeSearchTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The total cost of the path, or infinity if there is no path.
+    private static double pathCost(List<Integer> path, BiFunction<Integer, Integer, Double> cost) {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) { total += cost.apply(path.get(i - 1), path.get(i)); }
+        return total;
+    }
+
+    // Run the search in another thread, failing if it does not finish in the given time.
+    private static <V> SearchResult<V> withTimeout(Callable<SearchResult<V>> search, long millis) throws Exception {
+        FutureTask<SearchResult<V>> task = new FutureTask<>(search);
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            return task.get(millis, TimeUnit.MILLISECONDS);
+        }
+        catch(TimeoutException e) {
+            throw new AssertionError("search did not terminate in " + millis + " ms");
+        }
+    }
+
+    // Compare the final path of ARA* to A*, and check that each reported path is within
+    // its reported bound of the shortest path, with the bounds never increasing.
+    public static void testGrid(int seed, int width, int height, int queries, double epsilon, double step) {
+        Random rng = new Random(seed);
+        int n = width * height;
+        boolean[] blocked = new boolean[n];
+        for(int v = 0; v < n; v++) { blocked[v] = rng.nextInt(4) == 0; }
+        int[] weight = new int[n];
+        for(int v = 0; v < n; v++) { weight[v] = 1 + rng.nextInt(5); }
+        Function<Integer, List<Integer>> edges = v -> {
+            List<Integer> result = new ArrayList<>();
+            int r = v / width, c = v % width;
+            if(r > 0 && !blocked[v - width]) { result.add(v - width); }
+            if(r < height - 1 && !blocked[v + width]) { result.add(v + width); }
+            if(c > 0 && !blocked[v - 1]) { result.add(v - 1); }
+            if(c < width - 1 && !blocked[v + 1]) { result.add(v + 1); }
+            return result;
+        };
+        BiFunction<Integer, Integer, Double> cost = (v, w) -> (double)weight[w];
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = rng.nextInt(n);
+            if(blocked[start] || blocked[goal]) { continue; }
+            Function<Integer, Double> h = v -> (double)(Math.abs(v / width - goal / width) + Math.abs(v % width - goal % width));
+            double expected = pathCost(AStar.search(edges, cost, start, v -> v == goal, h).getPath(), cost);
+            double[] lastBound = { Double.POSITIVE_INFINITY };
+            List<Integer> path = AnytimeSearch.araStar(edges, cost, start, v -> v == goal, h, epsilon, step, (p, bound) -> {
+                check(bound <= lastBound[0], "bound increased from " + lastBound[0] + " to " + bound);
+                check(pathCost(p, cost) <= bound * expected + 1e-9, "path cost " + pathCost(p, cost) + " over bound "
+                    + bound + " times " + expected);
+                lastBound[0] = bound;
+            }).getPath();
+            check(pathCost(path, cost) == expected, "ARA* cost " + pathCost(path, cost) + " from " + start + " to "
+                + goal + ", expected " + expected);
+            if(path != null) { check(lastBound[0] == 1, "final bound " + lastBound[0]); }
+            // Without inflation, the search is A* with a consistent heuristic, which never
+            // finds a cheaper path to a vertex that it has already expanded.
+            if(epsilon == 1) {
+                SearchStats stats = AnytimeSearch.araStar(edges, cost, start, v -> v == goal, h, epsilon, step, null)
+                    .getStats();
+                check(stats.getReopened() == 0, "ARA* without inflation reopened vertices: " + stats);
+            }
+        }
+    }
+
+    // With all edge costs zero, every path is the shortest, and the search must say so.
+    public static void testZeroCosts() throws Exception {
+        Function<Integer, List<Integer>> edges = v -> v < 20 ? List.of(v + 1) : List.of();
+        BiFunction<Integer, Integer, Double> zero = (v, w) -> 0.0;
+        List<Double> bounds = new ArrayList<>();
+        SearchResult<Integer> result = withTimeout(() -> AnytimeSearch.araStar(edges, zero, 0, v -> v == 20, v -> 0.0,
+            3.0, 0.5, (p, bound) -> bounds.add(bound)), 10000);
+        check(result.getPath().size() == 21, "zero cost path " + result.getPath());
+        check(bounds.equals(List.of(1.0)), "zero cost bounds " + bounds);
+        // The same when the start is itself the goal.
+        result = withTimeout(() -> AnytimeSearch.araStar(edges, zero, 5, v -> v == 5, v -> 0.0, 3.0, 0.5, null), 10000);
+        check(result.getPath().equals(List.of(5)), "path from goal to itself " + result.getPath());
+    }
+
+    public static void testInvalidWeights() {
+        Function<Integer, List<Integer>> edges = v -> List.of(v + 1);
+        BiFunction<Integer, Integer, Double> unit = (v, w) -> 1.0;
+        double[][] invalid = { { 0.5, 0.5 }, { Double.NaN, 0.5 }, { 2.0, 0.0 }, { 2.0, -1.0 }, { 2.0, Double.NaN } };
+        for(double[] weights: invalid) {
+            try {
+                AnytimeSearch.araStar(edges, unit, 0, v -> v == 3, v -> 0.0, weights[0], weights[1], null);
+            }
+            catch(IllegalArgumentException expected) {
+                continue;
+            }
+            throw new AssertionError("epsilon " + weights[0] + " with step " + weights[1] + " was not rejected");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int seed = 12345;
+        testGrid(seed++, 20, 20, 100, 3.0, 0.5);
+        testGrid(seed++, 30, 20, 100, 1.0, 1.0);
+        testGrid(seed++, 30, 30, 100, 5.0, 10.0);
+        testZeroCosts();
+        testInvalidWeights();
+        System.out.println("All AnytimeSearch tests passed.");
+    }
+}
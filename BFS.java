@@ -28,14 +28,38 @@ public class BFS {
         boolean bfs
     )
     {
+        return search(edges, start, goalTest, bfs).getPath();
+    }
+    
+    /**
+     * As {@code shortestPath}, but returns the path together with the statistics of this
+     * search. This method does not share any state between calls, so it can be called from
+     * several threads at the same time.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param bfs Whether to use BFS (FIFO) or DFS (LIFO) discipline in the frontier.
+     * @return The search result with the path from start to the first discovered goal.
+     */
+    public static <V> SearchResult<V> search(
+        Function<V, List<V>> edges,
+        V start,
+        Predicate<V> goalTest,
+        boolean bfs
+    )
+    {
+        // The counters for the statistics of this search.
+        SearchStats.Counter counter = new SearchStats.Counter();
         // The vertices that have already been visited in this search.
         Set<V> visited = new HashSet<V>();
         // The search nodes discovered and waiting to be visited.
         LinkedList<SearchNode<V>> frontier = new LinkedList<>();
         // Initialize the search frontier to contain the start vertex.
         frontier.offer(new SearchNode<V>(start, null));
+        counter.generated++;
     
         while(frontier.size() > 0) {
+            counter.frontierSize(frontier.size());
             // Extract the node to be processed next.
             SearchNode<V> curr = frontier.removeFirst();
             V current = curr.vertex;
@@ -49,10 +73,11 @@ public class BFS {
                     solutionPath.addFirst(curr.vertex);
                     curr = curr.parent;
                 }
-                return solutionPath;
+                return new SearchResult<V>(solutionPath, counter.toStats());
             }
             // The current vertex has now been visited.
             visited.add(current);
+            counter.expanded++;
             // Expand the current node and look at its neighbours.
             for(V next: edges.apply(current)) {
                 if(visited.contains(next)) { continue; }
@@ -63,9 +88,99 @@ public class BFS {
                 else { // DFS, add the node to the front of the queue.
                     frontier.addFirst(new SearchNode<V>(next, curr));
                 }
+                counter.generated++;
             }
             
         }
-        return null;
+        return new SearchResult<V>(null, counter.toStats());
+    }
+    
+    /**
+     * Find the shortest path from start vertex to goal vertex with bidirectional breadth first
+     * search that alternately expands a complete layer of either the forward search from the
+     * start or the backward search from the goal, always choosing the side whose current layer
+     * is smaller. The search stops as soon as these two searches meet.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param reverseEdges Function giving the list of vertices that have an edge into the
+     * given vertex. In an undirected graph, this is the same function as {@code edges}.
+     * @param start The vertex to start the search from.
+     * @param goal The goal vertex of the search.
+     * @return Vertex list of the shortest path from start to the goal.
+     */
+    public static <V> List<V> bidirectionalPath(
+        Function<V, List<V>> edges,
+        Function<V, List<V>> reverseEdges,
+        V start,
+        V goal
+    )
+    {
+        return bidirectionalSearch(edges, reverseEdges, start, goal).getPath();
+    }
+    
+    /**
+     * As {@code bidirectionalPath}, but returns the path together with the search statistics.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param reverseEdges Function giving the list of vertices that have an edge into the
+     * given vertex.
+     * @param start The vertex to start the search from.
+     * @param goal The goal vertex of the search.
+     * @return The search result with the shortest path from start to the goal.
+     */
+    public static <V> SearchResult<V> bidirectionalSearch(
+        Function<V, List<V>> edges,
+        Function<V, List<V>> reverseEdges,
+        V start,
+        V goal
+    )
+    {
+        // The counters for the statistics of this search.
+        SearchStats.Counter counter = new SearchStats.Counter();
+        // The parent of each vertex discovered by the forward and backward searches. For
+        // the backward search, the parent is the next vertex on the path towards the goal.
+        Map<V, V> forwardParent = new HashMap<V, V>();
+        Map<V, V> backwardParent = new HashMap<V, V>();
+        forwardParent.put(start, null);
+        backwardParent.put(goal, null);
+        // The vertices in the current deepest layer of each search.
+        List<V> forwardLayer = new ArrayList<V>();
+        List<V> backwardLayer = new ArrayList<V>();
+        forwardLayer.add(start);
+        backwardLayer.add(goal);
+        counter.generated += 2;
+        // The vertex where the two searches meet.
+        V meet = start.equals(goal) ? start : null;
+        
+        while(meet == null && forwardLayer.size() > 0 && backwardLayer.size() > 0) {
+            // Expand the layer of whichever search has the smaller layer.
+            counter.frontierSize(forwardLayer.size() + backwardLayer.size());
+            boolean forward = forwardLayer.size() <= backwardLayer.size();
+            List<V> layer = forward ? forwardLayer : backwardLayer;
+            Map<V, V> parent = forward ? forwardParent : backwardParent;
+            Map<V, V> otherParent = forward ? backwardParent : forwardParent;
+            Function<V, List<V>> dir = forward ? edges : reverseEdges;
+            List<V> nextLayer = new ArrayList<V>();
+            expand:
+            for(V current: layer) {
+                counter.expanded++;
+                for(V next: dir.apply(current)) {
+                    if(parent.containsKey(next)) { continue; }
+                    parent.put(next, current);
+                    counter.generated++;
+                    // Since no vertex of this new layer has been seen by the other search
+                    // earlier, the first meeting vertex is on some shortest path.
+                    if(otherParent.containsKey(next)) { meet = next; break expand; }
+                    nextLayer.add(next);
+                }
+            }
+            if(forward) { forwardLayer = nextLayer; } else { backwardLayer = nextLayer; }
+        }
+        if(meet == null) { return new SearchResult<V>(null, counter.toStats()); }
+        // Join the two halves of the path at the meeting vertex.
+        LinkedList<V> solutionPath = new LinkedList<V>();
+        for(V v = meet; v != null; v = forwardParent.get(v)) { solutionPath.addFirst(v); }
+        for(V v = backwardParent.get(meet); v != null; v = backwardParent.get(v)) {
+            solutionPath.addLast(v);
+        }
+        return new SearchResult<V>(solutionPath, counter.toStats());
     }
 }
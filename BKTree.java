@@ -0,0 +1,179 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Burkhard-Keller tree for answering range and nearest neighbour queries in a discrete
+ * metric space, such as words under the Hamming distance. Each child of a node is labelled
+ * with the distance from the item of that node, and every item in the subtree of that
+ * child has that same distance to the item of the node. By the triangle inequality, an
+ * item in the subtree with label e is at least |d - e| from the query item, where d is the
+ * distance from the query to the node. The subtrees whose lower bound is too large are
+ * not searched at all, so that the queries need far fewer distance evaluations than there
+ * are items in the tree. The number of evaluations in the most recent query is available
+ * to verify this. The same tree must not be queried in several threads at the same time.
+ * <p>
+ * The nearest neighbour queries can also rank the items by their distance plus a fixed
+ * weight of each item, given when the tree is built. For example, the Scrabble cost of
+ * moving from word x to word w is not symmetric, but it equals (d(x, w) + T(w) - T(x)) / 2,
+ * where d(x, w) is the sum of the Scrabble costs of the letters of both words in the
+ * positions where they differ, and T(w) is the total Scrabble cost of all letters of w.
+ * Since d is a metric and T(x) is the same for all items, ranking the items by
+ * d(x, w) + T(w) finds the items nearest to x under the directed cost.
+ * @param <V> The type of the items in the tree.
+ */
+public class BKTree<V> {
+
+    // A node of the tree with its children by their distance to this node.
+    private static class Node<V> {
+        public final V item;
+        public final int weight;
+        public int minWeight; // The smallest weight of any item in this subtree.
+        public final Map<Integer, Node<V>> children = new HashMap<>();
+        public Node(V item, int weight) {
+            this.item = item; this.weight = weight; this.minWeight = weight;
+        }
+    }
+
+    // An item found by a query, with its rank.
+    private static class Found<V> {
+        public final V item;
+        public final int key;
+        public Found(V item, int key) {
+            this.item = item; this.key = key;
+        }
+    }
+
+    // A subtree waiting to be searched, with the lower bound for the keys of its items.
+    private static class Pending<V> {
+        public final Node<V> node;
+        public final int bound;
+        public Pending(Node<V> node, int bound) {
+            this.node = node; this.bound = bound;
+        }
+    }
+
+    private final ToIntBiFunction<V, V> metric;
+    private final ToIntFunction<V> weight;
+    private Node<V> root = null;
+    private int size = 0;
+    private long distanceCount = 0;
+
+    /**
+     * Constructor to build the tree of the given items with zero weights.
+     * @param items The items to put in the tree.
+     * @param metric The distance function, which must satisfy the triangle inequality.
+     */
+    public BKTree(Collection<V> items, ToIntBiFunction<V, V> metric) {
+        this(items, metric, null);
+    }
+
+    /**
+     * Constructor to build the tree of the given items with the given item weights.
+     * @param items The items to put in the tree.
+     * @param metric The distance function, which must satisfy the triangle inequality.
+     * @param weight The weight of each item added to its distance in the nearest neighbour
+     * queries, or {@code null} for zero weights.
+     */
+    public BKTree(Collection<V> items, ToIntBiFunction<V, V> metric, ToIntFunction<V> weight) {
+        this.metric = metric;
+        this.weight = weight == null ? v -> 0 : weight;
+        for(V item: items) { add(item); }
+    }
+
+    /**
+     * Add the given item to the tree, unless the tree already has an item at distance zero.
+     * @param item The item to add.
+     * @return Whether the item was added.
+     */
+    public boolean add(V item) {
+        int w = weight.applyAsInt(item);
+        if(root == null) {
+            root = new Node<>(item, w);
+            size++;
+            return true;
+        }
+        Node<V> node = root;
+        while(true) {
+            int d = metric.applyAsInt(item, node.item);
+            if(d == 0) { return false; }
+            node.minWeight = Math.min(node.minWeight, w);
+            Node<V> child = node.children.get(d);
+            if(child == null) {
+                node.children.put(d, new Node<>(item, w));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the number of items in the tree.
+     * @return The number of items.
+     */
+    public int size() { return size; }
+
+    /**
+     * Returns the number of distance evaluations in the most recent query.
+     * @return The number of distance evaluations.
+     */
+    public long getDistanceCount() { return distanceCount; }
+
+    /**
+     * Find all items within the given distance of the query item.
+     * @param query The item to compare to.
+     * @param radius The largest distance of the items to find.
+     * @return The list of items within the radius, in no particular order.
+     */
+    public List<V> range(V query, int radius) {
+        distanceCount = 0;
+        List<V> result = new ArrayList<>();
+        if(root == null) { return result; }
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while(!stack.isEmpty()) {
+            Node<V> node = stack.pop();
+            int d = metric.applyAsInt(query, node.item);
+            distanceCount++;
+            if(d <= radius) { result.add(node.item); }
+            for(Map.Entry<Integer, Node<V>> entry: node.children.entrySet()) {
+                if(Math.abs(d - entry.getKey()) <= radius) { stack.push(entry.getValue()); }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the {@code k} items whose distance to the query item plus their weight is the
+     * smallest. The subtrees are searched in the order of their lower bounds, so that the
+     * search can stop once no remaining subtree can contain a better item.
+     * @param query The item to compare to.
+     * @param k The number of items to find.
+     * @return The list of at most {@code k} nearest items, the nearest first.
+     */
+    public List<V> nearest(V query, int k) {
+        distanceCount = 0;
+        // The best items found so far, the worst of them first.
+        PriorityQueue<Found<V>> best = new PriorityQueue<>((f1, f2) -> Integer.compare(f2.key, f1.key));
+        PriorityQueue<Pending<V>> pending = new PriorityQueue<>((p1, p2) -> Integer.compare(p1.bound, p2.bound));
+        if(root != null && k > 0) { pending.offer(new Pending<>(root, root.minWeight)); }
+        while(!pending.isEmpty()) {
+            Pending<V> next = pending.poll();
+            if(best.size() == k && next.bound >= best.peek().key) { break; }
+            Node<V> node = next.node;
+            int d = metric.applyAsInt(query, node.item);
+            distanceCount++;
+            int key = d + node.weight;
+            if(best.size() < k) { best.offer(new Found<>(node.item, key)); }
+            else if(key < best.peek().key) { best.poll(); best.offer(new Found<>(node.item, key)); }
+            for(Map.Entry<Integer, Node<V>> entry: node.children.entrySet()) {
+                Node<V> child = entry.getValue();
+                int bound = Math.abs(d - entry.getKey()) + child.minWeight;
+                if(best.size() < k || bound < best.peek().key) { pending.offer(new Pending<>(child, bound)); }
+            }
+        }
+        LinkedList<V> result = new LinkedList<>();
+        while(!best.isEmpty()) { result.addFirst(best.poll().item); }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of BKTree range and nearest neighbour queries, with and without item
+// weights, against scanning all items.
+
+public class BKTreeTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    public static void test(int seed, int count, int length, int alphabet, int queries, boolean weighted) {
+        Random rng = new Random(seed);
+        // The cost of each letter, and the metric that adds the costs of both letters in each
+        // position where the words differ, with the total cost of the word as its weight.
+        int[] letterCost = new int[alphabet];
+        for(int c = 0; c < alphabet; c++) { letterCost[c] = 1 + rng.nextInt(10); }
+        ToIntBiFunction<String, String> metric = weighted ? (w1, w2) -> {
+            int d = 0;
+            for(int p = 0; p < w1.length(); p++) {
+                char c1 = w1.charAt(p), c2 = w2.charAt(p);
+                if(c1 != c2) { d += letterCost[c1 - 'a'] + letterCost[c2 - 'a']; }
+            }
+            return d;
+        } : WordFixtures::hamming;
+        ToIntFunction<String> weight = weighted ? w -> {
+            int total = 0;
+            for(int p = 0; p < w.length(); p++) { total += letterCost[w.charAt(p) - 'a']; }
+            return total;
+        } : null;
+        List<String> words = new ArrayList<>();
+        for(int i = 0; i < count; i++) { words.add(WordFixtures.randomWord(rng, length, alphabet)); }
+        BKTree<String> tree = new BKTree<>(words, metric, weight);
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(words));
+        check(tree.size() == distinct.size(), "tree has " + tree.size() + " items, expected " + distinct.size());
+        check(!tree.add(distinct.get(0)), "item already in the tree was added again");
+        ToIntFunction<String> w = weight == null ? v -> 0 : weight;
+        for(int q = 0; q < queries; q++) {
+            String query = rng.nextBoolean() ? distinct.get(rng.nextInt(distinct.size())) : WordFixtures.randomWord(rng, length, alphabet);
+            int radius = rng.nextInt(weighted ? 30 : length + 1);
+            Set<String> expected = new HashSet<>();
+            for(String item: distinct) {
+                if(metric.applyAsInt(query, item) <= radius) { expected.add(item); }
+            }
+            List<String> found = tree.range(query, radius);
+            check(found.size() == expected.size() && expected.equals(new HashSet<>(found)), "range " + radius
+                + " of " + query + " found " + found.size() + " items, expected " + expected.size());
+            // The keys of the nearest items, as ties make the items themselves ambiguous.
+            int k = 1 + rng.nextInt(10);
+            List<Integer> keys = new ArrayList<>();
+            for(String item: distinct) { keys.add(metric.applyAsInt(query, item) + w.applyAsInt(item)); }
+            Collections.sort(keys);
+            List<Integer> expectedKeys = keys.subList(0, Math.min(k, keys.size()));
+            List<Integer> actualKeys = new ArrayList<>();
+            for(String item: tree.nearest(query, k)) { actualKeys.add(metric.applyAsInt(query, item) + w.applyAsInt(item)); }
+            check(actualKeys.equals(expectedKeys), k + " nearest of " + query + " had keys " + actualKeys
+                + ", expected " + expectedKeys);
+        }
+        check(tree.nearest(distinct.get(0), 0).isEmpty(), "nearest zero items were not empty");
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 2; i++) {
+            test(seed++, 500, 5, 4, 200, false);
+            test(seed++, 2000, 6, 5, 200, false);
+            test(seed++, 500, 5, 4, 200, true);
+            test(seed++, 2000, 6, 5, 200, true);
+        }
+        check(new BKTree<String>(List.of(), WordFixtures::hamming).range("abc", 3).isEmpty(), "range of empty tree");
+        System.out.println("All BKTree tests passed.");
+    }
+}
@@ -0,0 +1,204 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Executes a large batch of independent shortest path queries over the same read-only graph
+ * in a pool of worker threads, handing back the answers in the order in which the searches
+ * complete. To keep a fast producer from flooding the pool with queries and a slow consumer
+ * from letting the answers pile up, at most the given number of queries can be in flight
+ * at the same time, counting both the queries still running and the answers not yet taken.
+ * The graph must not be modified while the queries are running.
+ * @param <V> The type of the vertices of the graph.
+ */
+public class BatchSearch<V> implements AutoCloseable {
+
+    /**
+     * A single path query from the start vertex to the goal vertex under the given cost model.
+     * @param <V> The type of the vertices of the graph.
+     */
+    public static class Query<V> {
+        private final V start;
+        private final V goal;
+        private final CostModel<V> model;
+        /**
+         * Constructor for a path query.
+         * @param start The start vertex of the path.
+         * @param goal The goal vertex of the path.
+         * @param model The cost model used in this query.
+         */
+        public Query(V start, V goal, CostModel<V> model) {
+            this.start = start; this.goal = goal; this.model = model;
+        }
+        /**
+         * Returns the start vertex of this query.
+         * @return The start vertex.
+         */
+        public V getStart() { return start; }
+        /**
+         * Returns the goal vertex of this query.
+         * @return The goal vertex.
+         */
+        public V getGoal() { return goal; }
+        /**
+         * Returns the cost model of this query.
+         * @return The cost model.
+         */
+        public CostModel<V> getModel() { return model; }
+        public String toString() { return start + " -> " + goal + " (" + model + ")"; }
+    }
+
+    /**
+     * The answer to a query, consisting of the query and the result of its search.
+     * @param <V> The type of the vertices of the graph.
+     */
+    public static class Answer<V> {
+        private final Query<V> query;
+        private final SearchResult<V> result;
+        /**
+         * Constructor for the answer.
+         * @param query The query that was answered.
+         * @param result The result of the search for that query.
+         */
+        public Answer(Query<V> query, SearchResult<V> result) {
+            this.query = query; this.result = result;
+        }
+        /**
+         * Returns the query that this answer is for.
+         * @return The query.
+         */
+        public Query<V> getQuery() { return query; }
+        /**
+         * Returns the result of the search for the query.
+         * @return The search result.
+         */
+        public SearchResult<V> getResult() { return result; }
+        public String toString() { return query + ": " + result; }
+    }
+
+    // The edge function of the shared graph.
+    private final Function<V, List<V>> edges;
+    // The pool of worker threads that execute the searches.
+    private final ExecutorService pool;
+    // The answers of completed searches in the order of their completion.
+    private final CompletionService<Answer<V>> completed;
+    // The permits for the queries that may be in flight at the same time.
+    private final Semaphore inFlight;
+    // The number of queries submitted whose answers have not yet been taken.
+    private int pending = 0;
+
+    /**
+     * Constructor for the batch executor.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param parallelism The number of worker threads executing the searches.
+     * @param maxInFlight The maximum number of queries that can be in flight at the same time.
+     */
+    public BatchSearch(Function<V, List<V>> edges, int parallelism, int maxInFlight) {
+        if(parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, was " + parallelism + ".");
+        }
+        if(maxInFlight < 1) {
+            throw new IllegalArgumentException("Limit of queries in flight must be positive, was " + maxInFlight + ".");
+        }
+        this.edges = edges;
+        this.pool = Executors.newWorkStealingPool(parallelism);
+        this.completed = new ExecutorCompletionService<>(pool);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Submit a query to be executed, blocking until there is room for another query in
+     * flight. If the same thread that calls this method also takes the answers, it should
+     * rather use {@code trySubmit} or {@code runAll} to avoid waiting for itself forever.
+     * @param query The query to execute.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     * @throws RejectedExecutionException If this executor has already been closed.
+     */
+    public void submit(Query<V> query) throws InterruptedException {
+        checkQuery(query);
+        inFlight.acquire();
+        execute(query);
+    }
+
+    /**
+     * Submit a query to be executed if there is room for another query in flight.
+     * @param query The query to execute.
+     * @return Whether the query was submitted.
+     * @throws RejectedExecutionException If this executor has already been closed.
+     */
+    public boolean trySubmit(Query<V> query) {
+        checkQuery(query);
+        if(!inFlight.tryAcquire()) { return false; }
+        execute(query);
+        return true;
+    }
+
+    // Reject the queries that could only fail later in a worker thread.
+    private static void checkQuery(Query<?> query) {
+        if(query == null) { throw new IllegalArgumentException("Query must not be null."); }
+    }
+
+    // Start a worker thread executing the search for the given query, whose permit has
+    // already been acquired by the caller.
+    private void execute(Query<V> query) {
+        synchronized(this) { pending++; }
+        CostModel<V> model = query.getModel();
+        V goal = query.getGoal();
+        try {
+            completed.submit(() -> new Answer<V>(query, AStar.search(
+                edges, model.getCost(), query.getStart(), v -> v.equals(goal), model.heuristicTo(goal)
+            )));
+        }
+        catch(RuntimeException e) {
+            // The query was never started, as happens after close, so give back its permit.
+            synchronized(this) { pending--; }
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the next answer to be completed, and return it.
+     * @return The next completed answer.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public Answer<V> take() throws InterruptedException {
+        Future<Answer<V>> future = completed.take();
+        try {
+            return future.get();
+        }
+        catch(ExecutionException e) {
+            throw new IllegalStateException("Search failed: " + e.getCause(), e.getCause());
+        }
+        finally {
+            synchronized(this) { pending--; }
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Returns the number of submitted queries whose answers have not yet been taken.
+     * @return The number of pending queries.
+     */
+    public synchronized int getPending() { return pending; }
+
+    /**
+     * Execute all the given queries, giving each answer to the consumer in the calling
+     * thread as soon as it is completed. Submitting more queries waits whenever the limit
+     * of queries in flight has been reached.
+     * @param queries The queries to execute.
+     * @param consumer The consumer of the answers.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void runAll(Iterable<Query<V>> queries, Consumer<Answer<V>> consumer) throws InterruptedException {
+        for(Query<V> query: queries) {
+            while(!trySubmit(query)) { consumer.accept(take()); }
+        }
+        while(getPending() > 0) { consumer.accept(take()); }
+    }
+
+    /**
+     * Shut down the worker threads after the searches that are currently running.
+     */
+    public void close() { pool.shutdown(); }
+}
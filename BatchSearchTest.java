@@ -0,0 +1,96 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+// Tests of BatchSearch: the answers of a batch against serial A*, and the bookkeeping of
+// the permits when queries are rejected.
+
+public class BatchSearchTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Run random queries on a grid both through the batch executor and one at a time.
+    public static void testAnswers(
+        int seed,
+        int size,
+        int queries,
+        int parallelism,
+        int maxInFlight
+    ) throws InterruptedException
+    {
+        Random rng = new Random(seed);
+        Function<Integer, List<Integer>> edges = v -> {
+            List<Integer> result = new ArrayList<>();
+            int r = v / size, c = v % size;
+            if(r > 0) { result.add(v - size); }
+            if(r < size - 1) { result.add(v + size); }
+            if(c > 0) { result.add(v - 1); }
+            if(c < size - 1) { result.add(v + 1); }
+            return result;
+        };
+        CostModel<Integer> model = new CostModel<>("Cells", (v, w) -> 1.0 + (w * 7919) % 5,
+            (v, w) -> (double)(Math.abs(v / size - w / size) + Math.abs(v % size - w % size)));
+        List<BatchSearch.Query<Integer>> batch = new ArrayList<>();
+        for(int q = 0; q < queries; q++) {
+            batch.add(new BatchSearch.Query<>(rng.nextInt(size * size), rng.nextInt(size * size), model));
+        }
+        Map<BatchSearch.Query<Integer>, List<Integer>> answers = new HashMap<>();
+        try(BatchSearch<Integer> search = new BatchSearch<>(edges, parallelism, maxInFlight)) {
+            search.runAll(batch, answer -> answers.put(answer.getQuery(), answer.getResult().getPath()));
+            check(search.getPending() == 0, "pending queries left after runAll");
+        }
+        check(answers.size() == queries, "got " + answers.size() + " answers to " + queries + " queries");
+        for(BatchSearch.Query<Integer> query: batch) {
+            Integer goal = query.getGoal();
+            List<Integer> expected = AStar.search(edges, model.getCost(), query.getStart(), v -> v.equals(goal),
+                model.heuristicTo(goal)).getPath();
+            check(cost(answers.get(query), model) == cost(expected, model), "wrong answer to " + query);
+        }
+    }
+
+    // The total cost of the path under the cost model.
+    private static double cost(List<Integer> path, CostModel<Integer> model) {
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) { total += model.getCost().apply(path.get(i - 1), path.get(i)); }
+        return total;
+    }
+
+    // A query rejected after close must give back its permit, so that with only one permit
+    // every later attempt is rejected again instead of finding no permit left.
+    public static void testRejected() throws InterruptedException {
+        CostModel<Integer> model = new CostModel<>("Unit", (v, w) -> 1.0, (v, w) -> 0.0);
+        BatchSearch<Integer> search = new BatchSearch<>(v -> List.of(v + 1), 1, 1);
+        search.close();
+        for(int round = 0; round < 3; round++) {
+            try {
+                if(round % 2 == 0) { search.trySubmit(new BatchSearch.Query<>(0, 5, model)); }
+                else { search.submit(new BatchSearch.Query<>(0, 5, model)); }
+                check(false, "query was accepted after close");
+            }
+            catch(RejectedExecutionException expected) { }
+            check(search.getPending() == 0, "rejected query left pending");
+        }
+        expectIllegalArgument(() -> search.trySubmit(null), "null query");
+        expectIllegalArgument(() -> new BatchSearch<Integer>(v -> List.of(), 1, 0), "zero queries in flight");
+        expectIllegalArgument(() -> new BatchSearch<Integer>(v -> List.of(), 0, 1), "zero threads");
+    }
+
+    private static void expectIllegalArgument(Runnable action, String what) {
+        try {
+            action.run();
+        }
+        catch(IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError(what + " was not rejected");
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        testAnswers(12345, 20, 200, 4, 3);
+        testAnswers(12346, 30, 100, 2, 1);
+        testRejected();
+        System.out.println("All BatchSearch tests passed.");
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of the bidirectional searches of BFS and AStar against the ordinary
+// one-directional searches on random directed graphs.
+
+public class BidirectionalSearchTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Check that the path leads from start to goal along the edges of the graph, and return
+    // its total cost, or infinity if there is no path.
+    private static double pathCost(
+        List<Integer> path,
+        Function<Integer, List<Integer>> edges,
+        BiFunction<Integer, Integer, Double> cost,
+        int start,
+        int goal
+    )
+    {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        check(path.get(0) == start && path.get(path.size() - 1) == goal, "path " + path + " has wrong endpoints");
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) {
+            check(edges.apply(path.get(i - 1)).contains(path.get(i)), "path " + path + " uses a missing edge");
+            total += cost.apply(path.get(i - 1), path.get(i));
+        }
+        return total;
+    }
+
+    // Build a random directed graph where each vertex has up to maxDegree outgoing edges,
+    // and test the searches between random pairs of its vertices.
+    public static void test(int seed, int n, int maxDegree, int queries) {
+        Random rng = new Random(seed);
+        List<List<Integer>> out = new ArrayList<>(), in = new ArrayList<>();
+        for(int v = 0; v < n; v++) { out.add(new ArrayList<>()); in.add(new ArrayList<>()); }
+        for(int v = 0; v < n; v++) {
+            int degree = rng.nextInt(maxDegree + 1);
+            for(int i = 0; i < degree; i++) {
+                int w = rng.nextInt(n);
+                if(w != v && !out.get(v).contains(w)) { out.get(v).add(w); in.get(w).add(v); }
+            }
+        }
+        Function<Integer, List<Integer>> edges = out::get;
+        Function<Integer, List<Integer>> reverseEdges = in::get;
+        int[][] weight = new int[n][n];
+        for(int[] row: weight) { for(int j = 0; j < n; j++) { row[j] = 1 + rng.nextInt(9); } }
+        BiFunction<Integer, Integer, Double> cost = (v, w) -> (double)weight[v][w];
+        BiFunction<Integer, Integer, Double> unitCost = (v, w) -> 1.0;
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = q % 10 == 0 ? start : rng.nextInt(n);
+            // Breadth first search in both directions must find equally short paths.
+            List<Integer> bfsPath = BFS.search(edges, start, v -> v == goal, true).getPath();
+            List<Integer> biPath = BFS.bidirectionalSearch(edges, reverseEdges, start, goal).getPath();
+            double expected = pathCost(bfsPath, edges, unitCost, start, goal);
+            double actual = pathCost(biPath, edges, unitCost, start, goal);
+            check(actual == expected, "bidirectional BFS length " + actual + " from " + start + " to " + goal
+                + ", expected " + expected);
+            // Bidirectional A* with zero heuristics must find equally cheap paths as A*.
+            List<Integer> aStarPath = AStar.search(edges, cost, start, v -> v == goal, null).getPath();
+            List<Integer> biAStarPath = AStar.bidirectionalSearch(edges, reverseEdges, cost, start, goal, null, null).getPath();
+            expected = pathCost(aStarPath, edges, cost, start, goal);
+            actual = pathCost(biAStarPath, edges, cost, start, goal);
+            check(actual == expected, "bidirectional A* cost " + actual + " from " + start + " to " + goal
+                + ", expected " + expected);
+        }
+    }
+
+    // Test bidirectional A* with the Manhattan distance heuristics on a random grid whose
+    // cells have different costs of entering them.
+    public static void testGrid(int seed, int width, int height, int queries) {
+        Random rng = new Random(seed);
+        int n = width * height;
+        boolean[] blocked = new boolean[n];
+        for(int v = 0; v < n; v++) { blocked[v] = rng.nextInt(4) == 0; }
+        int[] weight = new int[n];
+        for(int v = 0; v < n; v++) { weight[v] = 1 + rng.nextInt(5); }
+        Function<Integer, List<Integer>> edges = v -> {
+            List<Integer> result = new ArrayList<>();
+            int r = v / width, c = v % width;
+            if(r > 0 && !blocked[v - width]) { result.add(v - width); }
+            if(r < height - 1 && !blocked[v + width]) { result.add(v + width); }
+            if(c > 0 && !blocked[v - 1]) { result.add(v - 1); }
+            if(c < width - 1 && !blocked[v + 1]) { result.add(v + 1); }
+            return result;
+        };
+        BiFunction<Integer, Integer, Double> cost = (v, w) -> (double)weight[w];
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = rng.nextInt(n);
+            if(blocked[start] || blocked[goal]) { continue; }
+            Function<Integer, Double> hForward = v -> (double)(Math.abs(v / width - goal / width) + Math.abs(v % width - goal % width));
+            Function<Integer, Double> hBackward = v -> (double)(Math.abs(v / width - start / width) + Math.abs(v % width - start % width));
+            double expected = pathCost(AStar.search(edges, cost, start, v -> v == goal, hForward).getPath(), edges, cost, start, goal);
+            // The grid is undirected, so the edges are also their own reverse edges.
+            List<Integer> path = AStar.bidirectionalSearch(edges, edges, cost, start, goal, hForward, hBackward).getPath();
+            double actual = pathCost(path, edges, cost, start, goal);
+            check(actual == expected, "bidirectional A* cost " + actual + " from " + start + " to " + goal
+                + " on grid, expected " + expected);
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int maxDegree: new int[] { 1, 2, 3, 5 }) {
+            test(seed++, 10, maxDegree, 200);
+            test(seed++, 200, maxDegree, 200);
+        }
+        testGrid(seed++, 30, 20, 200);
+        testGrid(seed++, 60, 60, 100);
+        System.out.println("All bidirectional search tests passed.");
+    }
+}
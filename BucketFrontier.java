@@ -0,0 +1,65 @@
+/**
+ * Search frontier for searches whose keys are small nonnegative integers, as happens in
+ * A* and uniform cost search when all edge costs and heuristic values are integers. This
+ * is the bucket queue of Dial's algorithm: the items are kept in an array of buckets
+ * indexed by their key, and a cursor moves forward over the empty buckets. Since the keys
+ * extracted by A* with a consistent heuristic never decrease, the cursor passes over each
+ * bucket only once, making both operations constant time in amortized sense. Should a key
+ * ever be smaller than the cursor, the cursor simply moves back to it.
+ * Items with equal keys come out in LIFO order, which tends to favour the deeper nodes.
+ * @param <E> The type of the items stored in the frontier.
+ */
+public class BucketFrontier<E> implements Frontier<E> {
+
+    // The buckets of items for each key, each bucket used as a stack.
+    private Object[][] buckets = new Object[64][];
+    // The number of items in each bucket.
+    private int[] counts = new int[64];
+    // No bucket before the cursor contains any items.
+    private int cursor = 0;
+    // The total number of items in all buckets.
+    private int size = 0;
+
+    public void offer(E item, double key) {
+        int k = (int)key;
+        if(k != key || k < 0) {
+            throw new IllegalArgumentException("Bucket frontier key " + key + " is not a nonnegative integer.");
+        }
+        if(k >= buckets.length) {
+            int newLength = Math.max(k + 1, 2 * buckets.length);
+            buckets = java.util.Arrays.copyOf(buckets, newLength);
+            counts = java.util.Arrays.copyOf(counts, newLength);
+        }
+        Object[] bucket = buckets[k];
+        if(bucket == null) { bucket = buckets[k] = new Object[8]; }
+        else if(counts[k] == bucket.length) {
+            bucket = buckets[k] = java.util.Arrays.copyOf(bucket, 2 * bucket.length);
+        }
+        bucket[counts[k]++] = item;
+        if(k < cursor) { cursor = k; }
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        advanceCursor();
+        Object[] bucket = buckets[cursor];
+        E result = (E)bucket[--counts[cursor]];
+        bucket[counts[cursor]] = null; // Allow garbage collection of the removed item.
+        size--;
+        return result;
+    }
+
+    public double peekKey() {
+        advanceCursor();
+        return cursor;
+    }
+
+    public int size() { return size; }
+
+    // Move the cursor forward to the first nonempty bucket.
+    private void advanceCursor() {
+        if(size == 0) { throw new java.util.NoSuchElementException("Frontier is empty."); }
+        while(counts[cursor] == 0) { cursor++; }
+    }
+}
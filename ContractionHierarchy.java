@@ -0,0 +1,376 @@
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A contraction hierarchy for answering point-to-point shortest path queries on a static
+ * directed graph with nonnegative edge costs. In preprocessing, the vertices are contracted
+ * one at a time in the order of their importance, and whenever removing a vertex would
+ * destroy the only shortest path from one of its neighbours to another, the two neighbours
+ * are joined with a shortcut edge that remembers the vertex it bypasses. The vertex order is
+ * chosen greedily by the edge difference of each vertex, updated lazily as its neighbours
+ * are contracted. A query then runs Dijkstra's algorithm from both ends, following only
+ * the edges that lead to a more important vertex, which makes both searches tiny. The
+ * shortcuts on the path found are finally unpacked into the original edges. The hierarchy
+ * can be saved to a file and loaded back, so that the preprocessing needs to be done only
+ * once, provided that the vertices themselves are serializable.
+ * @param <V> The type of the vertices of the graph.
+ */
+public class ContractionHierarchy<V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // An edge of the graph during contraction, and the vertex it bypasses if it is a shortcut.
+    private static class Arc {
+        private final double weight;
+        private final int mid;
+        public Arc(double weight, int mid) {
+            this.weight = weight; this.mid = mid;
+        }
+    }
+
+    // A shortcut that contracting the vertex currently under consideration would need.
+    private static class Shortcut {
+        private final int from;
+        private final int to;
+        private final double weight;
+        public Shortcut(int from, int to, double weight) {
+            this.from = from; this.to = to; this.weight = weight;
+        }
+    }
+
+    // The search node of a query, chained to the node it was reached from.
+    private static class Label {
+        private final int vertex;
+        private final double dist;
+        private final Label parent;
+        private final int mid;
+        public Label(int vertex, double dist, Label parent, int mid) {
+            this.vertex = vertex; this.dist = dist; this.parent = parent; this.mid = mid;
+        }
+    }
+
+    // The maximum number of vertices settled in one witness search. Giving up early only
+    // adds shortcuts that were not really needed, so the queries remain correct.
+    private static final int WITNESS_LIMIT = 500;
+
+    // The vertices of the graph, each represented by its position in this list.
+    private final ArrayList<V> vertices;
+    private final HashMap<V, Integer> index = new HashMap<>();
+    // The upward edges in compressed sparse row form. The out-edges of u lead from u to the
+    // vertices contracted after u, and the in-edges of u lead to u from the vertices contracted
+    // after u. For each edge, mid is the vertex bypassed by the shortcut, or -1 for an edge of
+    // the original graph.
+    private final int[] outStart, outTarget, outMid;
+    private final double[] outWeight;
+    private final int[] inStart, inSource, inMid;
+    private final double[] inWeight;
+
+    // The remaining graph during contraction, and the workspace of the witness searches.
+    private transient List<Map<Integer, Arc>> outArcs, inArcs;
+    private transient double[] witnessDist;
+    private transient int[] witnessStamp;
+    private transient int stamp;
+    private transient IndexedMinHeap witnessHeap;
+    private transient List<Shortcut> shortcuts;
+
+    /**
+     * Constructor to contract the given graph into a hierarchy.
+     * @param vertices The list of vertices of the graph.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another,
+     * or {@code null} if every edge has unit cost.
+     */
+    public ContractionHierarchy(List<V> vertices, Function<V, List<V>> edges, BiFunction<V, V, Double> cost) {
+        this.vertices = new ArrayList<>(vertices);
+        int n = vertices.size();
+        for(int i = 0; i < n; i++) { index.put(vertices.get(i), i); }
+        outArcs = new ArrayList<>(n);
+        inArcs = new ArrayList<>(n);
+        for(int v = 0; v < n; v++) {
+            outArcs.add(new HashMap<>());
+            inArcs.add(new HashMap<>());
+        }
+        for(int u = 0; u < n; u++) {
+            V vu = vertices.get(u);
+            for(V vw: edges.apply(vu)) {
+                int w = index.get(vw);
+                if(w != u) { addArc(u, w, cost == null ? 1.0 : cost.apply(vu, vw), -1); }
+            }
+        }
+        witnessDist = new double[n];
+        witnessStamp = new int[n];
+        witnessHeap = new IndexedMinHeap(n);
+        shortcuts = new ArrayList<>();
+
+        // Order the vertices by their priority, updating the priorities lazily.
+        int[] contractedNeighbours = new int[n];
+        IndexedMinHeap order = new IndexedMinHeap(n);
+        for(int v = 0; v < n; v++) { order.insertOrDecrease(v, priority(v, 0)); }
+        List<List<Integer>> upOut = new ArrayList<>(), upIn = new ArrayList<>();
+        List<List<Arc>> upOutArcs = new ArrayList<>(), upInArcs = new ArrayList<>();
+        for(int v = 0; v < n; v++) {
+            upOut.add(null); upIn.add(null); upOutArcs.add(null); upInArcs.add(null);
+        }
+        while(!order.isEmpty()) {
+            int v = order.extractMin();
+            // The priority may have grown since it was last computed. If so, and the vertex
+            // is no longer the least important one, put it back and try the next one.
+            double p = priority(v, contractedNeighbours[v]);
+            if(!order.isEmpty() && p > order.minKey()) {
+                order.insertOrDecrease(v, p);
+                continue;
+            }
+            // Computing the priority found the shortcuts that the contraction needs.
+            for(Shortcut s: shortcuts) { addArc(s.from, s.to, s.weight, v); }
+            // The edges that remain at v all lead to vertices that will be contracted later.
+            upOut.set(v, new ArrayList<>(outArcs.get(v).keySet()));
+            upOutArcs.set(v, new ArrayList<>(outArcs.get(v).values()));
+            upIn.set(v, new ArrayList<>(inArcs.get(v).keySet()));
+            upInArcs.set(v, new ArrayList<>(inArcs.get(v).values()));
+            for(int u: inArcs.get(v).keySet()) { outArcs.get(u).remove(v); contractedNeighbours[u]++; }
+            for(int w: outArcs.get(v).keySet()) { inArcs.get(w).remove(v); contractedNeighbours[w]++; }
+        }
+        outArcs = null; inArcs = null; witnessDist = null; witnessStamp = null; witnessHeap = null; shortcuts = null;
+
+        // Pack the upward edges into arrays.
+        outStart = new int[n + 1];
+        inStart = new int[n + 1];
+        for(int v = 0; v < n; v++) {
+            outStart[v + 1] = outStart[v] + upOut.get(v).size();
+            inStart[v + 1] = inStart[v] + upIn.get(v).size();
+        }
+        outTarget = new int[outStart[n]]; outMid = new int[outStart[n]]; outWeight = new double[outStart[n]];
+        inSource = new int[inStart[n]]; inMid = new int[inStart[n]]; inWeight = new double[inStart[n]];
+        for(int v = 0; v < n; v++) {
+            for(int i = 0; i < upOut.get(v).size(); i++) {
+                Arc arc = upOutArcs.get(v).get(i);
+                outTarget[outStart[v] + i] = upOut.get(v).get(i);
+                outWeight[outStart[v] + i] = arc.weight;
+                outMid[outStart[v] + i] = arc.mid;
+            }
+            for(int i = 0; i < upIn.get(v).size(); i++) {
+                Arc arc = upInArcs.get(v).get(i);
+                inSource[inStart[v] + i] = upIn.get(v).get(i);
+                inWeight[inStart[v] + i] = arc.weight;
+                inMid[inStart[v] + i] = arc.mid;
+            }
+        }
+    }
+
+    // Add the edge from u to w, unless there already is an edge between them that is as cheap.
+    private void addArc(int u, int w, double weight, int mid) {
+        Arc existing = outArcs.get(u).get(w);
+        if(existing == null || weight < existing.weight) {
+            Arc arc = new Arc(weight, mid);
+            outArcs.get(u).put(w, arc);
+            inArcs.get(w).put(u, arc);
+        }
+    }
+
+    // The importance of the vertex is its edge difference, that is, the number of shortcuts
+    // that its contraction would add minus the number of edges that it would remove, plus
+    // the number of its neighbours already contracted to spread the contraction evenly.
+    private double priority(int v, int contractedNeighbours) {
+        findShortcuts(v);
+        return shortcuts.size() - inArcs.get(v).size() - outArcs.get(v).size() + contractedNeighbours;
+    }
+
+    // Find the shortcuts that contracting the vertex v would need.
+    private void findShortcuts(int v) {
+        shortcuts.clear();
+        for(Map.Entry<Integer, Arc> in: inArcs.get(v).entrySet()) {
+            int u = in.getKey();
+            double toV = in.getValue().weight;
+            double maxCost = 0;
+            for(Arc out: outArcs.get(v).values()) { maxCost = Math.max(maxCost, toV + out.weight); }
+            witnessSearch(u, v, maxCost);
+            for(Map.Entry<Integer, Arc> out: outArcs.get(v).entrySet()) {
+                int w = out.getKey();
+                if(w == u) { continue; }
+                double viaV = toV + out.getValue().weight;
+                // A path from u to w that avoids v and is no longer makes the shortcut unnecessary.
+                if(witnessStamp[w] == stamp && witnessDist[w] <= viaV) { continue; }
+                shortcuts.add(new Shortcut(u, w, viaV));
+            }
+        }
+    }
+
+    // Dijkstra's algorithm from the source in the remaining graph without the excluded vertex,
+    // stopping when all the out-neighbours of the excluded vertex have been settled, or at the
+    // given maximum distance, or at the limit of settled vertices.
+    private void witnessSearch(int source, int excluded, double maxCost) {
+        stamp++;
+        witnessStamp[source] = stamp;
+        witnessDist[source] = 0;
+        witnessHeap.clear();
+        witnessHeap.insertOrDecrease(source, 0);
+        Map<Integer, Arc> targets = outArcs.get(excluded);
+        int remaining = targets.size() - (targets.containsKey(source) ? 1 : 0);
+        int settled = 0;
+        while(remaining > 0 && !witnessHeap.isEmpty() && witnessHeap.minKey() <= maxCost && settled++ < WITNESS_LIMIT) {
+            int x = witnessHeap.extractMin();
+            if(x != source && targets.containsKey(x)) { remaining--; }
+            for(Map.Entry<Integer, Arc> out: outArcs.get(x).entrySet()) {
+                int y = out.getKey();
+                if(y == excluded) { continue; }
+                double d = witnessDist[x] + out.getValue().weight;
+                if(witnessStamp[y] != stamp || d < witnessDist[y]) {
+                    witnessStamp[y] = stamp;
+                    witnessDist[y] = d;
+                    witnessHeap.insertOrDecrease(y, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of upward edges in the hierarchy, counting both the original edges
+     * and the shortcuts.
+     * @return The number of edges in the hierarchy.
+     */
+    public int edgeCount() { return outStart[outStart.length - 1]; }
+
+    /**
+     * Find the shortest path from start to goal in the hierarchy.
+     * @param start The start vertex of the path.
+     * @param goal The goal vertex of the path.
+     * @return The list of vertices on the shortest path from start to goal, or {@code null}
+     * if no such path exists.
+     */
+    public List<V> shortestPath(V start, V goal) {
+        return search(start, goal).getPath();
+    }
+
+    /**
+     * Find the shortest path from start to goal in the hierarchy, along with the statistics
+     * of the bidirectional upward search.
+     * @param start The start vertex of the path.
+     * @param goal The goal vertex of the path.
+     * @return The result of the search.
+     */
+    public SearchResult<V> search(V start, V goal) {
+        SearchStats.Counter counter = new SearchStats.Counter();
+        List<Map<Integer, Label>> labels = Arrays.asList(new HashMap<>(), new HashMap<>());
+        List<PriorityQueue<Label>> frontiers = Arrays.asList(
+            new PriorityQueue<Label>((l1, l2) -> Double.compare(l1.dist, l2.dist)),
+            new PriorityQueue<Label>((l1, l2) -> Double.compare(l1.dist, l2.dist))
+        );
+        int[] ends = { index.get(start), index.get(goal) };
+        for(int dir = 0; dir < 2; dir++) {
+            Label label = new Label(ends[dir], 0, null, -1);
+            labels.get(dir).put(ends[dir], label);
+            frontiers.get(dir).offer(label);
+        }
+        double best = Double.POSITIVE_INFINITY;
+        Label bestForward = null, bestBackward = null;
+        int dir = 1;
+        while(true) {
+            // Alternate between the directions, each one stopping when it can no longer
+            // improve the best path found so far.
+            boolean forwardDone = frontiers.get(0).isEmpty() || frontiers.get(0).peek().dist >= best;
+            boolean backwardDone = frontiers.get(1).isEmpty() || frontiers.get(1).peek().dist >= best;
+            if(forwardDone && backwardDone) { break; }
+            dir = forwardDone ? 1 : backwardDone ? 0 : 1 - dir;
+            Map<Integer, Label> mine = labels.get(dir);
+            PriorityQueue<Label> frontier = frontiers.get(dir);
+            Label curr = frontier.poll();
+            if(mine.get(curr.vertex) != curr) { continue; } // Superseded by a shorter one.
+            counter.expanded++;
+            Label other = labels.get(1 - dir).get(curr.vertex);
+            if(other != null && curr.dist + other.dist < best) {
+                best = curr.dist + other.dist;
+                bestForward = dir == 0 ? curr : other;
+                bestBackward = dir == 0 ? other : curr;
+            }
+            // Stall on demand: if some more important vertex already reached in this direction
+            // has an edge down to the current vertex that makes it shorter than its label, the
+            // current vertex cannot be on a shortest path, so there is no need to expand it.
+            int[] down = dir == 0 ? inStart : outStart;
+            int[] from = dir == 0 ? inSource : outTarget;
+            double[] downWeight = dir == 0 ? inWeight : outWeight;
+            boolean stalled = false;
+            for(int e = down[curr.vertex]; e < down[curr.vertex + 1] && !stalled; e++) {
+                Label above = mine.get(from[e]);
+                stalled = above != null && above.dist + downWeight[e] < curr.dist;
+            }
+            if(stalled) { continue; }
+            int[] first = dir == 0 ? outStart : inStart;
+            int[] next = dir == 0 ? outTarget : inSource;
+            int[] mid = dir == 0 ? outMid : inMid;
+            double[] weight = dir == 0 ? outWeight : inWeight;
+            for(int e = first[curr.vertex]; e < first[curr.vertex + 1]; e++) {
+                double d = curr.dist + weight[e];
+                Label old = mine.get(next[e]);
+                if(old == null || d < old.dist) {
+                    Label label = new Label(next[e], d, curr, mid[e]);
+                    mine.put(next[e], label);
+                    frontier.offer(label);
+                    counter.generated++;
+                }
+            }
+            counter.frontierSize(frontiers.get(0).size() + frontiers.get(1).size());
+        }
+        if(bestForward == null) { return new SearchResult<V>(null, counter.toStats()); }
+
+        // Collect the hierarchy edges on the path, and unpack them into the original edges.
+        List<int[]> hops = new ArrayList<>();
+        for(Label l = bestForward; l.parent != null; l = l.parent) {
+            hops.add(new int[] { l.parent.vertex, l.vertex, l.mid });
+        }
+        Collections.reverse(hops);
+        for(Label l = bestBackward; l.parent != null; l = l.parent) {
+            hops.add(new int[] { l.vertex, l.parent.vertex, l.mid });
+        }
+        List<V> path = new ArrayList<>();
+        path.add(start);
+        for(int[] hop: hops) { unpack(hop[0], hop[1], hop[2], path); }
+        return new SearchResult<V>(path, counter.toStats());
+    }
+
+    // Append the vertices after u on the edge from u to w, recursively unpacking the shortcuts.
+    private void unpack(int u, int w, int mid, List<V> path) {
+        if(mid < 0) { path.add(vertices.get(w)); return; }
+        // Both halves of the shortcut were upward edges of mid when it was contracted.
+        unpack(u, mid, findMid(inStart, inSource, inMid, mid, u), path);
+        unpack(mid, w, findMid(outStart, outTarget, outMid, mid, w), path);
+    }
+
+    // Find the bypassed vertex of the hierarchy edge between v and other.
+    private static int findMid(int[] start, int[] other, int[] mid, int v, int target) {
+        for(int e = start[v]; e < start[v + 1]; e++) {
+            if(other[e] == target) { return mid[e]; }
+        }
+        throw new IllegalStateException("Missing hierarchy edge between " + v + " and " + target);
+    }
+
+    /**
+     * Save this hierarchy into the given file.
+     * @param file The file to write the hierarchy into.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(File file) throws IOException {
+        try(ObjectOutputStream out = new ObjectOutputStream(
+            new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeObject(this);
+        }
+    }
+
+    /**
+     * Load a hierarchy previously saved into the given file.
+     * @param file The file to read the hierarchy from.
+     * @param <V> The type of the vertices of the graph.
+     * @return The hierarchy read from the file.
+     * @throws IOException If the file cannot be read or does not contain a hierarchy.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> ContractionHierarchy<V> load(File file) throws IOException {
+        try(ObjectInputStream in = new ObjectInputStream(
+            new BufferedInputStream(new FileInputStream(file)))) {
+            return (ContractionHierarchy<V>)in.readObject();
+        }
+        catch(ClassNotFoundException e) {
+            throw new IOException("Not a contraction hierarchy: " + file, e);
+        }
+    }
+}
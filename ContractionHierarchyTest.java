@@ -0,0 +1,110 @@
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of ContractionHierarchy queries against Dijkstra's algorithm, before
+// and after saving the hierarchy to a file and loading it back.
+
+public class ContractionHierarchyTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Check that the path leads from start to goal along the edges of the graph, and return
+    // its total cost, or infinity if there is no path.
+    private static double pathCost(
+        List<Integer> path,
+        Function<Integer, List<Integer>> edges,
+        BiFunction<Integer, Integer, Double> cost,
+        int start,
+        int goal
+    )
+    {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        check(path.get(0) == start && path.get(path.size() - 1) == goal, "path " + path + " has wrong endpoints");
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) {
+            check(edges.apply(path.get(i - 1)).contains(path.get(i)), "path " + path + " uses a missing edge");
+            total += cost.apply(path.get(i - 1), path.get(i));
+        }
+        return total;
+    }
+
+    // Textbook Dijkstra with a linear scan for the closest vertex, as the reference.
+    private static double dijkstra(
+        Function<Integer, List<Integer>> edges,
+        BiFunction<Integer, Integer, Double> cost,
+        int n,
+        int start,
+        int goal
+    )
+    {
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        boolean[] done = new boolean[n];
+        dist[start] = 0;
+        while(true) {
+            int v = -1;
+            for(int u = 0; u < n; u++) {
+                if(!done[u] && dist[u] < Double.POSITIVE_INFINITY && (v == -1 || dist[u] < dist[v])) { v = u; }
+            }
+            if(v == -1 || v == goal) { return dist[goal]; }
+            done[v] = true;
+            for(int w: edges.apply(v)) { dist[w] = Math.min(dist[w], dist[v] + cost.apply(v, w)); }
+        }
+    }
+
+    // Build the hierarchy of a random directed graph with integer edge costs, and compare
+    // its answers for random queries to Dijkstra.
+    public static void test(int seed, int n, int maxDegree, int queries, boolean unitCost) throws IOException {
+        Random rng = new Random(seed);
+        List<List<Integer>> out = new ArrayList<>();
+        for(int v = 0; v < n; v++) { out.add(new ArrayList<>()); }
+        for(int v = 0; v < n; v++) {
+            int degree = rng.nextInt(maxDegree + 1);
+            for(int i = 0; i < degree; i++) {
+                // Mostly local edges, so that the graph has long shortest paths.
+                int w = Math.floorMod(v + rng.nextInt(11) - 5, n);
+                if(rng.nextInt(10) == 0) { w = rng.nextInt(n); }
+                if(w != v && !out.get(v).contains(w)) { out.get(v).add(w); }
+            }
+        }
+        Function<Integer, List<Integer>> edges = out::get;
+        int[][] weight = new int[n][n];
+        for(int[] row: weight) { for(int j = 0; j < n; j++) { row[j] = 1 + rng.nextInt(20); } }
+        BiFunction<Integer, Integer, Double> cost = unitCost ? (v, w) -> 1.0 : (v, w) -> (double)weight[v][w];
+        List<Integer> vertices = new ArrayList<>();
+        for(int v = 0; v < n; v++) { vertices.add(v); }
+        ContractionHierarchy<Integer> ch = new ContractionHierarchy<>(vertices, edges, unitCost ? null : cost);
+        File file = File.createTempFile("hierarchy", ".ser");
+        ContractionHierarchy<Integer> loaded;
+        try {
+            ch.save(file);
+            loaded = ContractionHierarchy.load(file);
+        }
+        finally {
+            file.delete();
+        }
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = q % 20 == 0 ? start : rng.nextInt(n);
+            double expected = dijkstra(edges, cost, n, start, goal);
+            double actual = pathCost(ch.shortestPath(start, goal), edges, cost, start, goal);
+            check(actual == expected, "hierarchy cost " + actual + " from " + start + " to " + goal
+                + ", expected " + expected);
+            actual = pathCost(loaded.shortestPath(start, goal), edges, cost, start, goal);
+            check(actual == expected, "loaded hierarchy cost " + actual + " from " + start + " to " + goal
+                + ", expected " + expected);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int seed = 12345;
+        for(int maxDegree: new int[] { 1, 2, 4, 6 }) {
+            test(seed++, 30, maxDegree, 300, false);
+            test(seed++, 300, maxDegree, 300, false);
+            test(seed++, 300, maxDegree, 100, true);
+        }
+        System.out.println("All ContractionHierarchy tests passed.");
+    }
+}
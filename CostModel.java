@@ -0,0 +1,71 @@
+import java.util.function.*;
+
+/**
+ * A named combination of an edge cost function and the heuristic function that is
+ * admissible for that cost, so that a path query can be described simply as a start
+ * vertex, a goal vertex and a cost model.
+ * @param <V> The type of the vertices of the graph.
+ */
+public class CostModel<V> {
+
+    private final String name;
+    private final BiFunction<V, V, Double> cost;
+    private final BiFunction<V, V, Double> heuristic;
+    private final boolean symmetric;
+
+    /**
+     * Constructor for a cost model.
+     * @param name The name of this cost model.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param heuristic Function giving the heuristic lower bound for the cost of moving from
+     * the vertex given as the first argument to the goal vertex given as the second argument,
+     * or {@code null} for the heuristic that is constant zero.
+     */
+    public CostModel(String name, BiFunction<V, V, Double> cost, BiFunction<V, V, Double> heuristic) {
+        this(name, cost, heuristic, false);
+    }
+
+    /**
+     * Constructor for a cost model that can declare itself symmetric.
+     * @param name The name of this cost model.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param heuristic Function giving the heuristic lower bound for the cost of moving from
+     * the vertex given as the first argument to the goal vertex given as the second argument,
+     * or {@code null} for the heuristic that is constant zero.
+     * @param symmetric Whether the graph is undirected and every edge costs the same in both
+     * directions, so that the reverse of a shortest path is a shortest path of the reverse query.
+     */
+    public CostModel(String name, BiFunction<V, V, Double> cost, BiFunction<V, V, Double> heuristic, boolean symmetric) {
+        this.name = name;
+        this.cost = cost;
+        this.heuristic = heuristic == null ? (v, goal) -> 0.0 : heuristic;
+        this.symmetric = symmetric;
+    }
+
+    /**
+     * Returns the name of this cost model.
+     * @return The name of this cost model.
+     */
+    public String getName() { return name; }
+
+    /**
+     * Returns the edge cost function of this cost model.
+     * @return The edge cost function.
+     */
+    public BiFunction<V, V, Double> getCost() { return cost; }
+
+    /**
+     * Returns the heuristic function of this cost model towards the given goal vertex.
+     * @param goal The goal vertex of the search.
+     * @return The heuristic function for that goal.
+     */
+    public Function<V, Double> heuristicTo(V goal) { return v -> heuristic.apply(v, goal); }
+
+    /**
+     * Checks whether the paths under this cost model can be reversed.
+     * @return Whether this cost model is symmetric.
+     */
+    public boolean isSymmetric() { return symmetric; }
+
+    public String toString() { return name; }
+}
@@ -0,0 +1,77 @@
+/**
+ * Search frontier implemented as an implicit d-ary heap stored in two parallel arrays,
+ * one for the items and one for their keys. With {@code d = 2}, this is the classic
+ * binary heap that orders its items exactly the same way as {@code java.util.PriorityQueue}
+ * would. Larger branching factors make the heap shallower, which speeds up the insertions
+ * and reduces cache misses at the cost of more key comparisons in each removal.
+ * @param <E> The type of the items stored in the frontier.
+ */
+public class DaryHeapFrontier<E> implements Frontier<E> {
+
+    // The branching factor of the heap.
+    private final int d;
+    // The items in heap order, and the key of the item in the same position.
+    private Object[] items = new Object[16];
+    private double[] keys = new double[16];
+    // The number of items in the heap.
+    private int size = 0;
+
+    /**
+     * Constructor for a heap with the given branching factor.
+     * @param d The branching factor of the heap, at least two.
+     */
+    public DaryHeapFrontier(int d) {
+        if(d < 2) { throw new IllegalArgumentException("Branching factor must be at least 2."); }
+        this.d = d;
+    }
+
+    public void offer(E item, double key) {
+        if(size == items.length) {
+            items = java.util.Arrays.copyOf(items, 2 * size);
+            keys = java.util.Arrays.copyOf(keys, 2 * size);
+        }
+        // Sift the hole up from the new leaf until the new key fits in it.
+        int i = size++;
+        while(i > 0) {
+            int p = (i - 1) / d;
+            if(keys[p] <= key) { break; }
+            items[i] = items[p]; keys[i] = keys[p];
+            i = p;
+        }
+        items[i] = item; keys[i] = key;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        if(size == 0) { throw new java.util.NoSuchElementException("Frontier is empty."); }
+        E result = (E)items[0];
+        Object item = items[--size];
+        double key = keys[size];
+        items[size] = null; // Allow garbage collection of the removed item.
+        if(size > 0) {
+            // Sift the hole down from the root until the last item fits in it.
+            int i = 0;
+            while(true) {
+                int first = d * i + 1;
+                if(first >= size) { break; }
+                int last = Math.min(first + d, size);
+                int best = first;
+                for(int c = first + 1; c < last; c++) {
+                    if(keys[c] < keys[best]) { best = c; }
+                }
+                if(key <= keys[best]) { break; }
+                items[i] = items[best]; keys[i] = keys[best];
+                i = best;
+            }
+            items[i] = item; keys[i] = key;
+        }
+        return result;
+    }
+
+    public double peekKey() {
+        if(size == 0) { throw new java.util.NoSuchElementException("Frontier is empty."); }
+        return keys[0];
+    }
+
+    public int size() { return size; }
+}
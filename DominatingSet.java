@@ -184,17 +184,9 @@ public class DominatingSet {
         return result;
     }
         
-    // Count the number of positions where the two words differ.
-    private static int hammingDistance(String w1, String w2) {
-        int dist = 0;
-        for(int i = 0; i < w1.length(); i++) {
-            if(w1.charAt(i) != w2.charAt(i)) { dist++; }
-        }
-        return dist;
-    }
-    
     public static void main(String[] args) throws java.io.FileNotFoundException  {        
-        final int WORDS = 500;
+        // The number of most common words to use can be given as a command line argument.
+        final int WORDS = args.length > 0 ? Integer.parseInt(args[0]) : 500;
         final boolean INDEPENDENT = false;
         final long GIVEUP = 100_000_000L;
         
@@ -211,35 +203,22 @@ public class DominatingSet {
         // Build and return the neighbour map of given list of words.
         final int HAMMINGMIN = 1; // Minimum Hamming distance for edge to exist.
         final int HAMMINGMAX = 2; // Maximum Hamming distance for edge to exist.
-        List<List<Integer>> neighbours = new ArrayList<>();
+        List<List<Integer>> neighbours = SimilarityJoin.neighbourLists(words, HAMMINGMIN, HAMMINGMAX);
         int edgeCount = 0;
-        for(int i = 0; i < words.size(); i++) {
-            String w1 = words.get(i);
-            List<Integer> nb = new LinkedList<>();
-            for(int j = 0; j < words.size(); j++) {
-                String w2 = words.get(j);
-                int d = hammingDistance(w1, w2);
-                if(HAMMINGMIN <= d && d <= HAMMINGMAX) { nb.add(j); ++edgeCount; }
-            }
-            neighbours.add(nb);
-        }
+        for(List<Integer> nb: neighbours) { edgeCount += nb.size(); }
         
         List<List<Integer>> components = new ArrayList<>();
-        LinkedList<Integer> frontier = new LinkedList<>();
+        IntGraphSearch search = new IntGraphSearch(IntGraph.fromLists(neighbours));
+        int[] reached = new int[words.size()];
         int[] componentIdx = new int[words.size()];
         int currComp = 1;
         for(int i = 0; i < words.size(); i++) {
             if(componentIdx[i] > 0) { continue; }
-            List<Integer> comp = new ArrayList<>();
             // Perform a frontier search from current word to discover its component.
-            frontier.clear(); frontier.add(i); comp.add(i); componentIdx[i] = currComp;
-            while(frontier.size() > 0) {
-                int v = frontier.removeFirst();
-                for(int w: neighbours.get(v)) {
-                    if(componentIdx[w] == 0) {
-                        componentIdx[w] = currComp; frontier.add(w); comp.add(w);
-                    }
-                }
+            int count = search.reachable(i, reached);
+            List<Integer> comp = new ArrayList<>(count);
+            for(int j = 0; j < count; j++) {
+                componentIdx[reached[j]] = currComp; comp.add(reached[j]);
             }
             components.add(comp);
             currComp++;
@@ -0,0 +1,259 @@
+import java.util.*;
+
+/**
+ * The Hamming distance one neighbourhood graph of a dictionary that can change, so that
+ * adding or removing a word updates only the adjacency lists of its neighbours, instead of
+ * rebuilding the whole graph. As in {@code WordGraph}, the neighbours of a word are found
+ * through the buckets of its single-wildcard patterns. The graph also keeps track of its
+ * connected components. When a word is added, the components of its neighbours are merged
+ * by relabelling the smaller ones into the largest one. When a word is removed, its former
+ * neighbours may end up in different components. To find out, a breadth first search is
+ * started from each of them, and these searches proceed in lockstep, the searches that meet
+ * merging into one. Once only one search remains unfinished, each finished search has
+ * explored a complete component that is relabelled, and the remaining search is stopped
+ * without exploring the rest of the old component, usually by far the largest piece.
+ */
+public class DynamicWordGraph {
+
+    // The words in each single-wildcard pattern bucket.
+    private final Map<String, List<String>> buckets = new HashMap<>();
+    // The neighbours of each word.
+    private final Map<String, List<String>> neighbours = new HashMap<>();
+    // The component id of each word, and the words of each component.
+    private final Map<String, Integer> componentOf = new HashMap<>();
+    private final Map<Integer, Set<String>> components = new HashMap<>();
+    private int nextComponent = 0;
+
+    /**
+     * Constructor for an empty graph.
+     */
+    public DynamicWordGraph() { }
+
+    /**
+     * Constructor for the graph that initially contains the given words.
+     * @param words The words to add to the graph.
+     */
+    public DynamicWordGraph(Collection<String> words) {
+        for(String word: words) { addWord(word); }
+    }
+
+    // The single-wildcard patterns of the given word.
+    private static String[] patterns(String word) {
+        String[] result = new String[word.length()];
+        char[] pattern = word.toCharArray();
+        for(int j = 0; j < pattern.length; j++) {
+            char c = pattern[j];
+            pattern[j] = '*';
+            result[j] = new String(pattern);
+            pattern[j] = c;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of words in the graph.
+     * @return The number of words.
+     */
+    public int size() { return neighbours.size(); }
+
+    /**
+     * Checks whether the given word is in the graph.
+     * @param word The word to look for.
+     * @return Whether the word is in the graph.
+     */
+    public boolean contains(String word) { return neighbours.containsKey(word); }
+
+    /**
+     * Returns the neighbours of the given word, as a read-only view that reflects the later
+     * changes to the graph.
+     * @param word The word whose neighbours are returned.
+     * @return The list of neighbours, or {@code null} if the word is not in the graph.
+     */
+    public List<String> neighbours(String word) {
+        List<String> nb = neighbours.get(word);
+        return nb == null ? null : Collections.unmodifiableList(nb);
+    }
+
+    /**
+     * Returns the id of the connected component of the given word. Two words are in the
+     * same component exactly when they have the same component id, but the id of a word
+     * may change when the graph changes.
+     * @param word The word whose component is returned.
+     * @return The component id of the word, or -1 if the word is not in the graph.
+     */
+    public int componentOf(String word) { return componentOf.getOrDefault(word, -1); }
+
+    /**
+     * Returns the number of words in the connected component of the given word.
+     * @param word The word whose component size is returned.
+     * @return The size of the component of the word, or 0 if the word is not in the graph.
+     */
+    public int componentSize(String word) {
+        Integer c = componentOf.get(word);
+        return c == null ? 0 : components.get(c).size();
+    }
+
+    /**
+     * Returns the number of connected components in the graph.
+     * @return The number of components.
+     */
+    public int componentCount() { return components.size(); }
+
+    /**
+     * Checks whether there is a path between the two given words.
+     * @param w1 The first word.
+     * @param w2 The second word.
+     * @return Whether both words are in the graph and in the same component.
+     */
+    public boolean connected(String w1, String w2) {
+        Integer c = componentOf.get(w1);
+        return c != null && c.equals(componentOf.get(w2));
+    }
+
+    /**
+     * Add the given word to the graph, connecting it to its neighbours.
+     * @param word The word to add.
+     * @return Whether the word was added, that is, it was not already in the graph.
+     */
+    public boolean addWord(String word) {
+        if(neighbours.containsKey(word)) { return false; }
+        List<String> nb = new ArrayList<>();
+        for(String pattern: patterns(word)) {
+            List<String> bucket = buckets.computeIfAbsent(pattern, k -> new ArrayList<>(2));
+            for(String other: bucket) {
+                nb.add(other);
+                neighbours.get(other).add(word);
+            }
+            bucket.add(word);
+        }
+        neighbours.put(word, nb);
+        // Join the word into the largest neighbouring component, and merge the others into it.
+        int largest = -1;
+        for(String other: nb) {
+            int c = componentOf.get(other);
+            if(largest == -1 || components.get(c).size() > components.get(largest).size()) { largest = c; }
+        }
+        if(largest == -1) {
+            largest = nextComponent++;
+            components.put(largest, new HashSet<>());
+        }
+        Set<String> target = components.get(largest);
+        for(String other: nb) {
+            int c = componentOf.get(other);
+            if(c == largest) { continue; }
+            for(String w: components.remove(c)) {
+                componentOf.put(w, largest);
+                target.add(w);
+            }
+        }
+        componentOf.put(word, largest);
+        target.add(word);
+        return true;
+    }
+
+    /**
+     * Remove the given word from the graph, splitting its component if necessary.
+     * @param word The word to remove.
+     * @return Whether the word was removed, that is, it was in the graph.
+     */
+    public boolean removeWord(String word) {
+        List<String> nb = neighbours.remove(word);
+        if(nb == null) { return false; }
+        for(String pattern: patterns(word)) {
+            List<String> bucket = buckets.get(pattern);
+            bucket.remove(word);
+            if(bucket.isEmpty()) { buckets.remove(pattern); }
+        }
+        for(String other: nb) { neighbours.get(other).remove(word); }
+        int c = componentOf.remove(word);
+        Set<String> old = components.get(c);
+        old.remove(word);
+        if(old.isEmpty()) { components.remove(c); }
+        else if(nb.size() > 1) { split(c, nb); }
+        return true;
+    }
+
+    // One of the lockstep searches started from the neighbours of a removed word.
+    private static class Piece {
+        private final List<String> visited = new ArrayList<>();
+        private final Deque<String> pending = new ArrayDeque<>();
+        private Piece mergedInto = null;
+        private Piece root() {
+            Piece p = this;
+            while(p.mergedInto != null) { p = p.mergedInto; }
+            return p;
+        }
+    }
+
+    // Find out which of the given former neighbours of a removed word are still connected,
+    // and give a new component id to each piece that became separated.
+    private void split(int c, List<String> starts) {
+        Map<String, Piece> owner = new HashMap<>();
+        List<Piece> live = new ArrayList<>();
+        for(String start: starts) {
+            Piece piece = new Piece();
+            piece.visited.add(start);
+            piece.pending.add(start);
+            owner.put(start, piece);
+            live.add(piece);
+        }
+        List<Piece> finished = new ArrayList<>();
+        while(live.size() > 1) {
+            // Advance each live search by one expansion, merging the searches that meet.
+            List<Piece> stillLive = new ArrayList<>();
+            for(Piece piece: live) {
+                if(piece.mergedInto != null) { continue; }
+                String v = piece.pending.poll();
+                for(String w: neighbours.get(v)) {
+                    Piece other = owner.get(w);
+                    if(other == null) {
+                        owner.put(w, piece);
+                        piece.visited.add(w);
+                        piece.pending.add(w);
+                    }
+                    else {
+                        other = other.root();
+                        if(other != piece) { piece = absorb(piece, other); }
+                    }
+                }
+                // A search that runs out of words has explored a whole component, which
+                // no other search can then reach.
+                if(piece.pending.isEmpty()) { finished.add(piece); }
+                else { stillLive.add(piece); }
+            }
+            live = new ArrayList<>();
+            for(Piece piece: stillLive) {
+                if(piece.mergedInto == null && !live.contains(piece)) { live.add(piece); }
+            }
+        }
+        // The remaining live search, or else the largest finished one, keeps the old id.
+        Piece keep = live.isEmpty() ? null : live.get(0);
+        if(keep == null) {
+            for(Piece piece: finished) {
+                if(keep == null || piece.visited.size() > keep.visited.size()) { keep = piece; }
+            }
+        }
+        for(Piece piece: finished) {
+            if(piece != keep) { relabel(c, piece.visited); }
+        }
+    }
+
+    // Merge the smaller of the two searches into the larger one, returning the larger one.
+    private static Piece absorb(Piece p1, Piece p2) {
+        Piece big = p1.visited.size() >= p2.visited.size() ? p1 : p2;
+        Piece small = big == p1 ? p2 : p1;
+        big.visited.addAll(small.visited);
+        big.pending.addAll(small.pending);
+        small.mergedInto = big;
+        return big;
+    }
+
+    // Move the given words from the component c to a new component of their own.
+    private void relabel(int c, List<String> words) {
+        int id = nextComponent++;
+        Set<String> piece = new HashSet<>(words);
+        components.get(c).removeAll(piece);
+        components.put(id, piece);
+        for(String w: words) { componentOf.put(w, id); }
+    }
+}
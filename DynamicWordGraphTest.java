@@ -0,0 +1,116 @@
+import java.util.*;
+
+// Randomized tests of DynamicWordGraph under interleaved additions and removals of words,
+// comparing its adjacency lists and connected components after each change to a graph
+// built from scratch with WordGraph and searched with IntGraphSearch.
+
+public class DynamicWordGraphTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Compare the dynamic graph to the graph built from scratch from the words of the model,
+    // with the pool words outside the model verified to be absent from the graph.
+    private static void compare(DynamicWordGraph graph, Set<String> model, List<String> pool) {
+        check(graph.size() == model.size(), "graph has " + graph.size() + " words, expected " + model.size());
+        for(String w: pool) {
+            if(!model.contains(w)) {
+                check(!graph.contains(w), "removed word " + w + " is still in the graph");
+                check(graph.neighbours(w) == null, "removed word " + w + " has neighbours");
+                check(graph.componentOf(w) == -1, "removed word " + w + " has a component");
+                check(graph.componentSize(w) == 0, "removed word " + w + " has a component size");
+            }
+        }
+        List<String> words = new ArrayList<>(model);
+        int n = words.size();
+        int[][] adjacency = WordGraph.hammingAdjacency(words);
+        for(int i = 0; i < n; i++) {
+            String w = words.get(i);
+            check(graph.contains(w), "word " + w + " is missing from the graph");
+            List<String> expected = new ArrayList<>();
+            for(int j: adjacency[i]) { expected.add(words.get(j)); }
+            List<String> actual = new ArrayList<>(graph.neighbours(w));
+            Collections.sort(expected);
+            Collections.sort(actual);
+            check(actual.equals(expected), "neighbours of " + w + " are " + actual + ", expected " + expected);
+        }
+        // Each breadth first search from a vertex not yet seen explores one whole component,
+        // whose words must all share an id that no other component has.
+        IntGraphSearch search = new IntGraphSearch(new IntGraph(adjacency));
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        int[] reached = new int[n];
+        Set<Integer> ids = new HashSet<>();
+        int components = 0;
+        for(int i = 0; i < n; i++) {
+            if(component[i] != -1) { continue; }
+            int count = search.reachable(i, reached);
+            int id = graph.componentOf(words.get(i));
+            check(ids.add(id), "component id " + id + " of " + words.get(i) + " is shared with another component");
+            for(int k = 0; k < count; k++) {
+                String w = words.get(reached[k]);
+                component[reached[k]] = components;
+                check(graph.componentOf(w) == id, "words " + words.get(i) + " and " + w + " have different component ids");
+                check(graph.componentSize(w) == count, "component of " + w + " has size " + graph.componentSize(w) + ", expected " + count);
+            }
+            components++;
+        }
+        check(graph.componentCount() == components, "graph has " + graph.componentCount() + " components, expected " + components);
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < n; j++) {
+                boolean expected = component[i] == component[j];
+                check(graph.connected(words.get(i), words.get(j)) == expected, "connected(" + words.get(i) + ", " + words.get(j) + ") is not " + expected);
+            }
+        }
+    }
+
+    public static void test(
+        int seed,
+        int poolSize,
+        int minLength,
+        int maxLength,
+        int alphabet,
+        int operations
+    )
+    {
+        Random rng = new Random(seed);
+        List<String> pool = WordFixtures.distinctWords(rng, poolSize, minLength, maxLength, alphabet);
+        // Start from a random half of the pool, given to the constructor.
+        Set<String> model = new LinkedHashSet<>();
+        for(String w: pool) {
+            if(rng.nextBoolean()) { model.add(w); }
+        }
+        DynamicWordGraph graph = new DynamicWordGraph(model);
+        compare(graph, model, pool);
+        for(int op = 0; op < operations; op++) {
+            String w = pool.get(rng.nextInt(poolSize));
+            // Removals slightly outnumber additions for a while, and then the other way
+            // around, so that the graph goes through both dense and sparse phases.
+            boolean remove = rng.nextInt(100) < ((op / 100) % 2 == 0 ? 60 : 40);
+            if(remove) {
+                boolean expected = model.remove(w);
+                check(graph.removeWord(w) == expected, "removeWord(" + w + ") did not return " + expected);
+            }
+            else {
+                boolean expected = model.add(w);
+                check(graph.addWord(w) == expected, "addWord(" + w + ") did not return " + expected);
+            }
+            compare(graph, model, pool);
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 5; i++) {
+            test(seed++, 40, 4, 4, 3, 400);
+            test(seed++, 100, 5, 5, 4, 400);
+            test(seed++, 60, 2, 5, 3, 400);
+        }
+        DynamicWordGraph empty = new DynamicWordGraph();
+        check(empty.size() == 0 && empty.componentCount() == 0, "new graph is not empty");
+        check(!empty.removeWord("abc"), "word removed from an empty graph");
+        check(!empty.connected("abc", "abc"), "absent word is connected to itself");
+        System.out.println("All DynamicWordGraph tests passed.");
+    }
+}
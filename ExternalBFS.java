@@ -0,0 +1,387 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Breadth first search whose layers are kept in files instead of an in-memory visited set,
+ * for the state spaces too large to fit in memory. The states are primitive longs, as in
+ * {@code LongStateSearch}. Each layer is stored as a file of states in sorted order, with
+ * each state written as a variable length difference to the previous one. To generate the
+ * next layer, the successors of the current layer are collected into a bounded buffer that
+ * is sorted and written out as a run whenever it fills up. The runs are then merged and
+ * the states that appear in the current or the previous layer are removed, by streaming
+ * through those two sorted layer files alongside the merge. When there are more runs than
+ * can be opened at once, groups of them are first merged into longer runs. Memory use is
+ * thus bounded by the buffer size and the fan-in of the merge, regardless of the size of
+ * the graph.
+ * <p>
+ * Looking back two layers finds all duplicates only in undirected graphs, where every
+ * neighbour of a state in layer d lies in the layer d-1, d or d+1. Directed graphs whose
+ * every move can be undone, such as the sliding tile puzzles, satisfy this condition.
+ */
+public class ExternalBFS {
+
+    // The size of the byte buffer of each file channel.
+    private static final int IO_BUFFER = 1 << 16;
+    // The default number of files that a merge reads at the same time.
+    private static final int MAX_FAN_IN = 64;
+
+    // Writes a sorted sequence of states into a file as variable length differences.
+    private static class LayerWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER);
+        private long prev = Long.MIN_VALUE;
+        private long count = 0;
+        private long bytes = 0;
+        public LayerWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+        // Append the state, which must be greater than the previous one.
+        public void write(long state) throws IOException {
+            if(buffer.remaining() < 10) { flush(); }
+            // The difference is nonnegative when taken as an unsigned number.
+            long delta = state - prev;
+            while((delta & ~0x7FL) != 0) {
+                buffer.put((byte)((delta & 0x7F) | 0x80));
+                delta >>>= 7;
+            }
+            buffer.put((byte)delta);
+            prev = state;
+            count++;
+        }
+        private void flush() throws IOException {
+            buffer.flip();
+            while(buffer.hasRemaining()) { bytes += channel.write(buffer); }
+            buffer.clear();
+        }
+        public void close() throws IOException {
+            flush();
+            channel.close();
+        }
+    }
+
+    // Reads back the states written by a LayerWriter, one at a time in sorted order.
+    private static class LayerReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER);
+        private long remaining;
+        private long current = Long.MIN_VALUE;
+        public LayerReader(Path path, long count) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.flip();
+            remaining = count;
+        }
+        public boolean hasNext() { return remaining > 0; }
+        // Read the next state, which then also becomes the current state of this reader.
+        public long next() throws IOException {
+            long delta = 0;
+            int shift = 0;
+            while(true) {
+                if(!buffer.hasRemaining()) {
+                    buffer.clear();
+                    if(channel.read(buffer) < 0) { throw new EOFException("Layer file ended early"); }
+                    buffer.flip();
+                }
+                byte b = buffer.get();
+                delta |= (long)(b & 0x7F) << shift;
+                if(b >= 0) { break; }
+                shift += 7;
+            }
+            remaining--;
+            current += delta;
+            return current;
+        }
+        public void close() throws IOException { channel.close(); }
+    }
+
+    // A sorted layer stored in a file, and the number of states in it.
+    private static class Layer {
+        private final Path path;
+        private final long count;
+        public Layer(Path path, long count) {
+            this.path = path; this.count = count;
+        }
+    }
+
+    private final LongStateSearch.Successors successors;
+    private final long[] buffer;
+    private final Path directory;
+    private final int runSize;
+    private final int maxFanIn;
+    private final List<Long> layerSizes = new ArrayList<>();
+    private long bytesWritten;
+    // Whether the most recently generated layer contained a goal state.
+    private boolean goalFound;
+
+    /**
+     * Constructor for the search.
+     * @param successors The function that generates the successors of each state.
+     * @param maxBranching The maximum number of successors that any state can have.
+     * @param directory The directory to write the layer and run files into.
+     * @param runSize The number of states collected in memory before they are written
+     * out as a sorted run.
+     */
+    public ExternalBFS(LongStateSearch.Successors successors, int maxBranching, File directory, int runSize) {
+        this(successors, maxBranching, directory, runSize, MAX_FAN_IN);
+    }
+
+    /**
+     * Constructor for the search with the given limit on the number of files merged at once.
+     * @param successors The function that generates the successors of each state.
+     * @param maxBranching The maximum number of successors that any state can have.
+     * @param directory The directory to write the layer and run files into.
+     * @param runSize The number of states collected in memory before they are written
+     * out as a sorted run.
+     * @param maxFanIn The maximum number of files read at the same time in a merge,
+     * including the two old layers.
+     * @throws IllegalArgumentException If the fan-in is less than three.
+     */
+    public ExternalBFS(
+        LongStateSearch.Successors successors,
+        int maxBranching,
+        File directory,
+        int runSize,
+        int maxFanIn
+    )
+    {
+        if(maxFanIn < 3) {
+            throw new IllegalArgumentException("Fan-in must be at least three, was " + maxFanIn + ".");
+        }
+        this.successors = successors;
+        this.buffer = new long[maxBranching];
+        this.directory = directory.toPath();
+        this.runSize = Math.max(runSize, maxBranching);
+        this.maxFanIn = maxFanIn;
+    }
+
+    /**
+     * Returns the number of states in each layer in the most recent search.
+     * @return The list of layer sizes, starting from the layer of the start state.
+     */
+    public List<Long> getLayerSizes() { return layerSizes; }
+
+    /**
+     * Returns the total number of states discovered in the most recent search.
+     * @return The number of states discovered.
+     */
+    public long getVisitedCount() {
+        long total = 0;
+        for(long size: layerSizes) { total += size; }
+        return total;
+    }
+
+    /**
+     * Returns the number of bytes written into the layer and run files in the most recent search.
+     * @return The number of bytes written.
+     */
+    public long getBytesWritten() { return bytesWritten; }
+
+    /**
+     * Find the distance from the start state to the nearest goal state with breadth first
+     * search. If no goal state is reachable, the search visits every reachable state, so
+     * this method can be used to count the reachable states and the layer sizes. All the
+     * files written in the search are deleted before this method returns.
+     * @param start The state to start the search from.
+     * @param goalTest Predicate to check whether given state is a goal.
+     * @return The distance to the nearest goal state, or -1 if no goal state can be reached.
+     * @throws IOException If the layer files cannot be written or read.
+     */
+    public int search(long start, LongPredicate goalTest) throws IOException {
+        layerSizes.clear();
+        bytesWritten = 0;
+        Layer previous = null;
+        Layer current = writeLayer(new long[] { start }, 1, "layer0");
+        layerSizes.add(1L);
+        int depth = 0;
+        try {
+            if(goalTest.test(start)) { return 0; }
+            while(current.count > 0) {
+                depth++;
+                Layer next = nextLayer(previous, current, "layer" + depth, goalTest);
+                if(previous != null) { Files.deleteIfExists(previous.path); }
+                previous = current;
+                current = next;
+                if(goalFound) { return depth; }
+                if(current.count > 0) { layerSizes.add(current.count); }
+            }
+            return -1;
+        }
+        finally {
+            if(previous != null) { Files.deleteIfExists(previous.path); }
+            Files.deleteIfExists(current.path);
+        }
+    }
+
+    // Generate the layer that follows the current one, stopping early at a goal state.
+    private Layer nextLayer(Layer previous, Layer current, String name, LongPredicate goalTest) throws IOException {
+        // Write the successors of the current layer as sorted runs.
+        List<Layer> runs = new ArrayList<>();
+        long[] run = new long[runSize];
+        int used = 0;
+        try(LayerReader reader = new LayerReader(current.path, current.count)) {
+            while(reader.hasNext()) {
+                int n = successors.generate(reader.next(), buffer);
+                if(used + n > run.length) {
+                    runs.add(writeLayer(run, used, name + "run" + runs.size()));
+                    used = 0;
+                }
+                for(int i = 0; i < n; i++) { run[used++] = buffer[i]; }
+            }
+        }
+        if(used > 0 || runs.isEmpty()) { runs.add(writeLayer(run, used, name + "run" + runs.size())); }
+        run = null;
+        // Merge groups of runs into longer runs until the remaining runs can be opened
+        // together with the two old layers.
+        try {
+            for(int merges = 0; runs.size() + 2 > maxFanIn; merges++) {
+                List<Layer> group = runs.subList(0, Math.min(runs.size(), maxFanIn));
+                Layer merged = mergeRuns(group, name + "merge" + merges);
+                group.clear();
+                runs.add(merged);
+            }
+        }
+        catch(IOException | RuntimeException e) {
+            for(Layer r: runs) { Files.deleteIfExists(r.path); }
+            throw e;
+        }
+        // Merge the runs, removing the states in the previous and the current layer.
+        List<LayerReader> readers = new ArrayList<>();
+        Path path = directory.resolve(name);
+        LayerWriter writer = new LayerWriter(path);
+        goalFound = false;
+        try {
+            LayerReader older = previous == null ? null : new LayerReader(previous.path, previous.count);
+            if(older != null) { readers.add(older); }
+            LayerReader newer = new LayerReader(current.path, current.count);
+            readers.add(newer);
+            PriorityQueue<LayerReader> merge = new PriorityQueue<>((r1, r2) -> Long.compare(r1.current, r2.current));
+            for(Layer r: runs) {
+                LayerReader reader = new LayerReader(r.path, r.count);
+                readers.add(reader);
+                if(reader.hasNext()) { reader.next(); merge.offer(reader); }
+            }
+            // The readers of the two old layers are advanced lazily, so they start unread.
+            boolean olderStarted = false, newerStarted = false;
+            long last = 0;
+            boolean first = true;
+            while(!merge.isEmpty() && !goalFound) {
+                LayerReader reader = merge.poll();
+                long state = reader.current;
+                if(reader.hasNext()) { reader.next(); merge.offer(reader); }
+                if(!first && state == last) { continue; } // Duplicate within the new layer.
+                first = false;
+                last = state;
+                if(older != null) {
+                    while((!olderStarted || older.current < state) && older.hasNext()) {
+                        older.next();
+                        olderStarted = true;
+                    }
+                    if(olderStarted && older.current == state) { continue; }
+                }
+                while((!newerStarted || newer.current < state) && newer.hasNext()) {
+                    newer.next();
+                    newerStarted = true;
+                }
+                if(newerStarted && newer.current == state) { continue; }
+                if(goalTest.test(state)) { goalFound = true; }
+                else { writer.write(state); }
+            }
+        }
+        finally {
+            writer.close();
+            bytesWritten += writer.bytes;
+            for(LayerReader reader: readers) { reader.close(); }
+            for(Layer r: runs) { Files.deleteIfExists(r.path); }
+        }
+        return new Layer(path, writer.count);
+    }
+
+    // Merge the sorted runs without duplicates into a new file, and delete the runs.
+    private Layer mergeRuns(List<Layer> runs, String name) throws IOException {
+        List<LayerReader> readers = new ArrayList<>();
+        Path path = directory.resolve(name);
+        LayerWriter writer = new LayerWriter(path);
+        try {
+            PriorityQueue<LayerReader> merge = new PriorityQueue<>((r1, r2) -> Long.compare(r1.current, r2.current));
+            for(Layer r: runs) {
+                LayerReader reader = new LayerReader(r.path, r.count);
+                readers.add(reader);
+                if(reader.hasNext()) { reader.next(); merge.offer(reader); }
+            }
+            long last = 0;
+            boolean first = true;
+            while(!merge.isEmpty()) {
+                LayerReader reader = merge.poll();
+                long state = reader.current;
+                if(reader.hasNext()) { reader.next(); merge.offer(reader); }
+                if(!first && state == last) { continue; }
+                first = false;
+                last = state;
+                writer.write(state);
+            }
+        }
+        finally {
+            writer.close();
+            bytesWritten += writer.bytes;
+            for(LayerReader reader: readers) { reader.close(); }
+            for(Layer r: runs) { Files.deleteIfExists(r.path); }
+        }
+        return new Layer(path, writer.count);
+    }
+
+    // Sort the given states, and write them without duplicates into a new file.
+    private Layer writeLayer(long[] states, int count, String name) throws IOException {
+        Arrays.sort(states, 0, count);
+        Path path = directory.resolve(name);
+        LayerWriter writer = new LayerWriter(path);
+        try {
+            for(int i = 0; i < count; i++) {
+                if(i == 0 || states[i] != states[i - 1]) { writer.write(states[i]); }
+            }
+        }
+        finally {
+            writer.close();
+            bytesWritten += writer.bytes;
+        }
+        return new Layer(path, writer.count);
+    }
+
+    public static void main(String[] args) throws IOException {
+        File directory = Files.createTempDirectory("bfs").toFile();
+        directory.deleteOnExit();
+
+        System.out.println("Enumerating the 8-puzzle with runs of 10000 states.");
+        SlidingPuzzle eight = new SlidingPuzzle(3, 3);
+        ExternalBFS external = new ExternalBFS(eight::successors, 4, directory, 10000);
+        long startTime = System.currentTimeMillis();
+        external.search(eight.getGoal(), s -> false);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Layer sizes: " + external.getLayerSizes());
+        System.out.println("Found " + external.getVisitedCount() + " states, expected 181440, in "
+            + (endTime - startTime) + " ms, writing " + external.getBytesWritten() + " bytes.");
+        LongStateSearch inMemory = new LongStateSearch(eight::successors, 4);
+        Random rng = new Random(12345);
+        int mismatches = 0;
+        for(int i = 0; i < 20; i++) {
+            long start = eight.randomWalk(eight.getGoal(), 100 + rng.nextInt(100), rng);
+            int depth = external.search(start, s -> s == eight.getGoal());
+            long[] path = inMemory.breadthFirst(start, s -> s == eight.getGoal());
+            if(depth != path.length - 1) { mismatches++; }
+        }
+        System.out.println("Distances to the goal in 20 random instances had " + mismatches + " mismatches.");
+
+        System.out.println("\nEnumerating the 2*5 puzzle with runs of 100000 states.");
+        SlidingPuzzle ten = new SlidingPuzzle(2, 5);
+        external = new ExternalBFS(ten::successors, 4, directory, 100000);
+        startTime = System.currentTimeMillis();
+        external.search(ten.getGoal(), s -> false);
+        endTime = System.currentTimeMillis();
+        System.out.println("Layer sizes: " + external.getLayerSizes());
+        System.out.println("Found " + external.getVisitedCount() + " states, expected 1814400, in "
+            + (endTime - startTime) + " ms, writing " + external.getBytesWritten() + " bytes.");
+    }
+}
@@ -0,0 +1,80 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+// Tests of ExternalBFS against an in-memory breadth first search on small sliding tile
+// puzzles, with run sizes and fan-ins small enough to need several merge passes.
+
+public class ExternalBFSTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The number of states at each distance from the start state.
+    private static List<Long> layerSizes(SlidingPuzzle puzzle, long start) {
+        Set<Long> seen = new HashSet<>();
+        List<Long> layer = List.of(start);
+        seen.add(start);
+        List<Long> sizes = new ArrayList<>();
+        long[] buffer = new long[4];
+        while(!layer.isEmpty()) {
+            sizes.add((long)layer.size());
+            List<Long> next = new ArrayList<>();
+            for(long state: layer) {
+                int n = puzzle.successors(state, buffer);
+                for(int i = 0; i < n; i++) {
+                    if(seen.add(buffer[i])) { next.add(buffer[i]); }
+                }
+            }
+            layer = next;
+        }
+        return sizes;
+    }
+
+    public static void test(int seed, int rows, int cols, int runSize, int maxFanIn, int instances) throws IOException {
+        Random rng = new Random(seed);
+        SlidingPuzzle puzzle = new SlidingPuzzle(rows, cols);
+        long goal = puzzle.getGoal();
+        File directory = Files.createTempDirectory("bfs").toFile();
+        try {
+            ExternalBFS external = new ExternalBFS(puzzle::successors, 4, directory, runSize, maxFanIn);
+            check(external.search(goal, s -> false) == -1, "search for no goal found one");
+            List<Long> expected = layerSizes(puzzle, goal);
+            check(external.getLayerSizes().equals(expected), "layer sizes " + external.getLayerSizes()
+                + ", expected " + expected);
+            LongStateSearch inMemory = new LongStateSearch(puzzle::successors, 4);
+            for(int i = 0; i < instances; i++) {
+                long start = puzzle.randomWalk(goal, rng.nextInt(100), rng);
+                int depth = external.search(start, s -> s == goal);
+                int expectedDepth = inMemory.breadthFirst(start, s -> s == goal).length - 1;
+                check(depth == expectedDepth, "distance " + depth + ", expected " + expectedDepth);
+            }
+            check(directory.list().length == 0, "files left behind: " + Arrays.toString(directory.list()));
+        }
+        finally {
+            directory.delete();
+        }
+    }
+
+    public static void testInvalidFanIn() throws IOException {
+        try {
+            new ExternalBFS((s, buffer) -> 0, 4, new File("."), 100, 2);
+        }
+        catch(IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError("fan-in of two was not rejected");
+    }
+
+    public static void main(String[] args) throws IOException {
+        int seed = 12345;
+        test(seed++, 2, 3, 4, 3, 10);
+        test(seed++, 2, 4, 100, 3, 10);
+        test(seed++, 3, 3, 2000, 4, 3);
+        test(seed++, 3, 3, 5000, 8, 3);
+        test(seed++, 3, 3, 100000, 64, 10);
+        testInvalidFanIn();
+        System.out.println("All ExternalBFS tests passed.");
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * The search frontier of a best-first search such as A*, a priority queue of items
+ * that are each stored with their priority key computed once at insertion. Since the
+ * key is given explicitly, the frontier never needs to call back to a comparator or a
+ * heuristic function to decide the order of its items.
+ * @param <E> The type of the items stored in the frontier.
+ */
+public interface Frontier<E> {
+
+    /**
+     * The available frontier implementations that can be chosen for each search. The
+     * {@code BUCKET} frontier requires all keys to be nonnegative integers.
+     */
+    enum Kind { BINARY, QUATERNARY, PAIRING, BUCKET }
+
+    /**
+     * Adds a new item to the frontier.
+     * @param item The item to add.
+     * @param key The priority key of the item, smaller keys coming out first.
+     */
+    void offer(E item, double key);
+
+    /**
+     * Removes and returns the item with the smallest key.
+     * @return The item with the smallest key.
+     */
+    E poll();
+
+    /**
+     * Returns the smallest key in the frontier without removing the item.
+     * @return The smallest key in the frontier.
+     */
+    double peekKey();
+
+    /**
+     * Returns the number of items in the frontier.
+     * @return The number of items in the frontier.
+     */
+    int size();
+
+    /**
+     * Checks whether the frontier is empty.
+     * @return Whether the frontier is empty.
+     */
+    default boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Creates a new empty frontier of the given kind.
+     * @param kind The kind of frontier to create.
+     * @return The new frontier.
+     */
+    static <E> Frontier<E> create(Kind kind) {
+        switch(kind) {
+            case BINARY: return new DaryHeapFrontier<E>(2);
+            case QUATERNARY: return new DaryHeapFrontier<E>(4);
+            case PAIRING: return new PairingHeapFrontier<E>();
+            case BUCKET: return new BucketFrontier<E>();
+            default: throw new IllegalArgumentException("Unknown frontier kind " + kind);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of each Frontier kind against the binary heap, and of A* with each
+// frontier kind against Dijkstra's algorithm on random grid graphs.
+
+public class FrontierTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Interleave random offers and polls of integer keys into the frontier of the given kind
+    // and into a binary heap, and check that both give out the same sequence of keys.
+    public static void testAgainstBinaryHeap(int seed, Frontier.Kind kind, int rounds, int maxKey) {
+        Random rng = new Random(seed);
+        Frontier<Integer> frontier = Frontier.create(kind);
+        Frontier<Integer> reference = new DaryHeapFrontier<>(2);
+        // The key that each item was offered with, to check that polled items match their keys.
+        List<Integer> keyOf = new ArrayList<>();
+        for(int round = 0; round < rounds; round++) {
+            if(rng.nextInt(5) < 3 || reference.isEmpty()) {
+                int key = rng.nextInt(maxKey + 1);
+                frontier.offer(keyOf.size(), key);
+                reference.offer(keyOf.size(), key);
+                keyOf.add(key);
+            }
+            else {
+                double key = reference.peekKey();
+                check(frontier.peekKey() == key, kind + " peekKey " + frontier.peekKey() + ", expected " + key);
+                int item = frontier.poll();
+                check(keyOf.get(item) == key, kind + " polled item with key " + keyOf.get(item) + ", expected " + key);
+                reference.poll();
+            }
+            check(frontier.size() == reference.size(), kind + " size " + frontier.size() + ", expected " + reference.size());
+        }
+        // The binary heap itself must give out its remaining keys in sorted order.
+        double prev = Double.NEGATIVE_INFINITY;
+        while(!reference.isEmpty()) {
+            check(frontier.peekKey() == reference.peekKey(), kind + " peekKey while emptying");
+            int item = reference.poll();
+            check(keyOf.get(item) >= prev, "binary heap gave out keys out of order");
+            prev = keyOf.get(item);
+            frontier.poll();
+        }
+        check(frontier.isEmpty(), kind + " not empty at the end");
+    }
+
+    // Compare the A* path costs with each frontier kind to Dijkstra on a random grid graph
+    // with integer edge costs and the Manhattan distance heuristic.
+    public static void testAStar(int seed, int width, int height, int queries) {
+        Random rng = new Random(seed);
+        int n = width * height;
+        boolean[] blocked = new boolean[n];
+        for(int v = 0; v < n; v++) { blocked[v] = rng.nextInt(4) == 0; }
+        int[] weight = new int[n]; // The cost of entering each cell.
+        for(int v = 0; v < n; v++) { weight[v] = 1 + rng.nextInt(5); }
+        Function<Integer, List<Integer>> edges = v -> {
+            List<Integer> result = new ArrayList<>();
+            int r = v / width, c = v % width;
+            if(r > 0 && !blocked[v - width]) { result.add(v - width); }
+            if(r < height - 1 && !blocked[v + width]) { result.add(v + width); }
+            if(c > 0 && !blocked[v - 1]) { result.add(v - 1); }
+            if(c < width - 1 && !blocked[v + 1]) { result.add(v + 1); }
+            return result;
+        };
+        BiFunction<Integer, Integer, Double> cost = (v, w) -> (double)weight[w];
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = rng.nextInt(n);
+            if(blocked[start] || blocked[goal]) { continue; }
+            Function<Integer, Double> h = v -> (double)(Math.abs(v / width - goal / width) + Math.abs(v % width - goal % width));
+            double expected = dijkstra(edges, cost, n, start, goal);
+            for(Frontier.Kind kind: Frontier.Kind.values()) {
+                List<Integer> path = AStar.shortestPath(edges, cost, start, v -> v.equals(goal), h, kind);
+                double actual = pathCost(path, cost);
+                check(actual == expected, kind + " A* cost " + actual + " from " + start + " to " + goal + ", expected " + expected);
+            }
+        }
+    }
+
+    // The total cost of the edges of the path, or infinity if there is no path.
+    private static double pathCost(List<Integer> path, BiFunction<Integer, Integer, Double> cost) {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) { total += cost.apply(path.get(i - 1), path.get(i)); }
+        return total;
+    }
+
+    // Textbook Dijkstra with a linear scan for the closest vertex, as the reference.
+    private static double dijkstra(
+        Function<Integer, List<Integer>> edges,
+        BiFunction<Integer, Integer, Double> cost,
+        int n,
+        int start,
+        int goal
+    )
+    {
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        boolean[] done = new boolean[n];
+        dist[start] = 0;
+        while(true) {
+            int v = -1;
+            for(int u = 0; u < n; u++) {
+                if(!done[u] && dist[u] < Double.POSITIVE_INFINITY && (v == -1 || dist[u] < dist[v])) { v = u; }
+            }
+            if(v == -1 || v == goal) { return dist[goal]; }
+            done[v] = true;
+            for(int w: edges.apply(v)) { dist[w] = Math.min(dist[w], dist[v] + cost.apply(v, w)); }
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(Frontier.Kind kind: Frontier.Kind.values()) {
+            for(int maxKey: new int[] { 0, 3, 100, 10000 }) {
+                testAgainstBinaryHeap(seed++, kind, 20000, maxKey);
+            }
+        }
+        testAStar(seed++, 30, 20, 100);
+        testAStar(seed++, 60, 60, 50);
+        System.out.println("All Frontier tests passed.");
+    }
+}
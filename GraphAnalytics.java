@@ -0,0 +1,257 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Whole-graph statistics of an {@code IntGraph}, computed in parallel in the given fork/join
+ * pool: the connected components, the betweenness centrality of every vertex, and the
+ * histograms of the vertex degrees and the shortest path distances. The vertices of high
+ * betweenness are the "hubs" that a large fraction of all shortest paths pass through,
+ * which the vertices of highest degree need not be. Except for the components, these
+ * computations run a breadth first search from every vertex, split into tasks over ranges
+ * of source vertices that each use their own work arrays, so that the tasks share nothing
+ * until their partial results are added up when they are joined.
+ */
+public class GraphAnalytics {
+
+    // The number of source vertices that a task processes without splitting further.
+    private static final int SOURCES_PER_TASK = 32;
+    // The number of vertices whose edges a component task processes without splitting further.
+    private static final int VERTICES_PER_TASK = 1024;
+
+    /**
+     * Find the connected components of the undirected graph, using a concurrent union-find
+     * structure whose trees are linked and compressed with atomic compare-and-set updates.
+     * Each root is always the smallest vertex of its tree, so the concurrent links can never
+     * create a cycle, and every parent pointer only ever moves to a smaller vertex.
+     * @param graph The undirected graph whose components are found.
+     * @param pool The fork/join pool to run the tasks in.
+     * @return The component of each vertex, numbered 0, 1, 2, ... in the order of the
+     * smallest vertex of each component.
+     */
+    public static int[] components(IntGraph graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        for(int v = 0; v < n; v++) { parent.set(v, v); }
+        pool.invoke(new UnionTask(graph, parent, 0, n));
+        int[] component = new int[n];
+        int count = 0;
+        for(int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            component[v] = root == v ? count++ : component[root];
+        }
+        return component;
+    }
+
+    // Unite the endpoints of the edges of the vertices from, ..., to-1.
+    private static class UnionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final IntGraph graph;
+        private final AtomicIntegerArray parent;
+        private final int from, to;
+        public UnionTask(IntGraph graph, AtomicIntegerArray parent, int from, int to) {
+            this.graph = graph; this.parent = parent; this.from = from; this.to = to;
+        }
+        @Override protected void compute() {
+            if(to - from > VERTICES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new UnionTask(graph, parent, from, mid), new UnionTask(graph, parent, mid, to));
+                return;
+            }
+            for(int v = from; v < to; v++) {
+                for(int e = graph.firstEdge(v), end = graph.firstEdge(v + 1); e < end; e++) {
+                    int w = graph.target(e);
+                    if(v < w) { union(parent, v, w); }
+                }
+            }
+        }
+    }
+
+    // Find the root of the tree of v, making each vertex on the way point to its grandparent.
+    private static int find(AtomicIntegerArray parent, int v) {
+        while(true) {
+            int p = parent.get(v);
+            if(p == v) { return v; }
+            int g = parent.get(p);
+            if(g != p) { parent.compareAndSet(v, p, g); }
+            v = g;
+        }
+    }
+
+    // Unite the trees of u and v by linking the larger root under the smaller root.
+    private static void union(AtomicIntegerArray parent, int u, int v) {
+        while(true) {
+            u = find(parent, u);
+            v = find(parent, v);
+            if(u == v) { return; }
+            if(u < v) { int tmp = u; u = v; v = tmp; }
+            // Another thread may have linked u meanwhile, in which case try again.
+            if(parent.compareAndSet(u, u, v)) { return; }
+        }
+    }
+
+    /**
+     * Compute the betweenness centrality of every vertex with the algorithm of Brandes. The
+     * centrality of v is the sum over all ordered pairs of vertices (s, t) other than v of
+     * the fraction of the shortest paths from s to t that pass through v. For an undirected
+     * graph, each unordered pair is thus counted twice.
+     * @param graph The graph whose vertices are measured.
+     * @param pool The fork/join pool to run the tasks in.
+     * @return The betweenness centrality of each vertex.
+     */
+    public static double[] betweenness(IntGraph graph, ForkJoinPool pool) {
+        return pool.invoke(new BetweennessTask(graph, 0, graph.vertexCount()));
+    }
+
+    // Add up the dependencies of the vertices on the sources from, ..., to-1.
+    private static class BetweennessTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+        private final IntGraph graph;
+        private final int from, to;
+        public BetweennessTask(IntGraph graph, int from, int to) {
+            this.graph = graph; this.from = from; this.to = to;
+        }
+        @Override protected double[] compute() {
+            if(to - from > SOURCES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                BetweennessTask left = new BetweennessTask(graph, from, mid);
+                left.fork();
+                double[] result = new BetweennessTask(graph, mid, to).compute();
+                double[] other = left.join();
+                for(int v = 0; v < result.length; v++) { result[v] += other[v]; }
+                return result;
+            }
+            int n = graph.vertexCount();
+            double[] result = new double[n];
+            int[] dist = new int[n];
+            Arrays.fill(dist, -1);
+            double[] sigma = new double[n]; // The number of shortest paths from the source.
+            double[] delta = new double[n]; // The dependency of the source on each vertex.
+            int[] queue = new int[n];
+            for(int s = from; s < to; s++) {
+                // Breadth first search from s, counting the shortest paths to each vertex.
+                int head = 0, tail = 0;
+                queue[tail++] = s; dist[s] = 0; sigma[s] = 1;
+                while(head < tail) {
+                    int v = queue[head++];
+                    for(int e = graph.firstEdge(v), end = graph.firstEdge(v + 1); e < end; e++) {
+                        int w = graph.target(e);
+                        if(dist[w] < 0) { dist[w] = dist[v] + 1; queue[tail++] = w; }
+                        if(dist[w] == dist[v] + 1) { sigma[w] += sigma[v]; }
+                    }
+                }
+                // Accumulate the dependencies in the reverse order of distance. The queue
+                // already holds the vertices in the order of their distance from s.
+                for(int i = tail - 1; i > 0; i--) {
+                    int w = queue[i];
+                    for(int e = graph.firstEdge(w), end = graph.firstEdge(w + 1); e < end; e++) {
+                        int v = graph.target(e);
+                        if(dist[v] == dist[w] - 1) {
+                            delta[v] += sigma[v] / sigma[w] * (1 + delta[w]);
+                        }
+                    }
+                    result[w] += delta[w];
+                }
+                // Reset the work arrays for the next source.
+                for(int i = 0; i < tail; i++) {
+                    int v = queue[i];
+                    dist[v] = -1; sigma[v] = 0; delta[v] = 0;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Compute the histogram of the shortest path distances between the vertices.
+     * @param graph The graph whose distances are counted.
+     * @param pool The fork/join pool to run the tasks in.
+     * @return The array whose element d is the number of ordered pairs of distinct vertices
+     * at the distance d from each other. The pairs with no path between them are not counted.
+     */
+    public static long[] distanceHistogram(IntGraph graph, ForkJoinPool pool) {
+        return pool.invoke(new DistanceTask(graph, 0, graph.vertexCount()));
+    }
+
+    // Count the distances from the sources from, ..., to-1.
+    private static class DistanceTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+        private final IntGraph graph;
+        private final int from, to;
+        public DistanceTask(IntGraph graph, int from, int to) {
+            this.graph = graph; this.from = from; this.to = to;
+        }
+        @Override protected long[] compute() {
+            if(to - from > SOURCES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                DistanceTask left = new DistanceTask(graph, from, mid);
+                left.fork();
+                long[] right = new DistanceTask(graph, mid, to).compute();
+                return addHistograms(left.join(), right);
+            }
+            int n = graph.vertexCount();
+            long[] counts = new long[1];
+            int[] dist = new int[n];
+            Arrays.fill(dist, -1);
+            int[] queue = new int[n];
+            for(int s = from; s < to; s++) {
+                int head = 0, tail = 0;
+                queue[tail++] = s; dist[s] = 0;
+                while(head < tail) {
+                    int v = queue[head++];
+                    for(int e = graph.firstEdge(v), end = graph.firstEdge(v + 1); e < end; e++) {
+                        int w = graph.target(e);
+                        if(dist[w] < 0) { dist[w] = dist[v] + 1; queue[tail++] = w; }
+                    }
+                }
+                // The last vertex in the queue is the farthest one from the source.
+                int farthest = dist[queue[tail - 1]];
+                if(farthest >= counts.length) { counts = Arrays.copyOf(counts, farthest + 1); }
+                for(int i = 1; i < tail; i++) { counts[dist[queue[i]]]++; }
+                for(int i = 0; i < tail; i++) { dist[queue[i]] = -1; }
+            }
+            return counts;
+        }
+    }
+
+    // Add up the two histograms, which may be of different lengths.
+    private static long[] addHistograms(long[] h1, long[] h2) {
+        if(h1.length < h2.length) { long[] tmp = h1; h1 = h2; h2 = tmp; }
+        for(int i = 0; i < h2.length; i++) { h1[i] += h2[i]; }
+        return h1;
+    }
+
+    /**
+     * Compute the histogram of the degrees of the vertices. This takes only one pass over
+     * the vertices, so it is not worth splitting into parallel tasks.
+     * @param graph The graph whose degrees are counted.
+     * @return The array whose element d is the number of vertices of degree d.
+     */
+    public static long[] degreeHistogram(IntGraph graph) {
+        long[] counts = new long[1];
+        for(int v = 0; v < graph.vertexCount(); v++) {
+            int d = graph.degree(v);
+            if(d >= counts.length) { counts = Arrays.copyOf(counts, d + 1); }
+            counts[d]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the vertices with the highest scores, such as the betweenness centralities.
+     * @param score The score of each vertex.
+     * @param k The number of vertices to return.
+     * @return The at most {@code k} vertices of highest score, the highest first.
+     */
+    public static int[] topVertices(double[] score, int k) {
+        // The best vertices found so far, the worst of them first.
+        PriorityQueue<Integer> best = new PriorityQueue<>((v1, v2) -> Double.compare(score[v1], score[v2]));
+        for(int v = 0; v < score.length; v++) {
+            if(best.size() < k) { best.offer(v); }
+            else if(k > 0 && score[v] > score[best.peek()]) { best.poll(); best.offer(v); }
+        }
+        int[] result = new int[best.size()];
+        for(int i = result.length - 1; i >= 0; i--) { result[i] = best.poll(); }
+        return result;
+    }
+}
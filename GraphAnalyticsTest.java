@@ -0,0 +1,149 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+// Randomized tests of the parallel graph analytics on random undirected graphs: the
+// betweenness centralities against their definition as sums over all pairs of vertices,
+// and the components and histograms against breadth first searches from every vertex.
+
+public class GraphAnalyticsTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // A random undirected graph made of several random clusters, with some isolated vertices.
+    private static int[][] randomGraph(Random rng, int n, int clusters, int edges) {
+        List<Set<Integer>> out = new ArrayList<>();
+        for(int v = 0; v < n; v++) { out.add(new TreeSet<>()); }
+        for(int i = 0; i < edges; i++) {
+            int v = rng.nextInt(n);
+            int w = rng.nextInt(n);
+            if(v == w || v % clusters != w % clusters || v % 17 == 0 || w % 17 == 0) { continue; }
+            out.get(v).add(w);
+            out.get(w).add(v);
+        }
+        int[][] adjacency = new int[n][];
+        for(int v = 0; v < n; v++) { adjacency[v] = out.get(v).stream().mapToInt(x -> x).toArray(); }
+        return adjacency;
+    }
+
+    public static void test(int seed, int n, int clusters, int edges, int threads) {
+        Random rng = new Random(seed);
+        int[][] adjacency = randomGraph(rng, n, clusters, edges);
+        IntGraph graph = new IntGraph(adjacency);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // The distances and the numbers of shortest paths between all pairs of vertices.
+            int[][] dist = new int[n][n];
+            double[][] paths = new double[n][n];
+            for(int s = 0; s < n; s++) {
+                Arrays.fill(dist[s], -1);
+                dist[s][s] = 0;
+                paths[s][s] = 1;
+                ArrayDeque<Integer> queue = new ArrayDeque<>();
+                queue.add(s);
+                while(!queue.isEmpty()) {
+                    int v = queue.poll();
+                    for(int w: adjacency[v]) {
+                        if(dist[s][w] < 0) { dist[s][w] = dist[s][v] + 1; queue.add(w); }
+                        if(dist[s][w] == dist[s][v] + 1) { paths[s][w] += paths[s][v]; }
+                    }
+                }
+            }
+            // The shortest paths from s to t through v are the pairs of shortest paths from s
+            // to v and from v to t, when v lies on some shortest path from s to t.
+            double[] betweenness = GraphAnalytics.betweenness(graph, pool);
+            for(int v = 0; v < n; v++) {
+                double expected = 0;
+                for(int s = 0; s < n; s++) {
+                    for(int t = 0; t < n; t++) {
+                        if(s == v || t == v || s == t || dist[s][v] < 0 || dist[v][t] < 0) { continue; }
+                        if(dist[s][v] + dist[v][t] == dist[s][t]) { expected += paths[s][v] * paths[v][t] / paths[s][t]; }
+                    }
+                }
+                check(Math.abs(betweenness[v] - expected) <= 1e-9 * Math.max(1, expected), "betweenness of " + v
+                    + " was " + betweenness[v] + ", expected " + expected);
+            }
+            long[] expectedDistances = new long[1];
+            for(int s = 0; s < n; s++) {
+                for(int t = 0; t < n; t++) {
+                    if(dist[s][t] <= 0) { continue; }
+                    if(dist[s][t] >= expectedDistances.length) {
+                        expectedDistances = Arrays.copyOf(expectedDistances, dist[s][t] + 1);
+                    }
+                    expectedDistances[dist[s][t]]++;
+                }
+            }
+            long[] distances = GraphAnalytics.distanceHistogram(graph, pool);
+            check(Arrays.equals(distances, expectedDistances), "distance histogram " + Arrays.toString(distances)
+                + ", expected " + Arrays.toString(expectedDistances));
+            int[] component = GraphAnalytics.components(graph, pool);
+            checkComponents(component, adjacency);
+            long[] degrees = GraphAnalytics.degreeHistogram(graph);
+            for(int d = 0; d < degrees.length; d++) {
+                long count = 0;
+                for(int[] nb: adjacency) { if(nb.length == d) { count++; } }
+                check(degrees[d] == count, degrees[d] + " vertices of degree " + d + ", expected " + count);
+            }
+            int k = rng.nextInt(n + 2);
+            int[] top = GraphAnalytics.topVertices(betweenness, k);
+            double[] sorted = betweenness.clone();
+            Arrays.sort(sorted);
+            check(top.length == Math.min(k, n), "top " + k + " had " + top.length + " vertices");
+            for(int i = 0; i < top.length; i++) {
+                check(betweenness[top[i]] == sorted[n - 1 - i], "top vertex " + i + " had score "
+                    + betweenness[top[i]] + ", expected " + sorted[n - 1 - i]);
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    // Check the component numbers against breadth first search from the smallest vertex of
+    // each component, numbering them in that order.
+    private static void checkComponents(int[] component, int[][] adjacency) {
+        int n = adjacency.length;
+        int[] expected = new int[n];
+        Arrays.fill(expected, -1);
+        int count = 0;
+        for(int s = 0; s < n; s++) {
+            if(expected[s] >= 0) { continue; }
+            expected[s] = count;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(s);
+            while(!queue.isEmpty()) {
+                int v = queue.poll();
+                for(int w: adjacency[v]) {
+                    if(expected[w] < 0) { expected[w] = count; queue.add(w); }
+                }
+            }
+            count++;
+        }
+        check(Arrays.equals(component, expected), "components differ from breadth first search");
+    }
+
+    // The components of a graph large enough to be split into many union tasks.
+    public static void testLargeComponents(int seed, int n, int clusters, int edges, int threads) {
+        int[][] adjacency = randomGraph(new Random(seed), n, clusters, edges);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            checkComponents(GraphAnalytics.components(new IntGraph(adjacency), pool), adjacency);
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int threads: new int[] { 1, 4 }) {
+            test(seed++, 20, 1, 30, threads);
+            test(seed++, 60, 3, 100, threads);
+            test(seed++, 100, 2, 400, threads);
+            test(seed++, 150, 5, 300, threads);
+            testLargeComponents(seed++, 20000, 7, 30000, threads);
+        }
+        System.out.println("All GraphAnalytics tests passed.");
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * An indexed d-ary min-heap over the integer items 0, ..., {@code n-1} whose priorities
+ * are {@code double} values. Unlike {@code java.util.PriorityQueue}, this heap knows
+ * where each item is currently located, which allows a real decrease-key operation
+ * instead of leaving stale duplicates in the heap. All storage is in primitive arrays
+ * allocated once in the constructor, so the heap operations never allocate memory.
+ */
+public class IndexedMinHeap {
+
+    // The branching factor of the heap.
+    private final int d;
+    // The items in the heap, arranged in the heap order in positions 0, ..., size-1.
+    private final int[] heap;
+    // The position of each item in the heap array, or -1 if that item is not in heap.
+    private final int[] pos;
+    // The current priority of each item in the heap.
+    private final double[] key;
+    // Number of items currently in the heap.
+    private int size = 0;
+
+    /**
+     * Constructor for a 4-ary heap. Four children per node is usually a good
+     * compromise between shallower tree and more comparisons per level.
+     * @param n The number of distinct items that can be in the heap.
+     */
+    public IndexedMinHeap(int n) { this(n, 4); }
+
+    /**
+     * Constructor for a heap with the given branching factor.
+     * @param n The number of distinct items that can be in the heap.
+     * @param d The branching factor of the heap, at least two.
+     */
+    public IndexedMinHeap(int n, int d) {
+        if(d < 2) { throw new IllegalArgumentException("Branching factor must be at least 2."); }
+        this.d = d;
+        heap = new int[n];
+        pos = new int[n];
+        key = new double[n];
+        java.util.Arrays.fill(pos, -1);
+    }
+
+    /**
+     * Returns the number of items currently in the heap.
+     * @return The number of items in the heap.
+     */
+    public int size() { return size; }
+
+    /**
+     * Checks whether the heap is empty.
+     * @return Whether the heap is empty.
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Checks whether the given item is currently in the heap.
+     * @param v The item to check.
+     * @return Whether the item {@code v} is in the heap.
+     */
+    public boolean contains(int v) { return pos[v] >= 0; }
+
+    /**
+     * Returns the priority of an item that is currently in the heap.
+     * @param v The item whose priority is returned.
+     * @return The priority of the item {@code v}.
+     */
+    public double getKey(int v) { return key[v]; }
+
+    /**
+     * Returns the priority of the minimum item without removing it.
+     * @return The smallest priority in the heap.
+     */
+    public double minKey() { return key[heap[0]]; }
+
+    /**
+     * Inserts the item into the heap, or lowers its priority if the item is already
+     * in the heap with a higher priority. Does nothing if the item is already in the
+     * heap with a priority that is at most equal to the given priority.
+     * @param v The item to insert or update.
+     * @param k The new priority of the item.
+     * @return Whether the heap was modified.
+     */
+    public boolean insertOrDecrease(int v, double k) {
+        if(pos[v] < 0) {
+            key[v] = k;
+            pos[v] = size;
+            heap[size++] = v;
+            siftUp(pos[v]);
+            return true;
+        }
+        if(k < key[v]) {
+            key[v] = k;
+            siftUp(pos[v]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the item with the smallest priority.
+     * @return The item with the smallest priority.
+     */
+    public int extractMin() {
+        if(size == 0) { throw new java.util.NoSuchElementException("Heap is empty."); }
+        int result = heap[0];
+        pos[result] = -1;
+        if(--size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all items from the heap. This takes time proportional to the number
+     * of items currently in the heap, not the total number of possible items.
+     */
+    public void clear() {
+        for(int i = 0; i < size; i++) { pos[heap[i]] = -1; }
+        size = 0;
+    }
+
+    // Move the item in position i up towards the root until the heap order is restored.
+    private void siftUp(int i) {
+        int v = heap[i];
+        double k = key[v];
+        while(i > 0) {
+            int p = (i - 1) / d;
+            int pv = heap[p];
+            if(key[pv] <= k) { break; }
+            heap[i] = pv; pos[pv] = i;
+            i = p;
+        }
+        heap[i] = v; pos[v] = i;
+    }
+
+    // Move the item in position i down towards the leaves until the heap order is restored.
+    private void siftDown(int i) {
+        int v = heap[i];
+        double k = key[v];
+        while(true) {
+            int first = d * i + 1;
+            if(first >= size) { break; }
+            // Find the child with the smallest priority.
+            int last = Math.min(first + d, size);
+            int best = first;
+            double bestKey = key[heap[first]];
+            for(int c = first + 1; c < last; c++) {
+                double ck = key[heap[c]];
+                if(ck < bestKey) { best = c; bestKey = ck; }
+            }
+            if(k <= bestKey) { break; }
+            heap[i] = heap[best]; pos[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = v; pos[v] = i;
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.*;
+
+// Randomized test of IndexedMinHeap against a plain array of keys scanned for its minimum.
+
+public class IndexedMinHeapTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    public static void test(int seed, int n, int d, int rounds) {
+        Random rng = new Random(seed);
+        IndexedMinHeap heap = new IndexedMinHeap(n, d);
+        // The key of each item that should be in the heap, or NaN if that item is not.
+        double[] expected = new double[n];
+        Arrays.fill(expected, Double.NaN);
+        int size = 0;
+        for(int round = 0; round < rounds; round++) {
+            int op = rng.nextInt(10);
+            if(op < 6 || size == 0) {
+                // Insert a new item, or try to decrease (or increase) the key of an existing one.
+                int v = rng.nextInt(n);
+                double k = rng.nextInt(1000);
+                boolean changes = Double.isNaN(expected[v]) || k < expected[v];
+                check(heap.insertOrDecrease(v, k) == changes, "insertOrDecrease(" + v + ", " + k + ") result");
+                if(changes) {
+                    if(Double.isNaN(expected[v])) { size++; }
+                    expected[v] = k;
+                }
+            }
+            else {
+                double min = Double.POSITIVE_INFINITY;
+                for(double k: expected) { if(k < min) { min = k; } }
+                check(heap.minKey() == min, "minKey " + heap.minKey() + ", expected " + min);
+                int v = heap.extractMin();
+                check(expected[v] == min, "extracted item " + v + " with key " + expected[v] + ", expected " + min);
+                expected[v] = Double.NaN;
+                size--;
+            }
+            check(heap.size() == size, "size " + heap.size() + ", expected " + size);
+            int v = rng.nextInt(n);
+            check(heap.contains(v) == !Double.isNaN(expected[v]), "contains(" + v + ")");
+            if(heap.contains(v)) { check(heap.getKey(v) == expected[v], "getKey(" + v + ")"); }
+            if(rng.nextInt(rounds / 4 + 1) == 0) {
+                heap.clear();
+                Arrays.fill(expected, Double.NaN);
+                size = 0;
+                check(heap.isEmpty(), "heap not empty after clear");
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int d: new int[] { 2, 3, 4, 8 }) {
+            for(int n: new int[] { 1, 2, 10, 100, 1000 }) {
+                test(seed++, n, d, 20000);
+            }
+        }
+        System.out.println("All IndexedMinHeap tests passed.");
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.function.*;
+
+// The A* algorithm specialized for graphs whose vertices are the dense integers 0, ..., n-1.
+// Instead of boxing every g-value into a map and allocating a search node for every push,
+// all search state is kept in primitive arrays that are allocated once and reused for all
+// queries, and the frontier is an indexed heap with a real decrease-key operation.
+
+public class IntAStar {
+
+    /**
+     * Functional interface for the cost of moving along an edge between two vertices.
+     */
+    public interface IntCost {
+        /**
+         * Returns the cost of moving along the edge from {@code u} to {@code v}.
+         * @param u The vertex that the edge starts from.
+         * @param v The vertex that the edge leads to.
+         * @return The cost of that edge.
+         */
+        double apply(int u, int v);
+    }
+
+    // The best known distance from the start vertex to each vertex.
+    private final double[] g;
+    // The vertex from which the search arrived to each vertex with that best distance.
+    private final int[] parent;
+    // The heuristic value of each discovered vertex, so that it is computed only once.
+    private final double[] hValue;
+    // Instead of clearing the arrays between the searches, each search gets a new stamp
+    // so that g[v], parent[v] and hValue[v] are valid only if seenStamp[v] equals the
+    // current stamp.
+    private final int[] seenStamp;
+    private int stamp = 0;
+    // The search frontier ordered by the f = g + h values of the vertices.
+    private final IndexedMinHeap frontier;
+    // Count of how many nodes were expanded in the most recent search.
+    private int expandedCount;
+
+    /**
+     * Constructor to allocate the search state for graphs with the given number of vertices.
+     * @param n The number of vertices in the graph.
+     */
+    public IntAStar(int n) {
+        g = new double[n];
+        parent = new int[n];
+        hValue = new double[n];
+        seenStamp = new int[n];
+        frontier = new IndexedMinHeap(n);
+    }
+
+    /**
+     * Returns the count of how many nodes were expanded in the most recent search.
+     * @return The node expansion count.
+     */
+    public int getExpandedCount() { return expandedCount; }
+
+    /**
+     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm.
+     * The same object must not be used to execute several searches at the same time.
+     * @param edges Function giving the array of neighbours of the given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The heuristic lower bound function used by the A* algorithm. To guarantee
+     * finding the shortest path, this function must be admissible. If it is also monotonic,
+     * no vertex is ever expanded more than once.
+     * @return Array of vertices that comprise the shortest path from start to goal, or
+     * {@code null} if no goal vertex is reachable from the start vertex.
+     */
+    public int[] shortestPath(
+        IntFunction<int[]> edges,
+        IntCost cost,
+        int start,
+        IntPredicate goalTest,
+        IntToDoubleFunction h
+    )
+    {
+        if(h == null) { h = v -> 0.0; }
+        initialize(start, h);
+        while(!frontier.isEmpty()) {
+            // Extract the vertex with lowest (g + h) value to be expanded next.
+            int current = frontier.extractMin();
+            expandedCount++;
+            // If the current vertex is a goal, finish the search and return the answer path.
+            if(goalTest.test(current)) { return buildPath(current); }
+            for(int next: edges.apply(current)) {
+                relax(current, next, g[current] + cost.apply(current, next), h);
+            }
+        }
+        // Search completed with no solution found.
+        return null;
+    }
+
+    /**
+     * Find the shortest path from the start vertex to some goal vertex using the A* algorithm
+     * in the given compressed graph, reading the neighbours directly from its edge array.
+     * The same object must not be used to execute several searches at the same time.
+     * @param graph The graph to search in.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The heuristic lower bound function used by the A* algorithm.
+     * @return Array of vertices that comprise the shortest path from start to goal, or
+     * {@code null} if no goal vertex is reachable from the start vertex.
+     */
+    public int[] shortestPath(
+        IntGraph graph,
+        IntCost cost,
+        int start,
+        IntPredicate goalTest,
+        IntToDoubleFunction h
+    )
+    {
+        if(h == null) { h = v -> 0.0; }
+        initialize(start, h);
+        while(!frontier.isEmpty()) {
+            int current = frontier.extractMin();
+            expandedCount++;
+            if(goalTest.test(current)) { return buildPath(current); }
+            for(int e = graph.firstEdge(current), end = graph.firstEdge(current + 1); e < end; e++) {
+                int next = graph.target(e);
+                relax(current, next, g[current] + cost.apply(current, next), h);
+            }
+        }
+        return null;
+    }
+
+    // Start a new search from the given start vertex.
+    private void initialize(int start, IntToDoubleFunction h) {
+        // Initialize the node expansion count.
+        expandedCount = 0;
+        // Start a new search, invalidating the information of all previous searches.
+        if(++stamp == 0) { // In the unlikely case of wraparound, clear the stamps for real.
+            java.util.Arrays.fill(seenStamp, 0);
+            stamp = 1;
+        }
+        frontier.clear();
+        // Initialize the search frontier to contain the start vertex.
+        seenStamp[start] = stamp; g[start] = 0; parent[start] = -1;
+        hValue[start] = h.applyAsDouble(start);
+        frontier.insertOrDecrease(start, hValue[start]);
+    }
+
+    // Add the neighbour of the current vertex to the search frontier, or lower its priority
+    // there if we just found a shorter path to it.
+    private void relax(int current, int next, double ng, IntToDoubleFunction h) {
+        // If we have already discovered some at least as good path to this neighbour, skip it.
+        if(seenStamp[next] == stamp) {
+            if(g[next] <= ng) { return; }
+        }
+        else {
+            seenStamp[next] = stamp;
+            hValue[next] = h.applyAsDouble(next);
+        }
+        g[next] = ng; parent[next] = current;
+        // Insert the neighbour into the frontier or decrease its key there. With an
+        // inconsistent heuristic, this may also reopen an already expanded vertex.
+        frontier.insertOrDecrease(next, ng + hValue[next]);
+    }
+
+    // Follow the parent pointers from the given vertex back to the start vertex.
+    private int[] buildPath(int v) {
+        int len = 0;
+        for(int u = v; u != -1; u = parent[u]) { len++; }
+        int[] path = new int[len];
+        for(int u = v; u != -1; u = parent[u]) { path[--len] = u; }
+        return path;
+    }
+}
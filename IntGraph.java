@@ -0,0 +1,176 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * An immutable directed graph whose vertices are the integers 0, ..., {@code n-1}, stored
+ * in the compressed sparse row format. The targets of all edges are stored in one array
+ * so that the outgoing edges of vertex {@code v} are in positions {@code offsets[v]} to
+ * {@code offsets[v+1]-1}. Compared to a map of linked lists, this format has no per-edge
+ * overhead besides the single int, and iterating through the neighbours of a vertex reads
+ * memory sequentially. An undirected graph is represented by storing each edge both ways.
+ */
+public class IntGraph {
+
+    // The position of the first outgoing edge of each vertex, with a sentinel at the end.
+    private final int[] offsets;
+    // The target vertices of all edges, grouped by their source vertex.
+    private final int[] targets;
+
+    /**
+     * Constructor to build the graph from the given array of adjacency arrays.
+     * @param adjacency The array of neighbours of each vertex.
+     */
+    public IntGraph(int[][] adjacency) {
+        int n = adjacency.length;
+        offsets = new int[n + 1];
+        for(int v = 0; v < n; v++) { offsets[v + 1] = offsets[v] + adjacency[v].length; }
+        targets = new int[offsets[n]];
+        for(int v = 0; v < n; v++) {
+            System.arraycopy(adjacency[v], 0, targets, offsets[v], adjacency[v].length);
+        }
+    }
+
+    // Constructor for graphs that are built directly in the compressed format.
+    private IntGraph(int[] offsets, int[] targets) {
+        this.offsets = offsets; this.targets = targets;
+    }
+
+    /**
+     * Build the graph from the list of neighbour lists of each vertex.
+     * @param neighbours The list of neighbours of each vertex.
+     * @return The graph with the same edges.
+     */
+    public static IntGraph fromLists(List<? extends List<Integer>> neighbours) {
+        int n = neighbours.size();
+        int[] offsets = new int[n + 1];
+        for(int v = 0; v < n; v++) { offsets[v + 1] = offsets[v] + neighbours.get(v).size(); }
+        int[] targets = new int[offsets[n]];
+        int e = 0;
+        for(List<Integer> nb: neighbours) {
+            for(int w: nb) { targets[e++] = w; }
+        }
+        return new IntGraph(offsets, targets);
+    }
+
+    /**
+     * Build the graph from the given edge function of a generic graph, so that each vertex
+     * is represented by its position in the given list of vertices.
+     * @param vertices The list of vertices of the graph.
+     * @param edges Function giving the list of edges from the given vertex.
+     * @return The graph with the same edges.
+     */
+    public static <V> IntGraph fromEdges(List<V> vertices, Function<V, List<V>> edges) {
+        int n = vertices.size();
+        Map<V, Integer> index = new HashMap<>();
+        for(int v = 0; v < n; v++) { index.put(vertices.get(v), v); }
+        int[][] adjacency = new int[n][];
+        for(int v = 0; v < n; v++) {
+            List<V> nb = edges.apply(vertices.get(v));
+            adjacency[v] = new int[nb.size()];
+            int i = 0;
+            for(V w: nb) {
+                Integer wi = index.get(w);
+                if(wi == null) {
+                    throw new IllegalArgumentException("Vertex " + w + " is not in the vertex list.");
+                }
+                adjacency[v][i++] = wi;
+            }
+        }
+        return new IntGraph(adjacency);
+    }
+
+    /**
+     * Returns the edge function of the generic graph with the given list of vertices, to
+     * allow this graph to be used with the search algorithms for generic graphs.
+     * @param vertices The vertex represented by each integer of this graph.
+     * @return The edge function of the generic graph.
+     */
+    public <V> Function<V, List<V>> edgeFunction(List<V> vertices) {
+        Map<V, Integer> index = new HashMap<>();
+        for(int v = 0; v < vertices.size(); v++) { index.put(vertices.get(v), v); }
+        return v -> {
+            int vi = index.get(v);
+            List<V> result = new ArrayList<>(degree(vi));
+            for(int e = offsets[vi]; e < offsets[vi + 1]; e++) { result.add(vertices.get(targets[e])); }
+            return result;
+        };
+    }
+
+    /**
+     * Returns the number of vertices in this graph.
+     * @return The number of vertices.
+     */
+    public int vertexCount() { return offsets.length - 1; }
+
+    /**
+     * Returns the number of directed edges in this graph.
+     * @return The number of edges.
+     */
+    public int edgeCount() { return targets.length; }
+
+    /**
+     * Returns the number of outgoing edges of the given vertex.
+     * @param v The vertex whose degree is returned.
+     * @return The out-degree of vertex {@code v}.
+     */
+    public int degree(int v) { return offsets[v + 1] - offsets[v]; }
+
+    /**
+     * Returns the index of the first outgoing edge of the given vertex. The outgoing edges
+     * of the vertex {@code v} have the indices from {@code firstEdge(v)} to
+     * {@code firstEdge(v+1)-1}.
+     * @param v The vertex whose first edge index is returned.
+     * @return The index of the first edge of {@code v}.
+     */
+    public int firstEdge(int v) { return offsets[v]; }
+
+    /**
+     * Returns the target vertex of the edge with the given index.
+     * @param e The index of the edge.
+     * @return The vertex that the edge {@code e} leads to.
+     */
+    public int target(int e) { return targets[e]; }
+
+    /**
+     * Returns a new array that contains the neighbours of the given vertex. The search
+     * algorithms should rather iterate through the edge indices to avoid allocation.
+     * @param v The vertex whose neighbours are returned.
+     * @return The array of neighbours of {@code v}.
+     */
+    public int[] neighbours(int v) { return Arrays.copyOfRange(targets, offsets[v], offsets[v + 1]); }
+
+    /**
+     * Returns a copy of this graph with the vertices renumbered, so that the vertex
+     * {@code v} of the new graph is the vertex {@code order[v]} of this graph. Numbering
+     * the vertices that are close in the graph close to each other makes the traversals
+     * of the new graph read the memory more locally. The neighbours of each vertex in the
+     * new graph are listed in ascending order.
+     * @param order The vertex of this graph that becomes each vertex of the new graph,
+     * which must be a permutation of 0, ..., {@code n-1}.
+     * @return The renumbered graph.
+     */
+    public IntGraph permute(int[] order) {
+        int n = vertexCount();
+        if(order.length != n) {
+            throw new IllegalArgumentException("Permutation has " + order.length + " elements for " + n + " vertices");
+        }
+        int[] newId = new int[n];
+        Arrays.fill(newId, -1);
+        for(int v = 0; v < n; v++) {
+            if(newId[order[v]] != -1) {
+                throw new IllegalArgumentException("Vertex " + order[v] + " appears twice in the permutation");
+            }
+            newId[order[v]] = v;
+        }
+        int[] newOffsets = new int[n + 1];
+        int[] newTargets = new int[targets.length];
+        for(int v = 0; v < n; v++) {
+            int old = order[v];
+            int start = newOffsets[v];
+            newOffsets[v + 1] = start + degree(old);
+            for(int e = offsets[old]; e < offsets[old + 1]; e++) { newTargets[start++] = newId[targets[e]]; }
+            Arrays.sort(newTargets, newOffsets[v], newOffsets[v + 1]);
+        }
+        return new IntGraph(newOffsets, newTargets);
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.function.*;
+
+/**
+ * Breadth first and depth first searches in an {@code IntGraph}, using only primitive arrays
+ * that are allocated once for the given graph and then reused for all searches. The visited
+ * vertices are kept in a bitset that takes one bit per vertex. The same object must not be
+ * used to execute several searches at the same time, but each thread can have its own.
+ */
+public class IntGraphSearch {
+
+    // The graph that the searches take place in.
+    private final IntGraph graph;
+    // The BFS queue of vertices, also used as the DFS stack.
+    private final int[] queue;
+    // The vertex that each visited vertex was discovered from.
+    private final int[] parent;
+    // For DFS, the index of the next unexplored edge of each vertex on the stack.
+    private final int[] nextEdge;
+    // The bitset of vertices visited in the current search.
+    private final long[] visited;
+    // The number of vertices visited in the most recent search.
+    private int visitedCount;
+
+    /**
+     * Constructor to allocate the search state for the given graph.
+     * @param graph The graph to search in.
+     */
+    public IntGraphSearch(IntGraph graph) {
+        this.graph = graph;
+        int n = graph.vertexCount();
+        queue = new int[n];
+        parent = new int[n];
+        nextEdge = new int[n];
+        visited = new long[(n + 63) >> 6];
+    }
+
+    /**
+     * Returns the number of vertices visited in the most recent search.
+     * @return The number of visited vertices.
+     */
+    public int getVisitedCount() { return visitedCount; }
+
+    // Check whether the vertex v has been visited.
+    private boolean isVisited(int v) { return (visited[v >> 6] & (1L << v)) != 0; }
+
+    // Mark the vertex v visited.
+    private void visit(int v) { visited[v >> 6] |= 1L << v; visitedCount++; }
+
+    // Start a new search from the given start vertex.
+    private void reset(int start) {
+        java.util.Arrays.fill(visited, 0);
+        visitedCount = 0;
+        visit(start);
+        parent[start] = -1;
+    }
+
+    /**
+     * Find the shortest path from start vertex to some goal vertex using breadth first search.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @return Array of vertices on the shortest path from the start to the first goal vertex
+     * found, or {@code null} if no goal vertex is reachable from the start.
+     */
+    public int[] shortestPath(int start, IntPredicate goalTest) {
+        reset(start);
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        while(head < tail) {
+            int current = queue[head++];
+            if(goalTest.test(current)) { return buildPath(current); }
+            for(int e = graph.firstEdge(current), end = graph.firstEdge(current + 1); e < end; e++) {
+                int next = graph.target(e);
+                if(isVisited(next)) { continue; }
+                visit(next);
+                parent[next] = current;
+                queue[tail++] = next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find some path from start vertex to some goal vertex using depth first search. The
+     * path found this way is usually not the shortest path.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @return Array of vertices on the path from the start to the first goal vertex found,
+     * or {@code null} if no goal vertex is reachable from the start.
+     */
+    public int[] depthFirstPath(int start, IntPredicate goalTest) {
+        reset(start);
+        // The stack contains exactly the vertices of the path to the current vertex.
+        int top = 0;
+        queue[top++] = start;
+        nextEdge[start] = graph.firstEdge(start);
+        if(goalTest.test(start)) { return buildPath(start); }
+        while(top > 0) {
+            int current = queue[top - 1];
+            // If all edges of the current vertex have been explored, backtrack.
+            if(nextEdge[current] == graph.firstEdge(current + 1)) { top--; continue; }
+            int next = graph.target(nextEdge[current]++);
+            if(isVisited(next)) { continue; }
+            visit(next);
+            parent[next] = current;
+            if(goalTest.test(next)) { return buildPath(next); }
+            nextEdge[next] = graph.firstEdge(next);
+            queue[top++] = next;
+        }
+        return null;
+    }
+
+    /**
+     * Compute the breadth first search distances from the start vertex to all vertices.
+     * @param start The vertex to start the search from.
+     * @param dist The array to fill in with the distance to each vertex, with -1 for the
+     * vertices that are not reachable from the start.
+     * @return The number of vertices reachable from the start, including the start itself.
+     */
+    public int distances(int start, int[] dist) {
+        java.util.Arrays.fill(dist, -1);
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        dist[start] = 0;
+        while(head < tail) {
+            int current = queue[head++];
+            int d = dist[current] + 1;
+            for(int e = graph.firstEdge(current), end = graph.firstEdge(current + 1); e < end; e++) {
+                int next = graph.target(e);
+                if(dist[next] == -1) { dist[next] = d; queue[tail++] = next; }
+            }
+        }
+        visitedCount = tail;
+        return tail;
+    }
+
+    /**
+     * Find all vertices reachable from the start vertex.
+     * @param start The vertex to start the search from.
+     * @param result The array to store the reachable vertices in, in breadth first order.
+     * @return The number of reachable vertices stored in the result array.
+     */
+    public int reachable(int start, int[] result) {
+        reset(start);
+        int head = 0, tail = 0;
+        result[tail++] = start;
+        while(head < tail) {
+            int current = result[head++];
+            for(int e = graph.firstEdge(current), end = graph.firstEdge(current + 1); e < end; e++) {
+                int next = graph.target(e);
+                if(isVisited(next)) { continue; }
+                visit(next);
+                result[tail++] = next;
+            }
+        }
+        return tail;
+    }
+
+    // Follow the parent pointers from the given vertex back to the start vertex.
+    private int[] buildPath(int v) {
+        int len = 0;
+        for(int u = v; u != -1; u = parent[u]) { len++; }
+        int[] path = new int[len];
+        for(int u = v; u != -1; u = parent[u]) { path[--len] = u; }
+        return path;
+    }
+}
@@ -0,0 +1,133 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of the compressed sparse row IntGraph builders and of IntGraphSearch
+// against the generic BFS and iterative deepening DFS, with one search object reused for
+// every query on the graph.
+
+public class IntGraphSearchTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // A random directed graph in which some vertices have no edges at all.
+    private static List<List<Integer>> randomGraph(Random rng, int n, int maxDegree) {
+        List<List<Integer>> out = new ArrayList<>();
+        for(int v = 0; v < n; v++) {
+            List<Integer> nb = new ArrayList<>();
+            int degree = rng.nextInt(4) == 0 ? 0 : rng.nextInt(maxDegree + 1);
+            for(int i = 0; i < degree; i++) {
+                int w = rng.nextInt(n);
+                if(!nb.contains(w)) { nb.add(w); }
+            }
+            out.add(nb);
+        }
+        return out;
+    }
+
+    // Check that the path leads from start to goal along the edges of the graph.
+    private static void checkPath(int[] path, List<List<Integer>> out, int start, int goal) {
+        check(path[0] == start && path[path.length - 1] == goal, "path " + Arrays.toString(path) + " has wrong endpoints");
+        for(int i = 1; i < path.length; i++) {
+            check(out.get(path[i - 1]).contains(path[i]), "path " + Arrays.toString(path) + " uses a missing edge");
+        }
+    }
+
+    // The three builders must give the same graph, and the edge function must give back the
+    // original edges of the generic graph.
+    public static void testBuilders(int seed, int n, int maxDegree) {
+        List<List<Integer>> out = randomGraph(new Random(seed), n, maxDegree);
+        int[][] adjacency = new int[n][];
+        for(int v = 0; v < n; v++) { adjacency[v] = out.get(v).stream().mapToInt(x -> x).toArray(); }
+        List<String> names = new ArrayList<>();
+        for(int v = 0; v < n; v++) { names.add("v" + v); }
+        Function<String, List<String>> edges = name -> {
+            List<String> result = new ArrayList<>();
+            for(int w: out.get(Integer.parseInt(name.substring(1)))) { result.add(names.get(w)); }
+            return result;
+        };
+        IntGraph[] graphs = { new IntGraph(adjacency), IntGraph.fromLists(out), IntGraph.fromEdges(names, edges) };
+        int edgeCount = 0;
+        for(List<Integer> nb: out) { edgeCount += nb.size(); }
+        for(IntGraph graph: graphs) {
+            check(graph.vertexCount() == n && graph.edgeCount() == edgeCount, "graph has " + graph.vertexCount()
+                + " vertices and " + graph.edgeCount() + " edges");
+            for(int v = 0; v < n; v++) {
+                check(Arrays.equals(graph.neighbours(v), adjacency[v]), "neighbours of " + v);
+                check(graph.degree(v) == adjacency[v].length, "degree of " + v);
+                for(int i = 0; i < adjacency[v].length; i++) {
+                    check(graph.target(graph.firstEdge(v) + i) == adjacency[v][i], "edge " + i + " of " + v);
+                }
+            }
+            Function<String, List<String>> back = graph.edgeFunction(names);
+            for(String name: names) { check(back.apply(name).equals(edges.apply(name)), "edge function at " + name); }
+        }
+        try {
+            IntGraph.fromEdges(names.subList(1, n), edges);
+            check(out.stream().noneMatch(nb -> nb.contains(0)), "edge to a vertex missing from the list was accepted");
+        }
+        catch(IllegalArgumentException expected) { }
+    }
+
+    // Compare every search of one reused search object to the generic searches.
+    public static void testSearches(int seed, int n, int maxDegree, int queries) {
+        Random rng = new Random(seed);
+        List<List<Integer>> out = randomGraph(rng, n, maxDegree);
+        Function<Integer, List<Integer>> edges = out::get;
+        IntGraphSearch search = new IntGraphSearch(IntGraph.fromLists(out));
+        int[] dist = new int[n];
+        int[] reached = new int[n];
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = q % 10 == 0 ? start : rng.nextInt(n);
+            List<Integer> expected = BFS.search(edges, start, v -> v == goal, true).getPath();
+            int[] path = search.shortestPath(start, v -> v == goal);
+            check((path == null) == (expected == null), "BFS from " + start + " to " + goal + " found "
+                + Arrays.toString(path) + ", expected " + expected);
+            if(path != null) {
+                checkPath(path, out, start, goal);
+                check(path.length == expected.size(), "BFS path of " + path.length + " vertices, expected "
+                    + expected.size());
+            }
+            // The depth limit of n is never reached, so iterative deepening finds a path exactly
+            // when one exists, though not necessarily the same one as the depth first search.
+            List<Integer> deepening = IterativeDFS.search(edges, start, v -> v == goal, n + 1);
+            int[] dfsPath = search.depthFirstPath(start, v -> v == goal);
+            check((dfsPath == null) == (deepening == null), "DFS from " + start + " to " + goal);
+            if(dfsPath != null) { checkPath(dfsPath, out, start, goal); }
+            // The distances and the reachable set against the generic BFS to every vertex.
+            int count = search.distances(start, dist);
+            check(search.getVisitedCount() == count, "visited count after distances");
+            int reachableCount = 0;
+            for(int t = 0; t < n; t++) {
+                int target = t;
+                List<Integer> p = BFS.search(edges, start, v -> v == target, true).getPath();
+                check(dist[t] == (p == null ? -1 : p.size() - 1), "distance from " + start + " to " + t + " was "
+                    + dist[t] + ", expected path " + p);
+                if(p != null) { reachableCount++; }
+            }
+            check(count == reachableCount, "distances reached " + count + " vertices, expected " + reachableCount);
+            count = search.reachable(start, reached);
+            check(count == reachableCount && search.getVisitedCount() == count, "reachable found " + count
+                + " vertices, expected " + reachableCount);
+            Set<Integer> seen = new HashSet<>();
+            for(int i = 0; i < count; i++) {
+                check(seen.add(reached[i]) && dist[reached[i]] >= 0, "reachable listed " + reached[i]);
+                check(i == 0 || dist[reached[i]] >= dist[reached[i - 1]], "reachable not in breadth first order");
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 3; i++) {
+            testBuilders(seed++, 10, 3);
+            testBuilders(seed++, 200, 5);
+            testSearches(seed++, 12, 2, 100);
+            // More than one word of the visited bitset, with sparse and dense edges.
+            testSearches(seed++, 150, 2, 100);
+            testSearches(seed++, 130, 6, 100);
+        }
+        System.out.println("All IntGraphSearch tests passed.");
+    }
+}
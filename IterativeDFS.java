@@ -20,16 +20,40 @@ public class IterativeDFS {
         int maxDepth
     )
     {
+        return searchWithStats(edges, start, goalTest, maxDepth).getPath();
+    }
+    
+    /**
+     * As {@code search}, but returns the path together with the statistics of this search.
+     * The reopening count tells how many times a node was expanded again after having been
+     * expanded already in some earlier round of iterative deepening, and the peak frontier
+     * size is the length of the longest path that the search was holding.
+     * @param edges Function giving the list of neighbours of each node in the graph.
+     * @param start The node in which to start searching.
+     * @param goalTest Predicate to determine whether the current node is a goal node.
+     * @param maxDepth Maximum level depth before giving up the search.
+     * @return The search result with the path from start node to a goal node.
+     */
+    public static <E> SearchResult<E> searchWithStats(
+        Function<E,List<E>> edges,
+        E start,
+        Predicate<E> goalTest,
+        int maxDepth
+    )
+    {
+        SearchStats.Counter counter = new SearchStats.Counter();
         LinkedList<E> path = new LinkedList<E>();
         Set<E> discovered = new HashSet<E>();
+        // The nodes that have been expanded in any round so far.
+        Set<E> everExpanded = new HashSet<E>();
         for(int currDepth = 1; currDepth <= maxDepth; currDepth++) {
-            int result = search(edges, start, goalTest, currDepth, path, discovered);
-            if(result > 0) { return path; }
-            if(result == 0) { return null; } // Search failed without cutoff
+            int result = search(edges, start, goalTest, currDepth, path, discovered, counter, everExpanded);
+            if(result > 0) { return new SearchResult<E>(path, counter.toStats()); }
+            if(result == 0) { break; } // Search failed without cutoff
             // Search failed because of cutoff, so we must continue to next round.
             discovered.clear(); // Each iteration starts afresh.
         }
-        return null;
+        return new SearchResult<E>(null, counter.toStats());
     }
     
     // The recursive DFS with depth limit. Returns +1 for success (the path contains the
@@ -42,7 +66,9 @@ public class IterativeDFS {
         Predicate<E> goalTest,
         int depthLimit,     // The remaining depth limit
         LinkedList<E> path, // The path of nodes accumulated so far.
-        Set<E> discovered   // The set of nodes discovered so far. 
+        Set<E> discovered,  // The set of nodes discovered so far. 
+        SearchStats.Counter counter, // The statistics counters of the search.
+        Set<E> everExpanded // The set of nodes expanded in this or some earlier round.
     )
     {
         // Record whether some recursive search has failed due to cutoff.
@@ -51,16 +77,20 @@ public class IterativeDFS {
         if(depthLimit == 0) { return -1; }
         // Append the current node to the accumulated path.
         path.offerLast(start);
+        counter.generated++;
+        counter.frontierSize(path.size());
         // Success base case.
         if(goalTest.test(start)) { return +1; }
         // This node has been discovered.
         discovered.add(start); 
+        counter.expanded++;
+        if(!everExpanded.add(start)) { counter.reopened++; }
         // Loop through the neighbours of the current node.
         for(E neighbour: edges.apply(start)) {
             // If this neighbour has already been discovered in search, skip it.
             if(discovered.contains(neighbour)) { continue; }
             // Perform a recursive DFS starting from that neighbour node.
-            int result = search(edges, neighbour, goalTest, depthLimit - 1, path, discovered);
+            int result = search(edges, neighbour, goalTest, depthLimit - 1, path, discovered, counter, everExpanded);
             // Either return success or note if the search failed because of limit cutoff.
             if(result > 0) { return result; }
             if(result == -1) { cutoffOccurred = true; }
@@ -76,4 +106,152 @@ public class IterativeDFS {
         return cutoffOccurred? -1: 0;
     }
     
+    // The transposition table entry of a node in IDA*: the cheapest cost from start that the
+    // node has been reached with, and the last round in which it was expanded with that cost.
+    private static class TableEntry {
+        private double g;
+        private int round = -1;
+        public TableEntry(double g) { this.g = g; }
+    }
+
+    /**
+     * Perform iterative deepening A* search (IDA*) in a graph to find the cheapest path from
+     * the start node to some goal node. Each round is a depth first search that cuts off the
+     * paths whose estimated total cost f = g + h exceeds the current bound, the next bound
+     * being the smallest f that was cut off. With an admissible heuristic, the first path
+     * found is the cheapest one, and the search needs memory only proportional to its length.
+     * @param edges Function giving the list of neighbours of each node in the graph.
+     * @param cost Function giving the cost of moving along an edge from one node to another.
+     * @param start The node in which to start searching.
+     * @param goalTest Predicate to determine whether the current node is a goal node.
+     * @param h The admissible heuristic function for the remaining cost to the goal.
+     * @return The list of nodes on the cheapest path from start node to a goal node.
+     */
+    public static <E> List<E> idaStar(
+        Function<E,List<E>> edges,
+        BiFunction<E,E,Double> cost,
+        E start,
+        Predicate<E> goalTest,
+        Function<E,Double> h
+    )
+    {
+        return idaStarWithStats(edges, cost, start, goalTest, h, 0).getPath();
+    }
+
+    /**
+     * As {@code idaStar}, but returns the path together with the statistics of this search,
+     * and can use a bounded transposition table. The table remembers for each node the
+     * cheapest cost from start that it has been reached with, and the last round in which it
+     * was expanded with that cost. Reaching the node again with a higher cost, or with the
+     * same cost in the same round, leaves less of the cost budget for the rest of the path,
+     * so that visit can be cut off at once. Such visits do not raise the bound of the next
+     * round either, which also makes the search terminate when no goal can be reached. Once
+     * the table is full, the least recently used node is forgotten. The reopening count
+     * tells how many expansions were made in the rounds after the first, and the peak
+     * frontier size is the length of the longest path that the search was holding.
+     * @param edges Function giving the list of neighbours of each node in the graph.
+     * @param cost Function giving the cost of moving along an edge from one node to another.
+     * @param start The node in which to start searching.
+     * @param goalTest Predicate to determine whether the current node is a goal node.
+     * @param h The admissible heuristic function for the remaining cost to the goal.
+     * @param tableSize The maximum number of nodes in the transposition table, or zero to
+     * search without one.
+     * @return The search result with the path from start node to a goal node.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> SearchResult<E> idaStarWithStats(
+        Function<E,List<E>> edges,
+        BiFunction<E,E,Double> cost,
+        E start,
+        Predicate<E> goalTest,
+        Function<E,Double> h,
+        int tableSize
+    )
+    {
+        SearchStats.Counter counter = new SearchStats.Counter();
+        // The current path as a stack of arrays. For each node on the path, the search
+        // remembers its cost from start, its neighbours and the next neighbour to try.
+        E[] path = (E[])new Object[16];
+        double[] g = new double[16];
+        List<List<E>> children = new ArrayList<>(Collections.nCopies(16, (List<E>)null));
+        int[] nextChild = new int[16];
+        // The nodes on the current path, to avoid going around in cycles.
+        Set<E> onPath = new HashSet<E>();
+        Map<E, TableEntry> table = tableSize <= 0 ? null : new LinkedHashMap<E, TableEntry>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<E, TableEntry> eldest) {
+                return size() > tableSize;
+            }
+        };
+        double bound = h.apply(start);
+        for(int round = 0; ; round++) {
+            double nextBound = Double.POSITIVE_INFINITY;
+            int top = 0;
+            path[0] = start; g[0] = 0; children.set(0, null);
+            onPath.add(start);
+            counter.generated++;
+            counter.frontierSize(1);
+            while(top >= 0) {
+                E curr = path[top];
+                if(children.get(top) == null) {
+                    // The first visit to this node, so check whether it can be expanded.
+                    TableEntry entry = null;
+                    boolean cutoff = false;
+                    if(table != null) {
+                        entry = table.get(curr);
+                        if(entry == null) { table.put(curr, entry = new TableEntry(g[top])); }
+                        else if(g[top] > entry.g || g[top] == entry.g && entry.round == round) {
+                            cutoff = true; // Some other visit has at least the same budget.
+                        }
+                        else { entry.g = g[top]; }
+                    }
+                    if(!cutoff) {
+                        double f = g[top] + h.apply(curr);
+                        cutoff = f > bound;
+                        if(cutoff) { nextBound = Math.min(nextBound, f); }
+                        else if(goalTest.test(curr)) {
+                            List<E> result = new ArrayList<E>(top + 1);
+                            for(int i = 0; i <= top; i++) { result.add(path[i]); }
+                            return new SearchResult<E>(result, counter.toStats());
+                        }
+                    }
+                    if(cutoff) {
+                        onPath.remove(curr);
+                        path[top--] = null;
+                        continue;
+                    }
+                    if(entry != null) { entry.round = round; }
+                    counter.expanded++;
+                    if(round > 0) { counter.reopened++; }
+                    children.set(top, edges.apply(curr));
+                    nextChild[top] = 0;
+                }
+                if(nextChild[top] < children.get(top).size()) {
+                    E next = children.get(top).get(nextChild[top]++);
+                    if(onPath.contains(next)) { continue; }
+                    if(++top == path.length) {
+                        int size = 2 * path.length;
+                        path = Arrays.copyOf(path, size);
+                        g = Arrays.copyOf(g, size);
+                        children.addAll(Collections.nCopies(size - children.size(), (List<E>)null));
+                        nextChild = Arrays.copyOf(nextChild, size);
+                    }
+                    path[top] = next;
+                    g[top] = g[top - 1] + cost.apply(curr, next);
+                    children.set(top, null);
+                    onPath.add(next);
+                    counter.generated++;
+                    counter.frontierSize(top + 1);
+                }
+                else {
+                    // All neighbours tried, so backtrack from this node.
+                    onPath.remove(curr);
+                    children.set(top, null);
+                    path[top--] = null;
+                }
+            }
+            // Nothing was cut off, so the whole reachable graph was searched in vain.
+            if(nextBound == Double.POSITIVE_INFINITY) { return new SearchResult<E>(null, counter.toStats()); }
+            bound = nextBound;
+        }
+    }
 }
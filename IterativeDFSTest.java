@@ -0,0 +1,65 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of IDA* with and without the transposition table against A* on small
+// grid graphs, including paths long enough to grow the arrays of the path stack.
+
+public class IterativeDFSTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The total cost of the path, or infinity if there is no path.
+    private static double pathCost(List<Integer> path, BiFunction<Integer, Integer, Double> cost) {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) { total += cost.apply(path.get(i - 1), path.get(i)); }
+        return total;
+    }
+
+    public static void test(int seed, int width, int height, int blockedPercent, int queries) {
+        Random rng = new Random(seed);
+        int n = width * height;
+        boolean[] blocked = new boolean[n];
+        for(int v = 0; v < n; v++) { blocked[v] = rng.nextInt(100) < blockedPercent; }
+        int[] weight = new int[n];
+        for(int v = 0; v < n; v++) { weight[v] = 1 + rng.nextInt(3); }
+        Function<Integer, List<Integer>> edges = v -> {
+            List<Integer> result = new ArrayList<>();
+            int r = v / width, c = v % width;
+            if(r > 0 && !blocked[v - width]) { result.add(v - width); }
+            if(r < height - 1 && !blocked[v + width]) { result.add(v + width); }
+            if(c > 0 && !blocked[v - 1]) { result.add(v - 1); }
+            if(c < width - 1 && !blocked[v + 1]) { result.add(v + 1); }
+            return result;
+        };
+        BiFunction<Integer, Integer, Double> cost = (v, w) -> (double)weight[w];
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = rng.nextInt(n);
+            if(blocked[start] || blocked[goal]) { continue; }
+            Function<Integer, Double> h = v -> (double)(Math.abs(v / width - goal / width) + Math.abs(v % width - goal % width));
+            double expected = pathCost(AStar.search(edges, cost, start, v -> v == goal, h).getPath(), cost);
+            // Without the table, IDA* terminates only when the goal can be reached.
+            if(expected < Double.POSITIVE_INFINITY) {
+                double actual = pathCost(IterativeDFS.idaStarWithStats(edges, cost, start, v -> v == goal, h, 0).getPath(), cost);
+                check(actual == expected, "IDA* cost " + actual + " from " + start + " to " + goal + ", expected " + expected);
+            }
+            for(int tableSize: new int[] { 10, 100000 }) {
+                double actual = pathCost(IterativeDFS.idaStarWithStats(edges, cost, start, v -> v == goal, h, tableSize).getPath(), cost);
+                check(actual == expected, "IDA* with table of " + tableSize + " cost " + actual + " from " + start
+                    + " to " + goal + ", expected " + expected);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        test(seed++, 6, 6, 20, 200);
+        test(seed++, 8, 5, 30, 200);
+        // A long corridor makes the path longer than the initial stack of 16 nodes.
+        test(seed++, 40, 1, 0, 50);
+        test(seed++, 30, 2, 10, 50);
+        System.out.println("All IterativeDFS tests passed.");
+    }
+}
@@ -0,0 +1,194 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Lifelong Planning A* (LPA*) by Koenig and Likhachev, for repeatedly finding the shortest
+ * path between the same start and goal vertices in a graph whose edges change between the
+ * searches. Each vertex keeps its distance estimate g from the previous searches, and its
+ * one-step lookahead value rhs that is computed from the g values of its predecessors.
+ * The vertices where these two disagree are inconsistent, and only they are put into the
+ * priority queue. After the user reports which edges have changed, the next search thus
+ * only repairs the region of the graph whose distances were affected by those changes,
+ * instead of searching again from scratch. The first search does the same work as A*.
+ * @param <V> The type of the vertices of the graph.
+ */
+public class LPAStar<V> {
+
+    // An inconsistent vertex in the priority queue with its key at the time it was added.
+    private static class QueueEntry<V> {
+        public final V vertex;
+        public final double k1, k2;
+        public final long id; // Breaks ties between entries with equal keys.
+        public QueueEntry(V vertex, double k1, double k2, long id) {
+            this.vertex = vertex; this.k1 = k1; this.k2 = k2; this.id = id;
+        }
+    }
+
+    private final Function<V, List<V>> edges;
+    private final Function<V, List<V>> reverseEdges;
+    private final BiFunction<V, V, Double> cost;
+    private final Function<V, Double> h;
+    private final V start, goal;
+    private final Map<V, Double> g = new HashMap<>();
+    private final Map<V, Double> rhs = new HashMap<>();
+    // The inconsistent vertices ordered by their keys, and the queue entry of each one.
+    private final TreeSet<QueueEntry<V>> queue = new TreeSet<>((e1, e2) -> {
+        if(e1.k1 != e2.k1) { return Double.compare(e1.k1, e2.k1); }
+        if(e1.k2 != e2.k2) { return Double.compare(e1.k2, e2.k2); }
+        return Long.compare(e1.id, e2.id);
+    });
+    private final Map<V, QueueEntry<V>> inQueue = new HashMap<>();
+    private long nextId = 0;
+    // The counters of the search currently in progress.
+    private SearchStats.Counter counter;
+
+    /**
+     * Constructor for the planner between the given start and goal vertices. The edge and
+     * cost functions must always reflect the current state of the graph, and they may
+     * return {@code null} for a vertex that no longer exists.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param reverseEdges Function giving the list of vertices that have an edge into the
+     * given vertex. In an undirected graph, this is the same function as {@code edges}.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goal The goal vertex of the search.
+     * @param h The heuristic lower bound for the cost from given vertex to the goal. To
+     * guarantee finding the shortest path, this function must be admissible and monotonic.
+     */
+    public LPAStar(
+        Function<V, List<V>> edges,
+        Function<V, List<V>> reverseEdges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        V goal,
+        Function<V, Double> h
+    )
+    {
+        this.edges = edges;
+        this.reverseEdges = reverseEdges;
+        this.cost = cost;
+        this.h = h == null ? v -> 0.0 : h;
+        this.start = start;
+        this.goal = goal;
+        rhs.put(start, 0.0);
+        enqueue(start);
+    }
+
+    private double g(V v) { return g.getOrDefault(v, Double.POSITIVE_INFINITY); }
+
+    private double rhs(V v) { return rhs.getOrDefault(v, Double.POSITIVE_INFINITY); }
+
+    // The neighbours given by the edge function, treating null as no neighbours.
+    private static <V> List<V> neighbours(Function<V, List<V>> edges, V v) {
+        List<V> result = edges.apply(v);
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    // Add the vertex to the queue with its current key.
+    private void enqueue(V v) {
+        double k2 = Math.min(g(v), rhs(v));
+        QueueEntry<V> entry = new QueueEntry<>(v, k2 + h.apply(v), k2, nextId++);
+        queue.add(entry);
+        inQueue.put(v, entry);
+        if(counter != null) {
+            counter.generated++;
+            counter.frontierSize(queue.size());
+        }
+    }
+
+    // Compare the key of the entry to the current key of the goal.
+    private boolean isBeforeGoal(QueueEntry<V> entry) {
+        double k2 = Math.min(g(goal), rhs(goal));
+        double k1 = k2 + h.apply(goal);
+        return entry.k1 < k1 || (entry.k1 == k1 && entry.k2 < k2);
+    }
+
+    // Recompute the rhs value of the vertex from its predecessors, and update its place in
+    // the queue according to whether it is now consistent.
+    private void updateVertex(V v) {
+        if(!v.equals(start)) {
+            double best = Double.POSITIVE_INFINITY;
+            for(V p: neighbours(reverseEdges, v)) {
+                double gp = g(p);
+                if(gp < Double.POSITIVE_INFINITY) { best = Math.min(best, gp + cost.apply(p, v)); }
+            }
+            if(best < Double.POSITIVE_INFINITY) { rhs.put(v, best); } else { rhs.remove(v); }
+        }
+        QueueEntry<V> entry = inQueue.remove(v);
+        if(entry != null) { queue.remove(entry); }
+        if(g(v) != rhs(v)) { enqueue(v); }
+    }
+
+    /**
+     * Tell the planner that the edge from one vertex to another has been added, removed,
+     * or changed its cost. To add or remove a vertex, report all of its edges this way.
+     * @param from The vertex that the edge leads from.
+     * @param to The vertex that the edge leads to.
+     */
+    public void edgeChanged(V from, V to) {
+        updateVertex(to);
+    }
+
+    /**
+     * Find the shortest path from the start to the goal in the current graph, repairing
+     * the results of the previous searches after the edge changes reported since.
+     * @return The search result with the shortest path from start to goal.
+     */
+    public SearchResult<V> search() {
+        counter = new SearchStats.Counter();
+        while(!queue.isEmpty() && (isBeforeGoal(queue.first()) || rhs(goal) != g(goal))) {
+            QueueEntry<V> entry = queue.pollFirst();
+            V u = entry.vertex;
+            inQueue.remove(u);
+            counter.expanded++;
+            double gu = g(u);
+            double rhsu = rhs(u);
+            if(gu > rhsu) {
+                // Overconsistent, so the distance to u has decreased. The successors of u
+                // can only get better through u, so their rhs values need no full recompute.
+                g.put(u, rhsu);
+                for(V s: neighbours(edges, u)) {
+                    if(s.equals(start)) { continue; }
+                    double through = rhsu + cost.apply(u, s);
+                    if(through < rhs(s)) {
+                        rhs.put(s, through);
+                        QueueEntry<V> old = inQueue.remove(s);
+                        if(old != null) { queue.remove(old); }
+                        if(g(s) != through) { enqueue(s); }
+                    }
+                }
+            }
+            else {
+                // Underconsistent, so the distance to u has increased. The vertices whose
+                // rhs value may have come through u must be recomputed.
+                counter.reopened++;
+                g.remove(u);
+                updateVertex(u);
+                for(V s: neighbours(edges, u)) {
+                    if(rhs(s) == gu + cost.apply(u, s)) { updateVertex(s); }
+                }
+            }
+        }
+        List<V> path = null;
+        if(g(goal) < Double.POSITIVE_INFINITY) {
+            // Follow the predecessors that give each vertex its g value back to the start.
+            LinkedList<V> result = new LinkedList<>();
+            V v = goal;
+            result.addFirst(v);
+            while(!v.equals(start)) {
+                V best = null;
+                double bestG = Double.POSITIVE_INFINITY;
+                for(V p: neighbours(reverseEdges, v)) {
+                    double through = g(p) + cost.apply(p, v);
+                    if(through < bestG) { best = p; bestG = through; }
+                }
+                v = best;
+                result.addFirst(v);
+            }
+            path = result;
+        }
+        SearchResult<V> result = new SearchResult<V>(path, counter.toStats());
+        counter = null;
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of LPA* against A* from scratch on grids whose cells are blocked,
+// unblocked and reweighted between the searches.
+
+public class LPAStarTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Check that the path leads from start to goal along the edges of the graph, and return
+    // its total cost, or infinity if there is no path.
+    private static double pathCost(
+        List<Integer> path,
+        Function<Integer, List<Integer>> edges,
+        BiFunction<Integer, Integer, Double> cost,
+        int start,
+        int goal
+    )
+    {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        check(path.get(0) == start && path.get(path.size() - 1) == goal, "path " + path + " has wrong endpoints");
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) {
+            check(edges.apply(path.get(i - 1)).contains(path.get(i)), "path " + path + " uses a missing edge");
+            total += cost.apply(path.get(i - 1), path.get(i));
+        }
+        return total;
+    }
+
+    public static void test(
+        int seed,
+        int width,
+        int height,
+        int rounds,
+        int changesPerRound,
+        boolean useHeuristic
+    )
+    {
+        Random rng = new Random(seed);
+        int n = width * height;
+        boolean[] blocked = new boolean[n];
+        int[] weight = new int[n];
+        for(int v = 0; v < n; v++) {
+            blocked[v] = rng.nextInt(5) == 0;
+            weight[v] = 1 + rng.nextInt(5);
+        }
+        int start = rng.nextInt(n), goal = rng.nextInt(n);
+        blocked[start] = blocked[goal] = false;
+        // The neighbours of each cell, whether blocked or not.
+        Function<Integer, List<Integer>> cells = v -> {
+            List<Integer> result = new ArrayList<>();
+            int r = v / width, c = v % width;
+            if(r > 0) { result.add(v - width); }
+            if(r < height - 1) { result.add(v + width); }
+            if(c > 0) { result.add(v - 1); }
+            if(c < width - 1) { result.add(v + 1); }
+            return result;
+        };
+        // Moving into a cell costs its weight. The open neighbours of an open cell are both
+        // its successors and its predecessors.
+        Function<Integer, List<Integer>> edges = v -> {
+            List<Integer> result = new ArrayList<>();
+            if(blocked[v]) { return result; }
+            for(int w: cells.apply(v)) { if(!blocked[w]) { result.add(w); } }
+            return result;
+        };
+        BiFunction<Integer, Integer, Double> cost = (v, w) -> (double)weight[w];
+        Function<Integer, Double> h = useHeuristic ?
+            v -> (double)(Math.abs(v / width - goal / width) + Math.abs(v % width - goal % width)) : null;
+        LPAStar<Integer> lpa = new LPAStar<>(edges, edges, cost, start, goal, h);
+        for(int round = 0; round < rounds; round++) {
+            double expected = pathCost(AStar.search(edges, cost, start, v -> v == goal, h == null ? v -> 0.0 : h)
+                .getPath(), edges, cost, start, goal);
+            double actual = pathCost(lpa.search().getPath(), edges, cost, start, goal);
+            check(actual == expected, "LPA* cost " + actual + " in round " + round + ", expected " + expected);
+            for(int i = 0; i < changesPerRound; i++) {
+                int v = rng.nextInt(n);
+                if(v == start || v == goal) { continue; }
+                if(rng.nextBoolean()) { blocked[v] = !blocked[v]; }
+                else { weight[v] = 1 + rng.nextInt(5); }
+                for(int w: cells.apply(v)) {
+                    lpa.edgeChanged(v, w);
+                    lpa.edgeChanged(w, v);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 20; i++) {
+            test(seed++, 10, 10, 30, 1, true);
+            test(seed++, 20, 15, 20, 5, true);
+            test(seed++, 15, 15, 20, 3, false);
+        }
+        System.out.println("All LPAStar tests passed.");
+    }
+}
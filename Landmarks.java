@@ -0,0 +1,154 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Landmark heuristics for A* in the style of the ALT algorithm (A*, landmarks and triangle
+ * inequality). In the preprocessing stage, a handful of landmark vertices are chosen far
+ * from each other, and the exact shortest path distances from each landmark to every vertex
+ * and from every vertex to each landmark are computed with Dijkstra's algorithm. For any
+ * landmark L, the triangle inequality then guarantees that both d(L, goal) - d(L, v) and
+ * d(v, L) - d(goal, L) are lower bounds of the true distance d(v, goal). The maximum of
+ * these bounds over all landmarks is an admissible and consistent heuristic that is often
+ * much tighter than the heuristics computed from the vertices alone.
+ * @param <V> The type of the vertices of the graph.
+ */
+public class Landmarks<V> {
+
+    // The vertices of the graph, each represented by its position in this list.
+    private final List<V> vertices;
+    private final Map<V, Integer> index = new HashMap<>();
+    // The positions of the chosen landmark vertices.
+    private final int[] landmarks;
+    // The distances from each landmark to each vertex, and from each vertex to each landmark.
+    // The vertices that cannot be reached have the distance positive infinity.
+    private final double[][] from;
+    private final double[][] to;
+
+    /**
+     * Constructor to choose the landmarks and compute their distance tables.
+     * @param vertices The list of vertices of the graph.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another,
+     * or {@code null} if every edge has unit cost.
+     * @param k The number of landmarks to choose.
+     */
+    public Landmarks(List<V> vertices, Function<V, List<V>> edges, BiFunction<V, V, Double> cost, int k) {
+        this.vertices = vertices;
+        int n = vertices.size();
+        for(int i = 0; i < n; i++) { index.put(vertices.get(i), i); }
+        IntGraph graph = IntGraph.fromEdges(vertices, edges);
+        // Build the reverse graph for the distances into the landmarks.
+        int[] inDegree = new int[n];
+        for(int e = 0; e < graph.edgeCount(); e++) { inDegree[graph.target(e)]++; }
+        int[][] reverse = new int[n][];
+        for(int v = 0; v < n; v++) { reverse[v] = new int[inDegree[v]]; }
+        for(int u = 0; u < n; u++) {
+            for(int e = graph.firstEdge(u); e < graph.firstEdge(u + 1); e++) {
+                int v = graph.target(e);
+                reverse[v][--inDegree[v]] = u;
+            }
+        }
+        IntGraph reverseGraph = new IntGraph(reverse);
+        IntAStar.IntCost forwardCost = cost == null ? (u, v) -> 1.0 :
+            (u, v) -> cost.apply(vertices.get(u), vertices.get(v));
+        IntAStar.IntCost backwardCost = cost == null ? (u, v) -> 1.0 :
+            (u, v) -> cost.apply(vertices.get(v), vertices.get(u));
+
+        k = Math.min(k, n);
+        landmarks = new int[k];
+        from = new double[k][];
+        to = new double[k][];
+        if(k == 0) { return; }
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        // Start the farthest-first selection from the vertex of highest degree, which is
+        // most likely to lie in the largest connected component of the graph.
+        int seed = 0;
+        for(int v = 1; v < n; v++) { if(graph.degree(v) > graph.degree(seed)) { seed = v; } }
+        double[] minDist = dijkstra(graph, forwardCost, seed, heap);
+        for(int i = 0; i < k; i++) {
+            // Choose the reachable vertex farthest from all the landmarks chosen so far.
+            int best = seed;
+            for(int v = 0; v < n; v++) {
+                if(minDist[v] < Double.POSITIVE_INFINITY && minDist[v] > minDist[best]) { best = v; }
+            }
+            landmarks[i] = best;
+            from[i] = dijkstra(graph, forwardCost, best, heap);
+            to[i] = dijkstra(reverseGraph, backwardCost, best, heap);
+            if(i == 0) { minDist = from[0].clone(); }
+            else {
+                for(int v = 0; v < n; v++) { minDist[v] = Math.min(minDist[v], from[i][v]); }
+            }
+        }
+    }
+
+    // Compute the shortest path distances from the source vertex to all vertices.
+    private static double[] dijkstra(IntGraph graph, IntAStar.IntCost cost, int source, IndexedMinHeap heap) {
+        double[] dist = new double[graph.vertexCount()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        heap.clear();
+        heap.insertOrDecrease(source, 0);
+        while(!heap.isEmpty()) {
+            int u = heap.extractMin();
+            for(int e = graph.firstEdge(u), end = graph.firstEdge(u + 1); e < end; e++) {
+                int v = graph.target(e);
+                double d = dist[u] + cost.apply(u, v);
+                if(d < dist[v]) { dist[v] = d; heap.insertOrDecrease(v, d); }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Returns the list of the chosen landmark vertices.
+     * @return The landmark vertices.
+     */
+    public List<V> getLandmarks() {
+        List<V> result = new ArrayList<>();
+        for(int l: landmarks) { result.add(vertices.get(l)); }
+        return result;
+    }
+
+    /**
+     * Compute the landmark lower bound for the distance between the two vertices given as
+     * their positions in the list of vertices.
+     * @param v The position of the vertex to measure from.
+     * @param goal The position of the vertex to measure to.
+     * @return The lower bound for the distance from {@code v} to {@code goal}.
+     */
+    public double lowerBound(int v, int goal) {
+        double best = 0;
+        for(int i = 0; i < landmarks.length; i++) {
+            double[] f = from[i], t = to[i];
+            // Bounds whose terms are infinite tell nothing about the distance, so skip them.
+            if(f[goal] < Double.POSITIVE_INFINITY && f[v] < Double.POSITIVE_INFINITY) {
+                best = Math.max(best, f[goal] - f[v]);
+            }
+            if(t[v] < Double.POSITIVE_INFINITY && t[goal] < Double.POSITIVE_INFINITY) {
+                best = Math.max(best, t[v] - t[goal]);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the landmark heuristic towards the given goal vertex, to be used as the
+     * heuristic function of {@code AStar.shortestPath}.
+     * @param goal The goal vertex of the search.
+     * @return The admissible heuristic function towards that goal.
+     */
+    public Function<V, Double> heuristic(V goal) {
+        int g = index.get(goal);
+        return v -> lowerBound(index.get(v), g);
+    }
+
+    /**
+     * Returns the landmark heuristic towards the given goal vertex, for the searches that
+     * represent each vertex by its position in the list of vertices.
+     * @param goal The position of the goal vertex of the search.
+     * @return The admissible heuristic function towards that goal.
+     */
+    public IntToDoubleFunction intHeuristic(int goal) {
+        return v -> lowerBound(v, goal);
+    }
+}
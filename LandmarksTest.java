@@ -0,0 +1,95 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of the ALT landmark heuristic on random weighted directed graphs that
+// are not strongly connected: admissibility and consistency against the exact distances
+// from Dijkstra's algorithm, and the optimality of A* with this heuristic.
+
+public class LandmarksTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The total cost of the path, or infinity if there is no path.
+    private static double pathCost(List<Integer> path, BiFunction<Integer, Integer, Double> cost) {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) { total += cost.apply(path.get(i - 1), path.get(i)); }
+        return total;
+    }
+
+    // Textbook Dijkstra with a linear scan for the closest vertex, giving the distance from
+    // every vertex to the goal by searching the reversed edges from the goal.
+    private static double[] distancesTo(List<List<Integer>> in, BiFunction<Integer, Integer, Double> cost, int goal) {
+        int n = in.size();
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        boolean[] done = new boolean[n];
+        dist[goal] = 0;
+        while(true) {
+            int v = -1;
+            for(int u = 0; u < n; u++) {
+                if(!done[u] && dist[u] < Double.POSITIVE_INFINITY && (v == -1 || dist[u] < dist[v])) { v = u; }
+            }
+            if(v == -1) { return dist; }
+            done[v] = true;
+            for(int u: in.get(v)) { dist[u] = Math.min(dist[u], dist[v] + cost.apply(u, v)); }
+        }
+    }
+
+    public static void test(int seed, int n, int maxDegree, int k, int goals, boolean unitCost) {
+        Random rng = new Random(seed);
+        List<List<Integer>> out = new ArrayList<>(), in = new ArrayList<>();
+        for(int v = 0; v < n; v++) { out.add(new ArrayList<>()); in.add(new ArrayList<>()); }
+        for(int v = 0; v < n; v++) {
+            // Some vertices are dead ends, and the edges mostly lead upwards, so that many
+            // vertices cannot reach the landmarks or be reached from them.
+            int degree = rng.nextInt(5) == 0 ? 0 : rng.nextInt(maxDegree + 1);
+            for(int i = 0; i < degree; i++) {
+                int w = rng.nextInt(4) == 0 ? rng.nextInt(n) : Math.min(n - 1, v + 1 + rng.nextInt(10));
+                if(w != v && !out.get(v).contains(w)) { out.get(v).add(w); in.get(w).add(v); }
+            }
+        }
+        int[][] weight = new int[n][n];
+        for(int[] row: weight) { for(int j = 0; j < n; j++) { row[j] = 1 + rng.nextInt(20); } }
+        BiFunction<Integer, Integer, Double> cost = unitCost ? (v, w) -> 1.0 : (v, w) -> (double)weight[v][w];
+        List<Integer> vertices = new ArrayList<>();
+        for(int v = 0; v < n; v++) { vertices.add(v); }
+        Function<Integer, List<Integer>> edges = out::get;
+        Landmarks<Integer> landmarks = new Landmarks<>(vertices, edges, unitCost ? null : cost, k);
+        check(landmarks.getLandmarks().size() == Math.min(k, n), "chose " + landmarks.getLandmarks().size()
+            + " landmarks, expected " + Math.min(k, n));
+        for(int q = 0; q < goals; q++) {
+            int goal = rng.nextInt(n);
+            double[] dist = distancesTo(in, cost, goal);
+            Function<Integer, Double> h = landmarks.heuristic(goal);
+            for(int v = 0; v < n; v++) {
+                double hv = h.apply(v);
+                check(hv >= 0 && hv <= dist[v], "h(" + v + ") = " + hv + " over the distance " + dist[v] + " to " + goal);
+                check(landmarks.intHeuristic(goal).applyAsDouble(v) == hv, "int heuristic differs at " + v);
+                // Consistency matters only on the edges from which the goal can still be reached.
+                for(int w: out.get(v)) {
+                    if(dist[w] == Double.POSITIVE_INFINITY) { continue; }
+                    check(hv <= cost.apply(v, w) + h.apply(w), "h is not consistent on the edge " + v + " -> " + w);
+                }
+            }
+            check(h.apply(goal) == 0, "h of the goal was " + h.apply(goal));
+            int start = rng.nextInt(n);
+            double actual = pathCost(AStar.search(edges, cost, start, v -> v == goal, h).getPath(), cost);
+            check(actual == dist[start], "A* cost " + actual + " from " + start + " to " + goal + ", expected "
+                + dist[start]);
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int k: new int[] { 1, 2, 4, 8 }) {
+            test(seed++, 30, 2, k, 30, false);
+            test(seed++, 200, 3, k, 30, false);
+            test(seed++, 200, 3, k, 30, true);
+        }
+        test(seed++, 5, 2, 10, 5, false);
+        System.out.println("All Landmarks tests passed.");
+    }
+}
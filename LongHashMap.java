@@ -0,0 +1,144 @@
+import java.util.*;
+
+/**
+ * A hash map from primitive long keys to primitive long values, with open addressing and
+ * linear probing in two parallel arrays, so that each entry costs only sixteen bytes times
+ * the inverse of the load factor, and no objects are created for the entries. Since the
+ * empty slots are marked with one special key value, the entry with that key is kept
+ * separately outside the arrays. Entries cannot be removed, only all of them at once.
+ */
+public class LongHashMap {
+
+    // The key value that marks an empty slot in the keys array.
+    private static final long FREE = Long.MIN_VALUE;
+    // The map is grown when it is filled up to this fraction.
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private long[] values;
+    private int size = 0;
+    private int mask;
+    // The value of the key FREE, which cannot be stored in the arrays.
+    private boolean hasFreeKey = false;
+    private long freeValue;
+
+    /**
+     * Constructor for an empty map.
+     */
+    public LongHashMap() { this(16); }
+
+    /**
+     * Constructor for an empty map with room for the given number of entries.
+     * @param expected The number of entries that the map can hold without growing.
+     */
+    public LongHashMap(int expected) {
+        int capacity = 16;
+        while(capacity * MAX_LOAD < expected) { capacity *= 2; }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    // Mix the bits of the key so that keys differing only in their high bits, typical for
+    // packed puzzle states, still spread evenly over the table.
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    // The slot that contains the key, or the empty slot where it would be placed.
+    private int slot(long key) {
+        int i = (int)mix(key) & mask;
+        while(keys[i] != FREE && keys[i] != key) { i = (i + 1) & mask; }
+        return i;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     * @return The size of the map.
+     */
+    public int size() { return size; }
+
+    /**
+     * Checks whether this map contains the given key.
+     * @param key The key to look for.
+     * @return Whether the key is in the map.
+     */
+    public boolean containsKey(long key) {
+        if(key == FREE) { return hasFreeKey; }
+        return keys[slot(key)] == key;
+    }
+
+    /**
+     * Returns the value of the given key, or the given default if the key is not in the map.
+     * @param key The key to look for.
+     * @param defaultValue The value to return if the key is not in the map.
+     * @return The value of the key.
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if(key == FREE) { return hasFreeKey ? freeValue : defaultValue; }
+        int i = slot(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Set the value of the given key, adding the key to the map if it is not there already.
+     * @param key The key to set.
+     * @param value The new value of the key.
+     */
+    public void put(long key, long value) {
+        if(key == FREE) {
+            if(!hasFreeKey) { hasFreeKey = true; size++; }
+            freeValue = value;
+            return;
+        }
+        int i = slot(key);
+        if(keys[i] != key) {
+            if(size + 1 > (keys.length * MAX_LOAD)) { grow(); i = slot(key); }
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+    }
+
+    /**
+     * Add the given key with the given value, unless the key is already in the map.
+     * @param key The key to add.
+     * @param value The value of the key.
+     * @return Whether the key was added.
+     */
+    public boolean putIfAbsent(long key, long value) {
+        if(containsKey(key)) { return false; }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * Remove all entries from this map, keeping its current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        hasFreeKey = false;
+    }
+
+    // Double the capacity of the arrays, placing each entry into its new slot.
+    private void grow() {
+        long[] oldKeys = keys, oldValues = values;
+        allocate(2 * oldKeys.length);
+        for(int j = 0; j < oldKeys.length; j++) {
+            if(oldKeys[j] != FREE) {
+                int i = slot(oldKeys[j]);
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
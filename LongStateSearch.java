@@ -0,0 +1,173 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Breadth first search and A* for the state spaces whose states can be packed into a single
+ * primitive long, such as the sliding tile puzzles. The successors of each state are written
+ * into a reusable array, and the discovered states and their predecessors are kept in an
+ * open addressing {@code LongHashMap}, so that no objects are created for the states and
+ * the memory needed is a small constant number of bytes per state. The same search object
+ * can be used for several searches, reusing the memory of the previous ones.
+ */
+public class LongStateSearch {
+
+    /**
+     * The function that generates the successor states of the given state.
+     */
+    public interface Successors {
+        /**
+         * Write the successors of the state into the buffer.
+         * @param state The state whose successors are generated.
+         * @param buffer The array to write the successors into.
+         * @return The number of successors written into the buffer.
+         */
+        int generate(long state, long[] buffer);
+    }
+
+    private final Successors successors;
+    private final long[] buffer;
+    // The predecessor of each state, the start state being its own predecessor.
+    private final LongHashMap parent = new LongHashMap();
+    private SearchStats stats;
+
+    /**
+     * Constructor for the search.
+     * @param successors The function that generates the successors of each state.
+     * @param maxBranching The maximum number of successors that any state can have.
+     */
+    public LongStateSearch(Successors successors, int maxBranching) {
+        this.successors = successors;
+        this.buffer = new long[maxBranching];
+    }
+
+    /**
+     * Returns the statistics of the most recent search.
+     * @return The search statistics.
+     */
+    public SearchStats getStats() { return stats; }
+
+    /**
+     * Returns the number of states discovered in the most recent search.
+     * @return The number of states discovered.
+     */
+    public int getVisitedCount() { return parent.size(); }
+
+    /**
+     * Find the shortest path from the start state to some goal state using breadth first
+     * search. If no goal state is reachable, the search visits every reachable state.
+     * @param start The state to start the search from.
+     * @param goalTest Predicate to check whether given state is a goal.
+     * @return The states on the shortest path from start to goal, or {@code null} if no
+     * goal state can be reached.
+     */
+    public long[] breadthFirst(long start, LongPredicate goalTest) {
+        SearchStats.Counter counter = new SearchStats.Counter();
+        parent.clear();
+        parent.put(start, start);
+        counter.generated++;
+        long[] result = null;
+        if(goalTest.test(start)) { result = new long[] { start }; }
+        // The queue of states to expand, as a circular buffer that grows when full.
+        long[] queue = new long[1024];
+        queue[0] = start;
+        int head = 0, count = 1;
+        while(result == null && count > 0) {
+            long state = queue[head];
+            head = (head + 1) & (queue.length - 1);
+            count--;
+            counter.expanded++;
+            int n = successors.generate(state, buffer);
+            for(int i = 0; i < n && result == null; i++) {
+                long next = buffer[i];
+                if(!parent.putIfAbsent(next, state)) { continue; }
+                counter.generated++;
+                if(goalTest.test(next)) { result = pathTo(next); }
+                if(count == queue.length) {
+                    long[] bigger = new long[2 * queue.length];
+                    for(int j = 0; j < count; j++) { bigger[j] = queue[(head + j) & (queue.length - 1)]; }
+                    queue = bigger;
+                    head = 0;
+                }
+                queue[(head + count++) & (queue.length - 1)] = next;
+            }
+            counter.frontierSize(count);
+        }
+        stats = counter.toStats();
+        return result;
+    }
+
+    /**
+     * Find the shortest path from the start state to some goal state using A*, when every
+     * move costs one. The frontier is a bucket queue by f, each bucket being an array of
+     * pairs of a state and its predecessor. A state may be in the frontier several times,
+     * but it is expanded only once, the first time it comes out of the frontier.
+     * @param start The state to start the search from.
+     * @param goalTest Predicate to check whether given state is a goal.
+     * @param h The heuristic lower bound for the number of moves to the goal. To guarantee
+     * finding the shortest path, this function must be both admissible and monotonic.
+     * @return The states on the shortest path from start to goal, or {@code null} if no
+     * goal state can be reached.
+     */
+    public long[] aStar(long start, LongPredicate goalTest, LongToIntFunction h) {
+        SearchStats.Counter counter = new SearchStats.Counter();
+        parent.clear();
+        int f = h.applyAsInt(start);
+        // The frontier bucket of each f value, and the number of longs used in each bucket.
+        long[][] buckets = new long[Math.max(64, 2 * f)][];
+        int[] used = new int[buckets.length];
+        long frontier = 0;
+        push(buckets, used, f, start, start);
+        frontier++;
+        counter.generated++;
+        long[] result = null;
+        while(result == null && frontier > 0) {
+            while(used[f] == 0) { f++; }
+            // Take the most recently added pair from the lowest bucket.
+            long state = buckets[f][used[f] - 2];
+            long prev = buckets[f][used[f] - 1];
+            used[f] -= 2;
+            frontier--;
+            if(!parent.putIfAbsent(state, prev)) { continue; } // Already expanded.
+            if(goalTest.test(state)) { result = pathTo(state); break; }
+            counter.expanded++;
+            int g = f - h.applyAsInt(state);
+            int n = successors.generate(state, buffer);
+            for(int i = 0; i < n; i++) {
+                long next = buffer[i];
+                if(parent.containsKey(next)) { continue; }
+                int nextF = g + 1 + h.applyAsInt(next);
+                if(nextF >= buckets.length) {
+                    buckets = Arrays.copyOf(buckets, 2 * nextF);
+                    used = Arrays.copyOf(used, 2 * nextF);
+                }
+                push(buckets, used, nextF, next, state);
+                f = Math.min(f, nextF); // Possible only with a heuristic that is not monotonic.
+                frontier++;
+                counter.generated++;
+            }
+            counter.frontierSize((int)Math.min(Integer.MAX_VALUE, frontier));
+        }
+        stats = counter.toStats();
+        return result;
+    }
+
+    // Add the pair of a state and its predecessor into the given bucket.
+    private static void push(long[][] buckets, int[] used, int f, long state, long prev) {
+        if(buckets[f] == null) { buckets[f] = new long[64]; }
+        else if(used[f] == buckets[f].length) { buckets[f] = Arrays.copyOf(buckets[f], 2 * used[f]); }
+        buckets[f][used[f]++] = state;
+        buckets[f][used[f]++] = prev;
+    }
+
+    // Follow the predecessors from the given state back to the start state.
+    private long[] pathTo(long state) {
+        int length = 1;
+        for(long s = state; parent.getOrDefault(s, s) != s; s = parent.getOrDefault(s, s)) { length++; }
+        long[] path = new long[length];
+        for(int i = length - 1; i >= 0; i--) {
+            path[i] = state;
+            state = parent.getOrDefault(state, state);
+        }
+        return path;
+    }
+}
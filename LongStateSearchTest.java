@@ -0,0 +1,79 @@
+import java.util.*;
+
+// Tests of LongStateSearch: breadth first search and A* on random 8-puzzle instances
+// against each other and the generic A*, and A* with a heuristic far above the initial
+// number of frontier buckets.
+
+public class LongStateSearchTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Check that each state of the path is a successor of the previous one.
+    private static void checkPath(long[] path, long start, long goal, LongStateSearch.Successors successors) {
+        check(path[0] == start && path[path.length - 1] == goal, "path has wrong endpoints");
+        long[] buffer = new long[4];
+        for(int i = 1; i < path.length; i++) {
+            int n = successors.generate(path[i - 1], buffer);
+            boolean found = false;
+            for(int j = 0; j < n; j++) { found |= buffer[j] == path[i]; }
+            check(found, "path makes an illegal move at step " + i);
+        }
+    }
+
+    public static void testEightPuzzle(int seed, int instances) {
+        Random rng = new Random(seed);
+        SlidingPuzzle eight = new SlidingPuzzle(3, 3);
+        long goal = eight.getGoal();
+        LongStateSearch search = new LongStateSearch(eight::successors, 4);
+        long[] buffer = new long[4];
+        for(int i = 0; i < instances; i++) {
+            long start = eight.randomWalk(goal, rng.nextInt(60), rng);
+            long[] bfsPath = search.breadthFirst(start, s -> s == goal);
+            checkPath(bfsPath, start, goal, eight::successors);
+            long[] aStarPath = search.aStar(start, s -> s == goal, eight::manhattan);
+            checkPath(aStarPath, start, goal, eight::successors);
+            check(aStarPath.length == bfsPath.length, "A* path of " + aStarPath.length + " states, BFS "
+                + bfsPath.length);
+            List<Long> generic = AStar.search(
+                s -> {
+                    int n = eight.successors(s, buffer);
+                    List<Long> successors = new ArrayList<>(n);
+                    for(int j = 0; j < n; j++) { successors.add(buffer[j]); }
+                    return successors;
+                },
+                (s1, s2) -> 1.0, start, s -> s.longValue() == goal, s -> (double)eight.manhattan(s)
+            ).getPath();
+            check(generic.size() == bfsPath.length, "generic A* path of " + generic.size() + " states, BFS "
+                + bfsPath.length);
+        }
+        // The 8-puzzle has 181440 states reachable from the goal.
+        check(search.breadthFirst(goal, s -> false) == null, "BFS found a goal that does not exist");
+        check(search.getVisitedCount() == 181440, "BFS visited " + search.getVisitedCount() + " states");
+    }
+
+    // A chain of states from 0 to the given length, with the exact distance as the heuristic,
+    // so that the start state already has a large f.
+    public static void testLongChain(int length) {
+        LongStateSearch search = new LongStateSearch((s, buffer) -> {
+            int n = 0;
+            if(s > 0) { buffer[n++] = s - 1; }
+            if(s < length) { buffer[n++] = s + 1; }
+            return n;
+        }, 2);
+        long[] path = search.aStar(0, s -> s == length, s -> (int)(length - s));
+        check(path != null && path.length == length + 1, "chain of " + length + " steps");
+        for(int i = 0; i <= length; i++) { check(path[i] == i, "chain path " + Arrays.toString(path)); }
+        // A start heuristic that overestimates puts the successors of the start in lower buckets.
+        path = search.aStar(0, s -> s == length, s -> s == 0 ? 3 * length : (int)(length - s));
+        check(path != null && path.length == length + 1, "chain of " + length + " steps with large start h");
+    }
+
+    public static void main(String[] args) {
+        testEightPuzzle(12345, 200);
+        testLongChain(100);
+        testLongChain(1000);
+        System.out.println("All LongStateSearch tests passed.");
+    }
+}
@@ -0,0 +1,218 @@
+import java.util.*;
+
+/**
+ * Five letter lowercase words packed into a single int, five bits per letter, with the
+ * letter in position i stored in the bits 5i to 5i+4. Comparing two packed words then needs
+ * no loop over the characters. Their exclusive or is nonzero exactly in the five-bit fields
+ * of the positions where the words differ, and folding each field into its lowest bit
+ * leaves one bit per differing position, which are then counted or used as an index.
+ * The bulk methods compare one word to a whole array of packed words without allocating.
+ */
+public class PackedWords {
+
+    /**
+     * Scrabble letter values from a to z.
+     */
+    public static final int[] LETTER_COST = {
+      1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10
+    //a  b  c  d  e  f  g  h  i  j  k  l  m  n  o  p  q   r  s  t  u  v  w  x  y  z
+    };
+
+    // The lowest bit of each five-bit field.
+    private static final int LOW_BITS = 0x108421;
+
+    /**
+     * Pack the given five letter lowercase word into an int.
+     * @param word The word to pack.
+     * @return The packed word.
+     */
+    public static int encode(String word) {
+        if(word.length() != 5) {
+            throw new IllegalArgumentException("Word '" + word + "' does not have five letters");
+        }
+        int code = 0;
+        for(int i = 0; i < 5; i++) {
+            char c = word.charAt(i);
+            if(c < 'a' || c > 'z') {
+                throw new IllegalArgumentException("Word '" + word + "' is not in lowercase letters");
+            }
+            code |= (c - 'a') << (5 * i);
+        }
+        return code;
+    }
+
+    /**
+     * Pack all the words of the given list into an array.
+     * @param words The list of words to pack.
+     * @return The array of packed words in the same order.
+     */
+    public static int[] encodeAll(List<String> words) {
+        int[] codes = new int[words.size()];
+        for(int i = 0; i < codes.length; i++) { codes[i] = encode(words.get(i)); }
+        return codes;
+    }
+
+    /**
+     * Unpack the given packed word back into a string.
+     * @param code The packed word.
+     * @return The word as a string.
+     */
+    public static String decode(int code) {
+        char[] letters = new char[5];
+        for(int i = 0; i < 5; i++) { letters[i] = (char)('a' + ((code >>> (5 * i)) & 31)); }
+        return new String(letters);
+    }
+
+    // The lowest bit of each five-bit field is set if any bit of that field is set.
+    private static int fold(int x) {
+        int y = x | (x >>> 1);
+        y |= y >>> 2;
+        return (y | (x >>> 4)) & LOW_BITS;
+    }
+
+    /**
+     * Count the number of positions where the two packed words differ.
+     * @param w1 The first packed word.
+     * @param w2 The second packed word.
+     * @return The Hamming distance between the words.
+     */
+    public static int hamming(int w1, int w2) {
+        return Integer.bitCount(fold(w1 ^ w2));
+    }
+
+    /**
+     * Returns the five bit mask whose bit i is set if the two words differ in position i.
+     * @param w1 The first packed word.
+     * @param w2 The second packed word.
+     * @return The mask of the differing positions.
+     */
+    public static int diffMask(int w1, int w2) {
+        // Multiplying shifts the bit 5i to the position 16+i, and since no two of the shifted
+        // copies land on the same position, there are no carries to mess up the result.
+        return ((fold(w1 ^ w2) * 0x11111) >>> 16) & 31;
+    }
+
+    /**
+     * Returns the table of the Scrabble cost of turning any word into the given word, indexed
+     * by the mask of the positions where the two words differ.
+     * @param to The packed word whose letters are paid for.
+     * @return The array of 32 costs indexed by {@code diffMask}.
+     */
+    public static int[] scrabbleTable(int to) {
+        int[] table = new int[32];
+        for(int mask = 1; mask < 32; mask++) {
+            int i = Integer.numberOfTrailingZeros(mask);
+            table[mask] = table[mask & (mask - 1)] + LETTER_COST[(to >>> (5 * i)) & 31];
+        }
+        return table;
+    }
+
+    /**
+     * The cost of moving from one word to another, using Scrabble letter costs for the
+     * letters of the second word in the positions where the words differ.
+     * @param from The packed word to move from.
+     * @param to The packed word to move to.
+     * @return The Scrabble cost of the move.
+     */
+    public static int scrabble(int from, int to) {
+        int x = fold(from ^ to);
+        int cost = 0;
+        while(x != 0) {
+            int bit = Integer.numberOfTrailingZeros(x);
+            cost += LETTER_COST[(to >>> bit) & 31];
+            x &= x - 1;
+        }
+        return cost;
+    }
+
+    /**
+     * Compute the Hamming distance from the given word to every word in the array.
+     * @param word The packed word to compare.
+     * @param words The array of packed words to compare against.
+     * @param result The array to write the distances into, at least as long as {@code words}.
+     */
+    public static void hammingToAll(int word, int[] words, int[] result) {
+        for(int i = 0; i < words.length; i++) {
+            result[i] = Integer.bitCount(fold(word ^ words[i]));
+        }
+    }
+
+    /**
+     * Compute the Scrabble cost from every word in the array to the given word, such as
+     * the values of the Scrabble heuristic of all words for the given goal word.
+     * @param words The array of packed words to move from.
+     * @param to The packed word to move to.
+     * @param result The array to write the costs into, at least as long as {@code words}.
+     */
+    public static void scrabbleToAll(int[] words, int to, int[] result) {
+        int[] table = scrabbleTable(to);
+        for(int i = 0; i < words.length; i++) {
+            result[i] = table[diffMask(words[i], to)];
+        }
+    }
+
+    // The Hamming distance computed one character at a time, for comparison.
+    private static int hammingDistance(String w1, String w2) {
+        int dist = 0;
+        for(int i = 0; i < w1.length(); i++) {
+            if(w1.charAt(i) != w2.charAt(i)) { dist++; }
+        }
+        return dist;
+    }
+
+    // The Scrabble cost computed one character at a time, for comparison.
+    private static int scrabbleDistance(String w1, String w2) {
+        int dist = 0;
+        for(int i = 0; i < w1.length(); i++) {
+            if(w1.charAt(i) != w2.charAt(i)) { dist += LETTER_COST[w2.charAt(i) - 'a']; }
+        }
+        return dist;
+    }
+
+    public static void main(String[] args) throws java.io.FileNotFoundException {
+        ArrayList<String> words = new ArrayList<String>();
+        Scanner sc = new Scanner(new java.io.File("sgb-words.txt"));
+        while(sc.hasNextLine()) { words.add(sc.nextLine()); }
+        sc.close();
+        int n = words.size();
+        int[] codes = encodeAll(words);
+        int[] result = new int[n];
+        // Count the pairs of words within Hamming distance two, both ways.
+        for(int round = 0; round < 3; round++) {
+            long startTime = System.currentTimeMillis();
+            long stringPairs = 0;
+            for(String w1: words) {
+                for(String w2: words) {
+                    if(hammingDistance(w1, w2) <= 2) { stringPairs++; }
+                }
+            }
+            long midTime = System.currentTimeMillis();
+            long packedPairs = 0;
+            for(int i = 0; i < n; i++) {
+                hammingToAll(codes[i], codes, result);
+                for(int k = 0; k < n; k++) {
+                    if(result[k] <= 2) { packedPairs++; }
+                }
+            }
+            long endTime = System.currentTimeMillis();
+            System.out.println("Strings found " + stringPairs + " pairs within distance two in " + (midTime - startTime)
+                + " ms, packed words found " + packedPairs + " in " + (endTime - midTime) + " ms.");
+        }
+        for(int round = 0; round < 3; round++) {
+            long startTime = System.currentTimeMillis();
+            long stringTotal = 0;
+            for(int i = 0; i < n; i += 4) {
+                for(String w: words) { stringTotal += scrabbleDistance(w, words.get(i)); }
+            }
+            long midTime = System.currentTimeMillis();
+            long packedTotal = 0;
+            for(int i = 0; i < n; i += 4) {
+                scrabbleToAll(codes, codes[i], result);
+                for(int k = 0; k < n; k++) { packedTotal += result[k]; }
+            }
+            long endTime = System.currentTimeMillis();
+            System.out.println("Strings summed the Scrabble costs to " + stringTotal + " in " + (midTime - startTime)
+                + " ms, packed words to " + packedTotal + " in " + (endTime - midTime) + " ms.");
+        }
+    }
+}
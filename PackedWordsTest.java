@@ -0,0 +1,114 @@
+import java.util.*;
+
+// Randomized tests of the packed five letter words against the same operations done one
+// character at a time on strings, including words that differ in every position or only
+// in the last one.
+
+public class PackedWordsTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The Scrabble cost of the letters of the second word where the two words differ.
+    private static int scrabbleCost(String from, String to) {
+        int cost = 0;
+        for(int i = 0; i < from.length(); i++) {
+            if(from.charAt(i) != to.charAt(i)) { cost += PackedWords.LETTER_COST[to.charAt(i) - 'a']; }
+        }
+        return cost;
+    }
+
+    // The mask of the positions where the two words differ.
+    private static int diffMask(String w1, String w2) {
+        int mask = 0;
+        for(int i = 0; i < w1.length(); i++) {
+            if(w1.charAt(i) != w2.charAt(i)) { mask |= 1 << i; }
+        }
+        return mask;
+    }
+
+    // The given word with the letter in position i replaced by some other letter.
+    private static String changeLetter(Random rng, String word, int i) {
+        char c = (char)('a' + (word.charAt(i) - 'a' + 1 + rng.nextInt(25)) % 26);
+        return word.substring(0, i) + c + word.substring(i + 1);
+    }
+
+    // Random words over the given alphabet, each followed by some words that differ from it
+    // in every position, only in the last position, or in a random set of positions.
+    private static List<String> testWords(Random rng, int count, int alphabet) {
+        List<String> words = new ArrayList<>();
+        words.add("aaaaa");
+        words.add("zzzzz");
+        while(words.size() < count) {
+            String w = WordFixtures.randomWord(rng, 5, alphabet);
+            words.add(w);
+            String all = w;
+            for(int i = 0; i < 5; i++) { all = changeLetter(rng, all, i); }
+            words.add(all);
+            words.add(changeLetter(rng, w, 4));
+            String some = w;
+            for(int i = 0; i < 5; i++) {
+                if(rng.nextBoolean()) { some = changeLetter(rng, some, i); }
+            }
+            words.add(some);
+        }
+        return words;
+    }
+
+    public static void test(int seed, int count, int alphabet) {
+        Random rng = new Random(seed);
+        List<String> words = testWords(rng, count, alphabet);
+        int n = words.size();
+        int[] codes = PackedWords.encodeAll(words);
+        for(int i = 0; i < n; i++) {
+            String w = words.get(i);
+            check(codes[i] == PackedWords.encode(w), "encodeAll and encode disagree on " + w);
+            check(PackedWords.decode(codes[i]).equals(w), "decoding " + w + " gave " + PackedWords.decode(codes[i]));
+        }
+        int[] hammings = new int[n];
+        int[] costs = new int[n];
+        for(int j = 0; j < n; j++) {
+            String w = words.get(j);
+            PackedWords.hammingToAll(codes[j], codes, hammings);
+            PackedWords.scrabbleToAll(codes, codes[j], costs);
+            int[] table = PackedWords.scrabbleTable(codes[j]);
+            for(int mask = 0; mask < 32; mask++) {
+                int expected = 0;
+                for(int i = 0; i < 5; i++) {
+                    if((mask & (1 << i)) != 0) { expected += PackedWords.LETTER_COST[w.charAt(i) - 'a']; }
+                }
+                check(table[mask] == expected, "Scrabble table of " + w + " has " + table[mask] + " for mask " + mask + ", expected " + expected);
+            }
+            for(int k = 0; k < n; k++) {
+                String v = words.get(k);
+                int hamming = WordFixtures.hamming(v, w);
+                int cost = scrabbleCost(v, w);
+                check(PackedWords.hamming(codes[k], codes[j]) == hamming, "hamming(" + v + ", " + w + ") is not " + hamming);
+                check(hammings[k] == hamming, "hammingToAll gave " + hammings[k] + " for " + v + " and " + w + ", expected " + hamming);
+                check(PackedWords.diffMask(codes[k], codes[j]) == diffMask(v, w), "diffMask(" + v + ", " + w + ") is not " + diffMask(v, w));
+                check(PackedWords.scrabble(codes[k], codes[j]) == cost, "scrabble(" + v + ", " + w + ") is not " + cost);
+                check(costs[k] == cost, "scrabbleToAll gave " + costs[k] + " from " + v + " to " + w + ", expected " + cost);
+            }
+        }
+    }
+
+    public static void testRejected() {
+        for(String w: new String[] {"", "abcd", "abcdef", "abcdA", "ab{de", "`bcde", "abc de"}) {
+            boolean thrown = false;
+            try { PackedWords.encode(w); }
+            catch(IllegalArgumentException e) { thrown = true; }
+            check(thrown, "encoding '" + w + "' did not throw");
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 10; i++) {
+            test(seed++, 200, 26);
+            test(seed++, 200, 3);
+        }
+        testRejected();
+        System.out.println("All PackedWords tests passed.");
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Search frontier implemented as a pairing heap, a self-adjusting heap-ordered tree where
+ * each node keeps only a reference to its leftmost child and its right sibling. Insertion
+ * takes constant time, and the removal of the minimum melds the children of the root in
+ * the standard two passes for amortized logarithmic time.
+ * @param <E> The type of the items stored in the frontier.
+ */
+public class PairingHeapFrontier<E> implements Frontier<E> {
+
+    // The nodes of the pairing heap.
+    private static class Node<E> {
+        public E item;
+        public double key;
+        public Node<E> child;   // The leftmost child of this node.
+        public Node<E> sibling; // The next sibling of this node to the right.
+        public Node(E item, double key) {
+            this.item = item; this.key = key;
+        }
+    }
+
+    // The root of the heap, containing the item with the smallest key.
+    private Node<E> root = null;
+    // The number of items in the heap.
+    private int size = 0;
+
+    // Meld two heap-ordered trees into one, by making the root with the larger key the
+    // leftmost child of the other root. On equal keys, the first tree remains the root.
+    private static <E> Node<E> meld(Node<E> a, Node<E> b) {
+        if(a == null) { return b; }
+        if(b == null) { return a; }
+        if(b.key < a.key) { Node<E> tmp = a; a = b; b = tmp; }
+        b.sibling = a.child;
+        a.child = b;
+        a.sibling = null;
+        return a;
+    }
+
+    public void offer(E item, double key) {
+        root = meld(root, new Node<E>(item, key));
+        size++;
+    }
+
+    public E poll() {
+        if(root == null) { throw new java.util.NoSuchElementException("Frontier is empty."); }
+        E result = root.item;
+        // First pass: meld the children in pairs from left to right, reversing the
+        // list of the resulting trees on the fly by pushing them onto a stack.
+        Node<E> stack = null;
+        Node<E> curr = root.child;
+        while(curr != null) {
+            Node<E> a = curr;
+            Node<E> b = curr.sibling;
+            curr = (b == null) ? null : b.sibling;
+            a.sibling = null;
+            if(b != null) { b.sibling = null; }
+            Node<E> m = meld(a, b);
+            m.sibling = stack;
+            stack = m;
+        }
+        // Second pass: meld the trees from right to left into a single tree.
+        Node<E> newRoot = null;
+        while(stack != null) {
+            Node<E> next = stack.sibling;
+            stack.sibling = null;
+            newRoot = meld(stack, newRoot);
+            stack = next;
+        }
+        root = newRoot;
+        size--;
+        return result;
+    }
+
+    public double peekKey() {
+        if(root == null) { throw new java.util.NoSuchElementException("Frontier is empty."); }
+        return root.key;
+    }
+
+    public int size() { return size; }
+}
@@ -0,0 +1,205 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * Hash distributed A* (HDA*) that expands the vertices in several worker threads at the
+ * same time, for the graphs where generating the neighbours of a vertex is expensive. Each
+ * vertex is owned by the worker given by its hash code, and only that worker keeps it in
+ * its own open and closed lists. Each generated node is sent to its owner through a
+ * lock-free queue. Since the workers do not expand the nodes in exactly the global order
+ * of f, the first goal found need not be the best one. The search therefore keeps the
+ * cheapest goal found so far as the incumbent solution, and continues until no node whose
+ * f is below the cost of the incumbent remains anywhere, either in an open list or in a
+ * queue. To detect this, a shared counter keeps track of the number of such nodes.
+ */
+public class ParallelAStar {
+
+    // A node generated in the search. Nodes are never modified after they have been sent,
+    // so the chain of predecessors can be followed across the workers.
+    private static class SearchNode<V> {
+        public final V vertex;
+        public final SearchNode<V> prev;
+        public final double g;
+        public final double f;
+        public SearchNode(V vertex, SearchNode<V> prev, double g, double f) {
+            this.vertex = vertex; this.prev = prev; this.g = g; this.f = f;
+        }
+    }
+
+    // The state shared by all workers of one search.
+    private static class Shared<V> {
+        // The incoming nodes of each worker.
+        private final List<Queue<SearchNode<V>>> inboxes = new ArrayList<>();
+        // The number of nodes currently in the queues or in the open lists.
+        private final AtomicLong active = new AtomicLong();
+        // The cheapest goal node found so far.
+        private final AtomicReference<SearchNode<V>> incumbent = new AtomicReference<>();
+        // The first exception thrown in any worker, which stops the search.
+        private volatile Throwable failure;
+
+        // The cost of the incumbent solution.
+        private double bound() {
+            SearchNode<V> best = incumbent.get();
+            return best == null ? Double.POSITIVE_INFINITY : best.g;
+        }
+
+        // Make the goal node the incumbent if it is cheaper than the current one.
+        private void offerGoal(SearchNode<V> goal) {
+            while(true) {
+                SearchNode<V> best = incumbent.get();
+                if(best != null && best.g <= goal.g) { return; }
+                if(incumbent.compareAndSet(best, goal)) { return; }
+            }
+        }
+
+        // The worker that owns the given vertex.
+        private int owner(V vertex) {
+            int hash = vertex.hashCode() * 0x9E3779B9; // Spread the bits of the hash code.
+            return Math.floorMod(hash ^ (hash >>> 16), inboxes.size());
+        }
+    }
+
+    /**
+     * Find the shortest path from the start vertex to some goal vertex using hash distributed
+     * A* in the given number of worker threads. The functions given as parameters must be
+     * safe to call from several threads at the same time.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param cost Function giving the cost of moving along an edge from one vertex to another.
+     * @param start The vertex to start the search from.
+     * @param goalTest Predicate to check whether given vertex is a goal.
+     * @param h The heuristic lower bound function. To guarantee finding the shortest path,
+     * this function must be admissible.
+     * @param threads The number of worker threads.
+     * @return The search result with the shortest path from start to goal.
+     * @throws IllegalArgumentException If the number of threads is less than one.
+     */
+    public static <V> SearchResult<V> search(
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        V start,
+        Predicate<V> goalTest,
+        Function<V, Double> h,
+        int threads
+    )
+    {
+        if(threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive, was " + threads + ".");
+        }
+        SearchStats.Counter counter = new SearchStats.Counter();
+        Shared<V> shared = new Shared<>();
+        for(int i = 0; i < threads; i++) { shared.inboxes.add(new ConcurrentLinkedQueue<>()); }
+        shared.active.set(1);
+        shared.inboxes.get(shared.owner(start)).offer(new SearchNode<V>(start, null, 0, h.apply(start)));
+        List<SearchStats.Counter> counters = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < threads; i++) {
+                SearchStats.Counter workerCounter = new SearchStats.Counter();
+                counters.add(workerCounter);
+                int id = i;
+                futures.add(pool.submit(() -> work(id, shared, edges, cost, goalTest, h, workerCounter)));
+            }
+            for(Future<?> future: futures) { future.get(); }
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shared.failure = e;
+        }
+        catch(ExecutionException e) {
+            shared.failure = e.getCause();
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        if(shared.failure != null) {
+            throw new IllegalStateException("Search failed: " + shared.failure, shared.failure);
+        }
+        for(SearchStats.Counter c: counters) {
+            counter.expanded += c.expanded;
+            counter.generated += c.generated;
+            counter.reopened += c.reopened;
+            counter.peakFrontier += c.peakFrontier;
+        }
+        counter.generated++; // The start node.
+        List<V> path = null;
+        SearchNode<V> goal = shared.incumbent.get();
+        if(goal != null) {
+            path = new ArrayList<V>();
+            for(SearchNode<V> node = goal; node != null; node = node.prev) { path.add(node.vertex); }
+            Collections.reverse(path);
+        }
+        return new SearchResult<V>(path, counter.toStats());
+    }
+
+    // The main loop of one worker thread.
+    private static <V> void work(
+        int id,
+        Shared<V> shared,
+        Function<V, List<V>> edges,
+        BiFunction<V, V, Double> cost,
+        Predicate<V> goalTest,
+        Function<V, Double> h,
+        SearchStats.Counter counter
+    )
+    {
+        Queue<SearchNode<V>> inbox = shared.inboxes.get(id);
+        PriorityQueue<SearchNode<V>> open = new PriorityQueue<>((n1, n2) -> Double.compare(n1.f, n2.f));
+        // The cheapest node of each vertex owned by this worker that has been received so far.
+        Map<V, SearchNode<V>> seen = new HashMap<>();
+        // The vertices owned by this worker that have been expanded at least once.
+        Set<V> closed = new HashSet<>();
+        // Each finished node decrements the active count, but in batches to reduce contention.
+        // The batch must be flushed before the worker waits, so that the count can reach zero.
+        long finished = 0;
+        try {
+            while(shared.failure == null) {
+                for(SearchNode<V> node = inbox.poll(); node != null; node = inbox.poll()) {
+                    SearchNode<V> old = seen.get(node.vertex);
+                    if(old != null && old.g <= node.g) { finished++; continue; }
+                    seen.put(node.vertex, node);
+                    open.offer(node);
+                }
+                counter.frontierSize(open.size());
+                SearchNode<V> curr = open.poll();
+                if(curr == null) {
+                    if(finished > 0) { shared.active.addAndGet(-finished); finished = 0; }
+                    if(shared.active.get() == 0) { return; }
+                    LockSupport.parkNanos(10_000); // Wait for other workers to send something.
+                    continue;
+                }
+                // Every node taken from the open list is finished here, whatever happens to it.
+                finished++;
+                // Discard the stale nodes and those that cannot lead to a better solution.
+                if(seen.get(curr.vertex) != curr || curr.f >= shared.bound()) { continue; }
+                if(goalTest.test(curr.vertex)) {
+                    shared.offerGoal(curr);
+                    continue;
+                }
+                counter.expanded++;
+                if(!closed.add(curr.vertex)) { counter.reopened++; }
+                List<SearchNode<V>> children = new ArrayList<>();
+                double bound = shared.bound();
+                for(V next: edges.apply(curr.vertex)) {
+                    double g = curr.g + cost.apply(curr.vertex, next);
+                    double f = g + h.apply(next);
+                    if(f < bound) { children.add(new SearchNode<V>(next, curr, g, f)); }
+                }
+                counter.generated += children.size();
+                // Count the children before sending them, so that the count cannot reach zero
+                // while they are on their way.
+                shared.active.addAndGet(children.size());
+                for(SearchNode<V> child: children) {
+                    shared.inboxes.get(shared.owner(child.vertex)).offer(child);
+                }
+            }
+        }
+        catch(RuntimeException | Error e) {
+            shared.failure = e;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import java.util.*;
+import java.util.function.*;
+
+// Randomized tests of hash distributed A* against serial A* on grids with varying cell
+// costs, the counting of reopened vertices, and the rejection of a bad thread count.
+
+public class ParallelAStarTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // Check that the path leads from start to goal along the edges of the graph, and return
+    // its total cost, or infinity if there is no path.
+    private static double pathCost(
+        List<Integer> path,
+        Function<Integer, List<Integer>> edges,
+        BiFunction<Integer, Integer, Double> cost,
+        int start,
+        int goal
+    )
+    {
+        if(path == null) { return Double.POSITIVE_INFINITY; }
+        check(path.get(0) == start && path.get(path.size() - 1) == goal, "path " + path + " has wrong endpoints");
+        double total = 0;
+        for(int i = 1; i < path.size(); i++) {
+            check(edges.apply(path.get(i - 1)).contains(path.get(i)), "path " + path + " uses a missing edge");
+            total += cost.apply(path.get(i - 1), path.get(i));
+        }
+        return total;
+    }
+
+    public static void test(int seed, int width, int height, int queries, int threads) {
+        Random rng = new Random(seed);
+        int n = width * height;
+        boolean[] blocked = new boolean[n];
+        for(int v = 0; v < n; v++) { blocked[v] = rng.nextInt(4) == 0; }
+        int[] weight = new int[n];
+        for(int v = 0; v < n; v++) { weight[v] = 1 + rng.nextInt(5); }
+        Function<Integer, List<Integer>> edges = v -> {
+            List<Integer> result = new ArrayList<>();
+            int r = v / width, c = v % width;
+            if(r > 0 && !blocked[v - width]) { result.add(v - width); }
+            if(r < height - 1 && !blocked[v + width]) { result.add(v + width); }
+            if(c > 0 && !blocked[v - 1]) { result.add(v - 1); }
+            if(c < width - 1 && !blocked[v + 1]) { result.add(v + 1); }
+            return result;
+        };
+        BiFunction<Integer, Integer, Double> cost = (v, w) -> (double)weight[w];
+        for(int q = 0; q < queries; q++) {
+            int start = rng.nextInt(n), goal = rng.nextInt(n);
+            if(blocked[start] || blocked[goal]) { continue; }
+            Function<Integer, Double> h = v -> (double)(Math.abs(v / width - goal / width) + Math.abs(v % width - goal % width));
+            double expected = pathCost(AStar.search(edges, cost, start, v -> v == goal, h).getPath(), edges, cost, start, goal);
+            SearchResult<Integer> result = ParallelAStar.search(edges, cost, start, v -> v == goal, h, threads);
+            double actual = pathCost(result.getPath(), edges, cost, start, goal);
+            check(actual == expected, "parallel A* cost " + actual + " with " + threads + " threads from " + start
+                + " to " + goal + ", expected " + expected);
+            SearchStats stats = result.getStats();
+            check(stats.getReopened() <= stats.getExpanded(), "more vertices reopened than expanded: " + stats);
+            // A single worker expands in the order of f, so that with a consistent heuristic
+            // no vertex is ever expanded twice, even if a cheaper path to it is found later.
+            if(threads == 1) { check(stats.getReopened() == 0, "single worker reopened vertices: " + stats); }
+        }
+    }
+
+    public static void testInvalidThreads() {
+        for(int threads: new int[] { 0, -1 }) {
+            try {
+                ParallelAStar.search(v -> List.of(v + 1), (v, w) -> 1.0, 0, v -> v == 3, v -> 0.0, threads);
+            }
+            catch(IllegalArgumentException expected) {
+                continue;
+            }
+            throw new AssertionError(threads + " threads were not rejected");
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int threads: new int[] { 1, 2, 4 }) {
+            test(seed++, 20, 20, 100, threads);
+            test(seed++, 40, 30, 50, threads);
+        }
+        testInvalidThreads();
+        System.out.println("All ParallelAStar tests passed.");
+    }
+}
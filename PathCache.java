@@ -0,0 +1,149 @@
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * A bounded cache of shortest path results in front of the A* search, keyed by the start
+ * vertex, the goal vertex and the cost model object, so that two distinct models never
+ * share their results even if they have the same name. When the cache is full, the
+ * least recently used result is evicted. Under a symmetric cost model, each result is also
+ * stored reversed as the answer of the reverse query. The queries that have no path are
+ * cached as well. All methods are synchronized, so the same cache can be shared by several
+ * threads, but the searches themselves are executed outside the lock. A search that is
+ * still running when the cache is invalidated does not store its result afterwards.
+ * @param <V> The type of the vertices of the graph.
+ */
+public class PathCache<V> {
+
+    // The key of a cached result.
+    private static class Key {
+        private final CostModel<?> model;
+        private final Object start;
+        private final Object goal;
+        public Key(CostModel<?> model, Object start, Object goal) {
+            this.model = model; this.start = start; this.goal = goal;
+        }
+        public boolean equals(Object other) {
+            if(!(other instanceof Key)) { return false; }
+            Key k = (Key)other;
+            return model == k.model && start.equals(k.start) && goal.equals(k.goal);
+        }
+        public int hashCode() {
+            return (System.identityHashCode(model) * 31 + start.hashCode()) * 31 + goal.hashCode();
+        }
+    }
+
+    // The marker stored in the cache for the queries that have no path. Since every real
+    // path contains at least the start vertex, the empty list cannot be confused with one.
+    private static final List<Object> NO_PATH = Collections.emptyList();
+
+    // The edge function of the graph.
+    private final Function<V, List<V>> edges;
+    // The cached results in the order of their most recent use, oldest first.
+    private final LinkedHashMap<Key, List<V>> cache;
+    // The counters for the cache hits and misses.
+    private long hits = 0, misses = 0;
+    // The number of times the cache has been invalidated, to recognize the results of the
+    // searches that were started before the most recent invalidation.
+    private long generation = 0;
+
+    /**
+     * Constructor for the cache.
+     * @param edges Function giving the list of edges from given vertex.
+     * @param capacity The maximum number of results kept in the cache.
+     */
+    public PathCache(Function<V, List<V>> edges, int capacity) {
+        this.edges = edges;
+        // An access ordered LinkedHashMap moves each entry to the end whenever it is used,
+        // so that the eldest entry is always the least recently used one.
+        this.cache = new LinkedHashMap<Key, List<V>>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Key, List<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Find the shortest path from start to goal under the given cost model, returning the
+     * cached result if this same query has been answered before.
+     * @param start The start vertex of the path.
+     * @param goal The goal vertex of the path.
+     * @param model The cost model of the query.
+     * @return The unmodifiable list of vertices on the shortest path from start to goal, or
+     * {@code null} if no such path exists.
+     */
+    public List<V> shortestPath(V start, V goal, CostModel<V> model) {
+        Key key = new Key(model, start, goal);
+        long searchGeneration;
+        synchronized(this) {
+            List<V> cached = cache.get(key);
+            if(cached != null) {
+                hits++;
+                return cached == NO_PATH ? null : cached;
+            }
+            misses++;
+            searchGeneration = generation;
+        }
+        List<V> path = AStar.search(
+            edges, model.getCost(), start, v -> v.equals(goal), model.heuristicTo(goal)
+        ).getPath();
+        store(start, goal, model, path, searchGeneration);
+        return path == null ? null : Collections.unmodifiableList(path);
+    }
+
+    /**
+     * Store the answer of the given query into the cache. Under a symmetric cost model,
+     * the reversed path is also stored as the answer of the reverse query.
+     * @param start The start vertex of the path.
+     * @param goal The goal vertex of the path.
+     * @param model The cost model of the query.
+     * @param path The shortest path from start to goal, or {@code null} if there is none.
+     */
+    public synchronized void put(V start, V goal, CostModel<V> model, List<V> path) {
+        store(start, goal, model, path, generation);
+    }
+
+    // Store the answer of the query found in the given generation, unless the cache has
+    // been invalidated since.
+    @SuppressWarnings("unchecked")
+    private synchronized void store(V start, V goal, CostModel<V> model, List<V> path, long searchGeneration) {
+        if(searchGeneration != generation) { return; }
+        List<V> stored = path == null ? (List<V>)NO_PATH : Collections.unmodifiableList(new ArrayList<V>(path));
+        cache.put(new Key(model, start, goal), stored);
+        if(model.isSymmetric() && !start.equals(goal)) {
+            List<V> reversed = stored;
+            if(path != null) {
+                List<V> rev = new ArrayList<V>(path);
+                Collections.reverse(rev);
+                reversed = Collections.unmodifiableList(rev);
+            }
+            cache.put(new Key(model, goal, start), reversed);
+        }
+    }
+
+    /**
+     * Remove all results from the cache. This must be called whenever the graph changes.
+     * The searches that are running at the time of this call will not cache their results.
+     */
+    public synchronized void invalidateAll() {
+        cache.clear();
+        generation++;
+    }
+
+    /**
+     * Returns the number of results currently in the cache.
+     * @return The cache size.
+     */
+    public synchronized int size() { return cache.size(); }
+
+    /**
+     * Returns the number of queries answered from the cache.
+     * @return The hit count.
+     */
+    public synchronized long getHits() { return hits; }
+
+    /**
+     * Returns the number of queries that had to be searched.
+     * @return The miss count.
+     */
+    public synchronized long getMisses() { return misses; }
+}
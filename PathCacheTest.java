@@ -0,0 +1,75 @@
+import java.util.*;
+import java.util.function.*;
+
+// Tests of PathCache: hits and misses, the reversed results of symmetric models, models
+// that share a name, and invalidation while a search is still running.
+
+public class PathCacheTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The path graph 0 - 1 - ... - (n-1), with the vertex n that has no edges.
+    private static Function<Integer, List<Integer>> line(int n) {
+        return v -> {
+            List<Integer> result = new ArrayList<>();
+            if(v > 0 && v < n) { result.add(v - 1); }
+            if(v < n - 1) { result.add(v + 1); }
+            return result;
+        };
+    }
+
+    public static void testHitsAndMisses() {
+        CostModel<Integer> model = new CostModel<>("Unit", (v, w) -> 1.0, (v, w) -> (double)Math.abs(v - w), true);
+        PathCache<Integer> cache = new PathCache<>(line(10), 3);
+        check(cache.shortestPath(2, 5, model).equals(List.of(2, 3, 4, 5)), "path from 2 to 5");
+        check(cache.getMisses() == 1 && cache.getHits() == 0, "first query was not a miss");
+        // The symmetric model also stored the reverse query.
+        check(cache.shortestPath(5, 2, model).equals(List.of(5, 4, 3, 2)), "path from 5 to 2");
+        check(cache.getMisses() == 1 && cache.getHits() == 1, "reverse query was not a hit");
+        check(cache.shortestPath(2, 10, model) == null, "path to the isolated vertex");
+        check(cache.shortestPath(2, 10, model) == null, "cached path to the isolated vertex");
+        check(cache.getMisses() == 2 && cache.getHits() == 2, "query without path was not cached");
+        check(cache.size() <= 3, "cache grew over its capacity");
+    }
+
+    // Two different models with the same name must not share their cached results.
+    public static void testSameName() {
+        CostModel<Integer> cheap = new CostModel<>("Model", (v, w) -> 1.0, (v, w) -> 0.0);
+        // Under this model, stepping into vertex 3 is so expensive that the path avoids it.
+        Function<Integer, List<Integer>> ring = v -> List.of((v + 1) % 8, (v + 7) % 8);
+        CostModel<Integer> avoid = new CostModel<>("Model", (v, w) -> w == 3 ? 100.0 : 1.0, (v, w) -> 0.0);
+        PathCache<Integer> cache = new PathCache<>(ring, 10);
+        check(cache.shortestPath(0, 4, cheap).size() == 5, "path under the first model");
+        check(cache.shortestPath(0, 4, avoid).equals(List.of(0, 7, 6, 5, 4)), "path under the second model");
+        check(cache.getMisses() == 2, "second model was answered from the results of the first");
+    }
+
+    // A search during which the cache is invalidated must not store its stale result.
+    public static void testInvalidateDuringSearch() {
+        CostModel<Integer> model = new CostModel<>("Unit", (v, w) -> 1.0, (v, w) -> 0.0);
+        List<PathCache<Integer>> holder = new ArrayList<>();
+        Function<Integer, List<Integer>> graph = line(10);
+        boolean[] invalidated = { false };
+        Function<Integer, List<Integer>> edges = v -> {
+            // Simulate another thread changing the graph while this search is running.
+            if(v == 4 && !invalidated[0]) { invalidated[0] = true; holder.get(0).invalidateAll(); }
+            return graph.apply(v);
+        };
+        PathCache<Integer> cache = new PathCache<>(edges, 10);
+        holder.add(cache);
+        check(cache.shortestPath(0, 8, model).size() == 9, "path from 0 to 8");
+        check(invalidated[0], "the search did not reach the invalidating vertex");
+        check(cache.size() == 0, "the result of the invalidated search was stored");
+        cache.shortestPath(0, 8, model);
+        check(cache.getMisses() == 2 && cache.size() == 1, "the next search did not store its result");
+    }
+
+    public static void main(String[] args) {
+        testHitsAndMisses();
+        testSameName();
+        testInvalidateDuringSearch();
+        System.out.println("All PathCache tests passed.");
+    }
+}
@@ -6,12 +6,6 @@ import java.io.*;
 /* Inspired by the work of Donald Knuth in Stanford Graphbase and TAOCP: Volume 4. */
 
 public class SearchMain {
-    // Scrabble letter values from a to z.
-    private static int[] letterCost = {
-      1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10
-    //a  b  c  d  e  f  g  h  i  j  k  l  m  n  o  p  q   r  s  t  u  v  w  x  y  z
-    };
-    
     // Count the number of positions where the two words differ.
     private static double hammingDistance(String w1, String w2) {
         int dist = 0;
@@ -26,13 +20,40 @@ public class SearchMain {
         int dist = 0;
         for(int i = 0; i < w1.length(); i++) {
             if(w1.charAt(i) != w2.charAt(i)) {
-                dist += letterCost[w2.charAt(i) - 'a'];
+                dist += PackedWords.LETTER_COST[w2.charAt(i) - 'a'];
             }
         }
         return dist;
     }
     
-    public static void main(String[] args) throws FileNotFoundException {
+    // The total cost of the edges on the path, or zero if there is no path.
+    private static double pathCost(List<String> path, BiFunction<String, String, Double> cost) {
+        double total = 0;
+        if(path != null) {
+            for(int i = 1; i < path.size(); i++) { total += cost.apply(path.get(i - 1), path.get(i)); }
+        }
+        return total;
+    }
+
+    // The number of connected components in the given neighbourhood graph.
+    private static int countComponents(Map<String, List<String>> graph) {
+        Set<String> seen = new HashSet<>();
+        int components = 0;
+        for(String word: graph.keySet()) {
+            if(!seen.add(word)) { continue; }
+            components++;
+            Deque<String> stack = new ArrayDeque<>();
+            stack.push(word);
+            while(!stack.isEmpty()) {
+                for(String next: graph.get(stack.pop())) {
+                    if(seen.add(next)) { stack.push(next); }
+                }
+            }
+        }
+        return components;
+    }
+
+    public static void main(String[] args) throws IOException {
         // Read in the list of words from sgb-words.
         ArrayList<String> words = new ArrayList<String>();
         Scanner sc = new Scanner(new File("sgb-words.txt"));
@@ -43,21 +64,21 @@ public class SearchMain {
         System.out.println("Building the neighbourhood graph. Please wait...");
         
         // Neighbourhood graph without distances.
-        Map<String, List<String>> neighbourMap = new HashMap<>();
+        long buildStart = System.currentTimeMillis();
+        int[][] hammingAdjacency = WordGraph.hammingAdjacency(words);
+        Map<String, List<String>> neighbourMap = WordGraph.toNeighbourMap(words, hammingAdjacency);
+        long buildEnd = System.currentTimeMillis();
         int maxNeighbours = 0;
         String maxNeighboursWord = "";
         for(String w1: words) {
-            List<String> neighbours = new LinkedList<>();
-            for(String w2: words) {
-                if(hammingDistance(w1, w2) == 1) { neighbours.add(w2); }
-            }
-            neighbourMap.put(w1, neighbours);
+            List<String> neighbours = neighbourMap.get(w1);
             if(neighbours.size() > maxNeighbours) {
                 maxNeighbours = neighbours.size(); maxNeighboursWord = w1;
             }
         }
         
-        System.out.print("Finished building the neighbourhood graph. The word ");
+        System.out.println("Finished building the neighbourhood graph in " + (buildEnd - buildStart) + " ms.");
+        System.out.print("The word ");
         System.out.println("'" + maxNeighboursWord + "' has most neighbours, " + maxNeighbours + ".");
         int count = 0;
         for(String word: neighbourMap.get(maxNeighboursWord)) {
@@ -90,14 +111,15 @@ public class SearchMain {
             String goal = words.get(rng.nextInt(words.size()));
             System.out.print("\nLooking for shortest path from '" + start + "' to '" + goal + "'... ");
             System.out.flush();
-            List<String> result = AStar.<String>shortestPath( 
+            SearchResult<String> searchResult = AStar.<String>search( 
                 v -> neighbourMap.get(v),
                 (v1, v2) -> scrabbleDistance(v1, v2),
                 start,
                 word -> word.equals(goal),
                 word -> scrabbleDistance(word, goal)
             );
-            System.out.print(AStar.getExpandedCount() + " expansions. ");
+            List<String> result = searchResult.getPath();
+            System.out.print(searchResult.getStats().getExpanded() + " expansions. ");
             if(result == null) { System.out.println("No path exists."); }
             else {
                 int total = 0;
@@ -118,43 +140,560 @@ public class SearchMain {
                 System.out.println(" = " + total);
             }
         }
+        System.out.println("\nComparing the running times of the different A* frontiers.");
+        for(Frontier.Kind kind: Frontier.Kind.values()) {
+            Random qrng = new Random(4242); // Same queries for each kind of frontier.
+            long totalExpand = 0;
+            long startTime = System.currentTimeMillis();
+            for(int i = 0; i < 200; i++) {
+                String start = words.get(qrng.nextInt(words.size()));
+                String goal = words.get(qrng.nextInt(words.size()));
+                SearchResult<String> result = AStar.<String>search(
+                    v -> neighbourMap.get(v),
+                    (v1, v2) -> scrabbleDistance(v1, v2),
+                    start,
+                    word -> word.equals(goal),
+                    word -> scrabbleDistance(word, goal),
+                    kind
+                );
+                totalExpand += result.getStats().getExpanded();
+            }
+            long endTime = System.currentTimeMillis();
+            System.out.println(kind + " frontier: " + totalExpand + " expansions in "
+                + (endTime - startTime) + " ms.");
+        }
+        
+        // The same graph with words numbered 0, ..., n-1 for the primitive int version of A*.
+        Map<String, Integer> wordIndex = new HashMap<>();
+        for(int i = 0; i < words.size(); i++) { wordIndex.put(words.get(i), i); }
+        IntGraph wordGraph = new IntGraph(hammingAdjacency);
+        int[] packedWords = PackedWords.encodeAll(words);
+        IntAStar intAStar = new IntAStar(words.size());
+        IntGraphSearch intSearch = new IntGraphSearch(wordGraph);
+        
         System.out.println("\nFinally, let's compare the solutions of A*, Uniform cost, BFS and Iterative DFS.");
         for(int i = 0; i < 10; i++) {
             String start = words.get(rng.nextInt(words.size()));
             String goal = words.get(rng.nextInt(words.size()));
             System.out.println("\nLooking for path from '" + start + "' to '" + goal + "'... ");
-            List<String> astarResult = AStar.<String>shortestPath(
+            SearchResult<String> astarResult = AStar.<String>search(
                 v -> neighbourMap.get(v),
                 (v1, v2) -> 1.0,
                 start,
                 word -> word.equals(goal),
                 word -> hammingDistance(word, goal)
             );
-            int astarExpand = AStar.getExpandedCount();
-            List<String> ucResult = AStar.<String>shortestPath(
-                v -> neighbourMap.get(v),
+            int goalIdx = wordIndex.get(goal);
+            int packedGoal = packedWords[goalIdx];
+            int[] intResult = intAStar.shortestPath(
+                wordGraph,
                 (v1, v2) -> 1.0,
+                wordIndex.get(start),
+                v -> v == goalIdx,
+                v -> PackedWords.hamming(packedWords[v], packedGoal)
+            );
+            SearchResult<String> ucResult = AStar.<String>searchIntegral(
+                v -> neighbourMap.get(v),
+                (v1, v2) -> 1,
                 start,
                 word -> word.equals(goal),
-                word -> 0.0
+                word -> 0
             );
-            int ucExpand = AStar.getExpandedCount();
-            List<String> bfsResult = BFS.<String>shortestPath(
+            SearchResult<String> bfsResult = BFS.<String>search(
                 v -> neighbourMap.get(v),
                 start,
                 word -> word.equals(goal),
                 true
             );
-            System.out.print("AStar with " + astarExpand + " expansions: ");
-            if(astarResult == null) { System.out.println("No solution."); }
-            else { System.out.println(astarResult.size() + " " + astarResult); }
-            System.out.print("Uniform cost with " + ucExpand + " expansions: ");
-            if(ucResult == null) { System.out.println("No solution."); }
-            else { System.out.println(ucResult.size() + " " + ucResult); }
-            System.out.print("BFS: ");
-            if(bfsResult == null) { System.out.println("No solution."); }
-            else { System.out.println(bfsResult.size() + " " + bfsResult); }
+            int[] intBfsResult = intSearch.shortestPath(wordIndex.get(start), v -> v == goalIdx);
+            SearchResult<String> biAstarResult = AStar.<String>bidirectionalSearch(
+                v -> neighbourMap.get(v),
+                v -> neighbourMap.get(v),
+                (v1, v2) -> 1.0,
+                start,
+                goal,
+                word -> hammingDistance(word, goal),
+                word -> hammingDistance(start, word)
+            );
+            SearchResult<String> biBfsResult = BFS.<String>bidirectionalSearch(
+                v -> neighbourMap.get(v),
+                v -> neighbourMap.get(v),
+                start,
+                goal
+            );
+            SearchResult<String> iddfsResult = IterativeDFS.<String>searchWithStats(
+                v -> neighbourMap.get(v),
+                start,
+                word -> word.equals(goal),
+                20
+            );
+            SearchResult<String> idaResult = IterativeDFS.<String>idaStarWithStats(
+                v -> neighbourMap.get(v),
+                (v1, v2) -> 1.0,
+                start,
+                word -> word.equals(goal),
+                word -> hammingDistance(word, goal),
+                100000
+            );
+            System.out.println("AStar: " + astarResult);
+            System.out.print("IntAStar with " + intAStar.getExpandedCount() + " expansions: ");
+            if(intResult == null) { System.out.println("No solution."); }
+            else {
+                List<String> intPath = new ArrayList<>();
+                for(int v: intResult) { intPath.add(words.get(v)); }
+                System.out.println(intPath.size() + " " + intPath);
+            }
+            System.out.println("Uniform cost: " + ucResult);
+            System.out.println("BFS: " + bfsResult);
+            System.out.print("CSR graph BFS: ");
+            if(intBfsResult == null) { System.out.println("No solution."); }
+            else {
+                List<String> intPath = new ArrayList<>();
+                for(int v: intBfsResult) { intPath.add(words.get(v)); }
+                System.out.println(intPath.size() + " " + intPath);
+            }
+            System.out.println("Bidirectional AStar: " + biAstarResult);
+            System.out.println("Bidirectional BFS: " + biBfsResult);
+            System.out.println("Iterative DFS: " + iddfsResult);
+            System.out.println("IDA* with transposition table: " + idaResult);
+        }
+        
+        System.out.println("\nExecuting a batch of path queries in a pool of threads.");
+        CostModel<String> scrabbleModel = new CostModel<>(
+            "scrabble", (v1, v2) -> scrabbleDistance(v1, v2), (v, goal) -> scrabbleDistance(v, goal)
+        );
+        List<BatchSearch.Query<String>> queries = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            String start = words.get(rng.nextInt(words.size()));
+            String goal = words.get(rng.nextInt(words.size()));
+            queries.add(new BatchSearch.Query<>(start, goal, scrabbleModel));
+        }
+        long serialStart = System.currentTimeMillis();
+        int serialFound = 0;
+        for(BatchSearch.Query<String> query: queries) {
+            String goal = query.getGoal();
+            if(AStar.search(
+                v -> neighbourMap.get(v), scrabbleModel.getCost(), query.getStart(),
+                word -> word.equals(goal), scrabbleModel.heuristicTo(goal)
+            ).isFound()) { serialFound++; }
+        }
+        long serialEnd = System.currentTimeMillis();
+        System.out.println("Serially, found " + serialFound + " paths in " + (serialEnd - serialStart) + " ms.");
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int[] batchFound = new int[1];
+        long batchStart = System.currentTimeMillis();
+        try(BatchSearch<String> batch = new BatchSearch<>(v -> neighbourMap.get(v), parallelism, 4 * parallelism)) {
+            batch.runAll(queries, answer -> { if(answer.getResult().isFound()) { batchFound[0]++; } });
+        }
+        catch(InterruptedException e) { Thread.currentThread().interrupt(); }
+        long batchEnd = System.currentTimeMillis();
+        System.out.println("With " + parallelism + " threads, found " + batchFound[0] + " paths in "
+            + (batchEnd - batchStart) + " ms.");
+        
+        System.out.println("\nAnswering repeated unit cost queries through a path cache.");
+        CostModel<String> unitModel = new CostModel<>(
+            "unit", (v1, v2) -> 1.0, (v, goal) -> hammingDistance(v, goal), true
+        );
+        PathCache<String> pathCache = new PathCache<>(v -> neighbourMap.get(v), 2000);
+        List<String> popular = new ArrayList<>();
+        for(int i = 0; i < 40; i++) { popular.add(words.get(rng.nextInt(words.size()))); }
+        long cacheStart = System.currentTimeMillis();
+        for(int i = 0; i < 5000; i++) {
+            String start = popular.get(rng.nextInt(popular.size()));
+            String goal = popular.get(rng.nextInt(popular.size()));
+            pathCache.shortestPath(start, goal, unitModel);
         }
+        long cacheEnd = System.currentTimeMillis();
+        System.out.println(pathCache.getHits() + " hits and " + pathCache.getMisses() + " misses in "
+            + (cacheEnd - cacheStart) + " ms, cache now contains " + pathCache.size() + " paths.");
+
+        System.out.println("\nComparing the word heuristics to the landmark heuristics.");
+        long landmarkStart = System.currentTimeMillis();
+        Landmarks<String> unitLandmarks = new Landmarks<>(words, v -> neighbourMap.get(v), null, 16);
+        Landmarks<String> scrabbleLandmarks = new Landmarks<>(
+            words, v -> neighbourMap.get(v), (v1, v2) -> scrabbleDistance(v1, v2), 16
+        );
+        long landmarkEnd = System.currentTimeMillis();
+        System.out.println("Chose landmarks " + unitLandmarks.getLandmarks() + " and "
+            + scrabbleLandmarks.getLandmarks() + " in " + (landmarkEnd - landmarkStart) + " ms.");
+        long[] expanded = new long[4];
+        int landmarkQueries = 0;
+        Random lrng = new Random(12345);
+        while(landmarkQueries < 200) {
+            String start = words.get(lrng.nextInt(words.size()));
+            String goal = words.get(lrng.nextInt(words.size()));
+            SearchResult<String> unitWord = AStar.<String>search(
+                v -> neighbourMap.get(v), (v1, v2) -> 1.0, start,
+                word -> word.equals(goal), word -> hammingDistance(word, goal)
+            );
+            if(!unitWord.isFound()) { continue; } // Only the queries that have a solution.
+            landmarkQueries++;
+            SearchResult<String> unitLandmark = AStar.<String>search(
+                v -> neighbourMap.get(v), (v1, v2) -> 1.0, start,
+                word -> word.equals(goal), unitLandmarks.heuristic(goal)
+            );
+            SearchResult<String> scrabbleWord = AStar.<String>search(
+                v -> neighbourMap.get(v), (v1, v2) -> scrabbleDistance(v1, v2), start,
+                word -> word.equals(goal), word -> scrabbleDistance(word, goal)
+            );
+            SearchResult<String> scrabbleLandmark = AStar.<String>search(
+                v -> neighbourMap.get(v), (v1, v2) -> scrabbleDistance(v1, v2), start,
+                word -> word.equals(goal), scrabbleLandmarks.heuristic(goal)
+            );
+            if(unitWord.getPath().size() != unitLandmark.getPath().size()) {
+                System.out.println("Unit cost path lengths differ for " + start + " -> " + goal);
+            }
+            expanded[0] += unitWord.getStats().getExpanded();
+            expanded[1] += unitLandmark.getStats().getExpanded();
+            expanded[2] += scrabbleWord.getStats().getExpanded();
+            expanded[3] += scrabbleLandmark.getStats().getExpanded();
+        }
+        System.out.println("Unit cost: " + expanded[0] + " expansions with Hamming distance, "
+            + expanded[1] + " with landmarks.");
+        System.out.println("Scrabble cost: " + expanded[2] + " expansions with Scrabble distance, "
+            + expanded[3] + " with landmarks.");
+
+        System.out.println("\nPreprocessing the word graph into contraction hierarchies.");
+        List<CostModel<String>> models = Arrays.asList(unitModel, scrabbleModel);
+        for(CostModel<String> model: models) {
+            long contractStart = System.currentTimeMillis();
+            ContractionHierarchy<String> hierarchy = new ContractionHierarchy<>(
+                words, v -> neighbourMap.get(v), model.getCost()
+            );
+            long contractEnd = System.currentTimeMillis();
+            // Round trip the hierarchy through a file, the way a server would load it.
+            File hierarchyFile = File.createTempFile("hierarchy", ".ser");
+            hierarchy.save(hierarchyFile);
+            hierarchy = ContractionHierarchy.load(hierarchyFile);
+            System.out.println(model + " hierarchy with " + hierarchy.edgeCount() + " edges built in "
+                + (contractEnd - contractStart) + " ms, saved into " + hierarchyFile.length() + " bytes.");
+            hierarchyFile.delete();
+            Random hrng = new Random(777); // Same queries for both searches.
+            List<String[]> pairs = new ArrayList<>();
+            for(int i = 0; i < 1000; i++) {
+                pairs.add(new String[] { words.get(hrng.nextInt(words.size())), words.get(hrng.nextInt(words.size())) });
+            }
+            double aStarTotal = 0, hierarchyTotal = 0;
+            long aStarStart = System.currentTimeMillis();
+            for(String[] pair: pairs) {
+                List<String> path = AStar.search(
+                    v -> neighbourMap.get(v), model.getCost(), pair[0],
+                    word -> word.equals(pair[1]), model.heuristicTo(pair[1])
+                ).getPath();
+                aStarTotal += pathCost(path, model.getCost());
+            }
+            long aStarEnd = System.currentTimeMillis();
+            for(String[] pair: pairs) {
+                hierarchyTotal += pathCost(hierarchy.shortestPath(pair[0], pair[1]), model.getCost());
+            }
+            // The A* code was already warmed up by the earlier sections, so time the hierarchy
+            // queries only after the pass that checked their path costs.
+            long hierarchyStart = System.currentTimeMillis();
+            for(String[] pair: pairs) { hierarchy.shortestPath(pair[0], pair[1]); }
+            long hierarchyEnd = System.currentTimeMillis();
+            System.out.println("A* took " + (aStarEnd - aStarStart) + " ms, the hierarchy took "
+                + (hierarchyEnd - hierarchyStart) + " ms, total path costs " + aStarTotal + " and " + hierarchyTotal + ".");
+        }
+
+        System.out.println("\nTrading optimality for memory with the anytime searches.");
+        AnytimeSearch.araStar(
+            v -> neighbourMap.get(v), scrabbleModel.getCost(), "sweat", word -> word.equals("tears"),
+            scrabbleModel.heuristicTo("tears"), 5, 1,
+            (path, bound) -> System.out.println("ARA* solution of cost " + pathCost(path, scrabbleModel.getCost())
+                + " within factor " + bound + " of optimal: " + path)
+        );
+        Random arng = new Random(2024);
+        int anytimeQueries = 0;
+        double optimalCost = 0;
+        double[] beamCost = new double[2];
+        int[] beamFound = new int[2];
+        int[] beamWidths = { 5, 50 };
+        long[] smaExpanded = new long[2];
+        int[] smaBudgets = { 2000, 5000 };
+        int[] smaOptimal = new int[2];
+        long astarExpanded = 0, astarPeak = 0;
+        while(anytimeQueries < 100) {
+            String start = words.get(arng.nextInt(words.size()));
+            String goal = words.get(arng.nextInt(words.size()));
+            SearchResult<String> optimal = AStar.search(
+                v -> neighbourMap.get(v), scrabbleModel.getCost(), start,
+                word -> word.equals(goal), scrabbleModel.heuristicTo(goal)
+            );
+            if(!optimal.isFound()) { continue; } // Only the queries that have a solution.
+            anytimeQueries++;
+            optimalCost += pathCost(optimal.getPath(), scrabbleModel.getCost());
+            astarExpanded += optimal.getStats().getExpanded();
+            astarPeak = Math.max(astarPeak, optimal.getStats().getGenerated());
+            for(int i = 0; i < 2; i++) {
+                SearchResult<String> beam = AnytimeSearch.beamSearch(
+                    v -> neighbourMap.get(v), scrabbleModel.getCost(), start,
+                    word -> word.equals(goal), scrabbleModel.heuristicTo(goal), beamWidths[i]
+                );
+                if(beam.isFound()) {
+                    beamFound[i]++;
+                    beamCost[i] += pathCost(beam.getPath(), scrabbleModel.getCost());
+                }
+                SearchResult<String> sma = AnytimeSearch.smaStar(
+                    v -> neighbourMap.get(v), scrabbleModel.getCost(), start,
+                    word -> word.equals(goal), scrabbleModel.heuristicTo(goal), smaBudgets[i]
+                );
+                smaExpanded[i] += sma.getStats().getExpanded();
+                if(sma.isFound() && pathCost(sma.getPath(), scrabbleModel.getCost())
+                    == pathCost(optimal.getPath(), scrabbleModel.getCost())) { smaOptimal[i]++; }
+            }
+        }
+        System.out.println("A* found paths of total cost " + optimalCost + " with " + astarExpanded
+            + " expansions, keeping up to " + astarPeak + " nodes.");
+        for(int i = 0; i < 2; i++) {
+            System.out.println("Beam search of width " + beamWidths[i] + " found " + beamFound[i]
+                + " paths of total cost " + beamCost[i] + ".");
+        }
+        for(int i = 0; i < 2; i++) {
+            System.out.println("SMA* with " + smaBudgets[i] + " nodes found " + smaOptimal[i]
+                + " optimal paths with " + smaExpanded[i] + " expansions.");
+        }
+
+        System.out.println("\nParallel A* when generating the neighbours is expensive.");
+        // Find the neighbours of each word the slow way, by comparing it to every other word.
+        Function<String, List<String>> slowEdges = v -> {
+            List<String> result = new ArrayList<>();
+            for(String w: words) {
+                if(hammingDistance(v, w) == 1) { result.add(w); }
+            }
+            return result;
+        };
+        int processors = Runtime.getRuntime().availableProcessors();
+        for(int threads: new int[] { 0, processors, 4 * processors }) {
+            Random prng = new Random(99); // Same queries for each number of threads.
+            double totalCost = 0;
+            long expansions = 0;
+            long parallelStart = System.currentTimeMillis();
+            for(int i = 0; i < 20; i++) {
+                String start = words.get(prng.nextInt(words.size()));
+                String goal = words.get(prng.nextInt(words.size()));
+                SearchResult<String> result = threads == 0 ?
+                    AStar.search(slowEdges, scrabbleModel.getCost(), start, word -> word.equals(goal),
+                        scrabbleModel.heuristicTo(goal)) :
+                    ParallelAStar.search(slowEdges, scrabbleModel.getCost(), start, word -> word.equals(goal),
+                        scrabbleModel.heuristicTo(goal), threads);
+                totalCost += pathCost(result.getPath(), scrabbleModel.getCost());
+                expansions += result.getStats().getExpanded();
+            }
+            long parallelEnd = System.currentTimeMillis();
+            System.out.println((threads == 0 ? "Serial A*" : "Parallel A* with " + threads + " threads")
+                + ": total cost " + totalCost + ", " + expansions + " expansions in " + (parallelEnd - parallelStart) + " ms.");
+        }
+
+        System.out.println("\nPrecomputing the distances between all pairs of words.");
+        long allPairsStart = System.currentTimeMillis();
+        AllPairsDistances allPairs = new AllPairsDistances(wordGraph, processors);
+        long allPairsEnd = System.currentTimeMillis();
+        // The centre of the giant component is the word that reaches the most words the fastest.
+        int centre = 0, centreReach = 0;
+        for(int v = 0; v < words.size(); v++) {
+            int reach = 0;
+            for(int w = 0; w < words.size(); w++) {
+                if(allPairs.distance(v, w) >= 0) { reach++; }
+            }
+            if(reach > centreReach || (reach == centreReach
+                && allPairs.eccentricity(v) < allPairs.eccentricity(centre))) { centre = v; centreReach = reach; }
+        }
+        System.out.println("Found " + allPairs.connectedPairs() + " connected pairs in " + (allPairsEnd - allPairsStart)
+            + " ms. The diameter is " + allPairs.diameter() + ", and '" + words.get(centre) + "' reaches all "
+            + centreReach + " words in its component within " + allPairs.eccentricity(centre) + " steps.");
+        Random drng = new Random(4242);
+        int distanceMismatches = 0;
+        long bfsTime = 0, matrixTime = 0;
+        for(int i = 0; i < 2000; i++) {
+            int start = drng.nextInt(words.size());
+            int goal = drng.nextInt(words.size());
+            long t0 = System.nanoTime();
+            int[] bfsPath = intSearch.shortestPath(start, v -> v == goal);
+            long t1 = System.nanoTime();
+            int[] matrixPath = allPairs.shortestPath(start, goal);
+            long t2 = System.nanoTime();
+            bfsTime += t1 - t0;
+            matrixTime += t2 - t1;
+            int bfsLength = bfsPath == null ? -1 : bfsPath.length - 1;
+            int matrixLength = matrixPath == null ? -1 : matrixPath.length - 1;
+            if(bfsLength != matrixLength || bfsLength != allPairs.distance(start, goal)) { distanceMismatches++; }
+        }
+        System.out.println("On 2000 random pairs, BFS took " + bfsTime / 1000000 + " ms and the matrix paths took "
+            + matrixTime / 1000000 + " ms, with " + distanceMismatches + " mismatches.");
+
+        System.out.println("\nUpdating the word graph as words are removed from and added to the dictionary.");
+        DynamicWordGraph dynamicGraph = new DynamicWordGraph(words);
+        System.out.println("Initially " + dynamicGraph.componentCount() + " components, and the graph built from scratch has "
+            + countComponents(neighbourMap) + ".");
+        List<String> removed = new ArrayList<>(words);
+        Collections.shuffle(removed, new Random(777));
+        removed = removed.subList(0, 1000);
+        long removeStart = System.currentTimeMillis();
+        for(String word: removed) { dynamicGraph.removeWord(word); }
+        long removeEnd = System.currentTimeMillis();
+        List<String> remaining = new ArrayList<>(words);
+        remaining.removeAll(new HashSet<>(removed));
+        long rebuildStart = System.currentTimeMillis();
+        Map<String, List<String>> rebuilt = WordGraph.hammingNeighbours(remaining);
+        long rebuildEnd = System.currentTimeMillis();
+        int adjacencyMismatches = 0;
+        for(String word: remaining) {
+            if(!new HashSet<>(rebuilt.get(word)).equals(new HashSet<>(dynamicGraph.neighbours(word)))) { adjacencyMismatches++; }
+        }
+        System.out.println("Removed " + removed.size() + " words one at a time in " + (removeEnd - removeStart)
+            + " ms, whereas one rebuild took " + (rebuildEnd - rebuildStart) + " ms.");
+        System.out.println("Now " + dynamicGraph.componentCount() + " components, and the graph built from scratch has "
+            + countComponents(rebuilt) + ", with " + adjacencyMismatches + " mismatched neighbour lists.");
+        for(String word: removed) { dynamicGraph.addWord(word); }
+        System.out.println("After adding the words back, " + dynamicGraph.componentCount() + " components.");
+
+        System.out.println("\nReplanning a word ladder with LPA* as the words on it are banned one at a time.");
+        String ladderStart = words.get(centre), ladderGoal = ladderStart;
+        for(int v = 0; v < words.size(); v++) {
+            if(allPairs.distance(centre, v) > allPairs.distance(centre, wordIndex.get(ladderGoal))) { ladderGoal = words.get(v); }
+        }
+        String lpaGoal = ladderGoal;
+        LPAStar<String> lpa = new LPAStar<>(
+            v -> dynamicGraph.neighbours(v), v -> dynamicGraph.neighbours(v), scrabbleModel.getCost(),
+            ladderStart, lpaGoal, scrabbleModel.heuristicTo(lpaGoal)
+        );
+        SearchResult<String> ladder = lpa.search();
+        System.out.println("Initial ladder of cost " + pathCost(ladder.getPath(), scrabbleModel.getCost())
+            + " with " + ladder.getStats().getExpanded() + " expansions: " + ladder.getPath());
+        Random brng = new Random(2024);
+        List<String> banned = new ArrayList<>();
+        long lpaExpanded = 0, scratchExpanded = 0;
+        int costMismatches = 0;
+        for(int i = 0; i < 20; i++) {
+            List<String> path = ladder.getPath();
+            String ban = path.get(1 + brng.nextInt(path.size() - 2));
+            List<String> former = new ArrayList<>(dynamicGraph.neighbours(ban));
+            dynamicGraph.removeWord(ban);
+            for(String w: former) { lpa.edgeChanged(ban, w); lpa.edgeChanged(w, ban); }
+            SearchResult<String> replanned = lpa.search();
+            lpaExpanded += replanned.getStats().getExpanded();
+            if(!replanned.isFound()) {
+                // Banning this word would cut the ladder altogether, so let it be.
+                dynamicGraph.addWord(ban);
+                for(String w: former) { lpa.edgeChanged(ban, w); lpa.edgeChanged(w, ban); }
+                ladder = lpa.search();
+                lpaExpanded += ladder.getStats().getExpanded();
+                continue;
+            }
+            banned.add(ban);
+            ladder = replanned;
+            SearchResult<String> scratch = AStar.search(
+                v -> dynamicGraph.neighbours(v), scrabbleModel.getCost(), ladderStart,
+                word -> word.equals(lpaGoal), scrabbleModel.heuristicTo(lpaGoal)
+            );
+            scratchExpanded += scratch.getStats().getExpanded();
+            if(pathCost(ladder.getPath(), scrabbleModel.getCost()) != pathCost(scratch.getPath(), scrabbleModel.getCost())) {
+                costMismatches++;
+            }
+        }
+        System.out.println("After banning " + banned.size() + " words, the ladder costs "
+            + pathCost(ladder.getPath(), scrabbleModel.getCost()) + ". Replanning took " + lpaExpanded
+            + " expansions, searching from scratch " + scratchExpanded + ", with " + costMismatches + " cost mismatches.");
+        for(String ban: banned) {
+            dynamicGraph.addWord(ban);
+            for(String w: dynamicGraph.neighbours(ban)) { lpa.edgeChanged(ban, w); lpa.edgeChanged(w, ban); }
+        }
+        ladder = lpa.search();
+        System.out.println("After lifting the bans, the ladder costs " + pathCost(ladder.getPath(), scrabbleModel.getCost())
+            + " again, found with " + ladder.getStats().getExpanded() + " expansions.");
+
+        System.out.println("\nFinding the dictionary words nearest to random letter strings with BK-trees.");
+        BKTree<String> hammingTree = new BKTree<>(words, (w1, w2) -> (int)hammingDistance(w1, w2));
+        // The Scrabble cost made symmetric, with the letter total of each word as its weight.
+        ToIntFunction<String> letterTotal = w -> {
+            int total = 0;
+            for(int i = 0; i < w.length(); i++) { total += PackedWords.LETTER_COST[w.charAt(i) - 'a']; }
+            return total;
+        };
+        BKTree<String> scrabbleTree = new BKTree<>(
+            words, (w1, w2) -> (int)(scrabbleDistance(w1, w2) + scrabbleDistance(w2, w1)), letterTotal
+        );
+        Random krng = new Random(5555);
+        long hammingRangeCount = 0, hammingNearestCount = 0, scrabbleNearestCount = 0;
+        int treeMismatches = 0;
+        for(int i = 0; i < 200; i++) {
+            char[] letters = new char[5];
+            for(int j = 0; j < 5; j++) { letters[j] = (char)('a' + krng.nextInt(26)); }
+            String query = new String(letters);
+            // Compare each answer to the linear scan over the whole dictionary.
+            List<String> inRange = hammingTree.range(query, 1);
+            hammingRangeCount += hammingTree.getDistanceCount();
+            int scanRange = 0;
+            for(String w: words) { if(hammingDistance(query, w) <= 1) { scanRange++; } }
+            if(inRange.size() != scanRange) { treeMismatches++; }
+            List<String> nearest = hammingTree.nearest(query, 5);
+            hammingNearestCount += hammingTree.getDistanceCount();
+            List<String> sorted = new ArrayList<>(words);
+            sorted.sort(Comparator.comparingDouble(w -> hammingDistance(query, w)));
+            if(hammingDistance(query, nearest.get(4)) != hammingDistance(query, sorted.get(4))) { treeMismatches++; }
+            nearest = scrabbleTree.nearest(query, 5);
+            scrabbleNearestCount += scrabbleTree.getDistanceCount();
+            sorted.sort(Comparator.comparingDouble(w -> scrabbleDistance(query, w)));
+            if(scrabbleDistance(query, nearest.get(4)) != scrabbleDistance(query, sorted.get(4))) { treeMismatches++; }
+            if(i == 0) {
+                System.out.println("The five words cheapest to reach from '" + query + "' are " + nearest + ".");
+            }
+        }
+        System.out.println("Per query on average, Hamming range 1 needed " + hammingRangeCount / 200
+            + " distances, Hamming 5 nearest " + hammingNearestCount / 200 + ", and Scrabble 5 nearest "
+            + scrabbleNearestCount / 200 + " out of " + words.size() + ", with " + treeMismatches + " mismatches.");
+
+        System.out.println("\nWord ladders that may also insert and delete letters.");
+        int[][] editAdjacency = WordGraph.editDistanceOneAdjacency(words);
+        boolean sameGraph = true;
+        for(int v = 0; v < words.size(); v++) { sameGraph &= Arrays.equals(editAdjacency[v], hammingAdjacency[v]); }
+        System.out.println("For words of equal length, the edit distance graph is the Hamming graph: " + sameGraph);
+        // Add the shorter words that the five letter words start with.
+        Set<String> mixedSet = new LinkedHashSet<>(words);
+        for(String w: words) {
+            for(int len = 2; len < 5; len++) { mixedSet.add(w.substring(0, len)); }
+        }
+        List<String> mixedWords = new ArrayList<>(mixedSet);
+        long editStart = System.currentTimeMillis();
+        Map<String, List<String>> editMap = WordGraph.editDistanceOneNeighbours(mixedWords);
+        long editEnd = System.currentTimeMillis();
+        int editEdges = 0;
+        for(List<String> nb: editMap.values()) { editEdges += nb.size(); }
+        System.out.println("Built the graph of " + mixedWords.size() + " words and prefixes with " + editEdges / 2
+            + " edges in " + (editEnd - editStart) + " ms.");
+        for(String[] pair: new String[][] { { "at", "sweat" }, { "cold", "warm" }, { "tears", "sweat" } }) {
+            if(!editMap.containsKey(pair[0]) || !editMap.containsKey(pair[1])) { continue; }
+            String goal = pair[1];
+            System.out.println("BFS: " + BFS.<String>search(v -> editMap.get(v), pair[0], word -> word.equals(goal), true));
+        }
+
+        System.out.println("\nAnalytics of the whole word graph in a fork/join pool.");
+        java.util.concurrent.ForkJoinPool analyticsPool = new java.util.concurrent.ForkJoinPool(processors);
+        long analyticsStart = System.currentTimeMillis();
+        int[] componentOf = GraphAnalytics.components(wordGraph, analyticsPool);
+        long componentsEnd = System.currentTimeMillis();
+        double[] centrality = GraphAnalytics.betweenness(wordGraph, analyticsPool);
+        long centralityEnd = System.currentTimeMillis();
+        long[] distanceHistogram = GraphAnalytics.distanceHistogram(wordGraph, analyticsPool);
+        long analyticsEnd = System.currentTimeMillis();
+        analyticsPool.shutdown();
+        int componentTotal = 0;
+        for(int c: componentOf) { componentTotal = Math.max(componentTotal, c + 1); }
+        System.out.println("Union-find found " + componentTotal + " components in " + (componentsEnd - analyticsStart)
+            + " ms, the breadth first search found " + countComponents(neighbourMap) + ".");
+        System.out.println("Computed the betweenness centralities in " + (centralityEnd - componentsEnd)
+            + " ms, and the distance histogram in " + (analyticsEnd - centralityEnd) + " ms, using "
+            + processors + " threads.");
+        System.out.println("The hub words that the most shortest paths pass through are:");
+        for(int v: GraphAnalytics.topVertices(centrality, 10)) {
+            // Each unordered pair of words was counted both ways.
+            System.out.printf("%s (degree %d, betweenness %.0f)%n", words.get(v), wordGraph.degree(v), centrality[v] / 2);
+        }
+        long[] degreeHistogram = GraphAnalytics.degreeHistogram(wordGraph);
+        System.out.println("Number of words by their degree: " + Arrays.toString(degreeHistogram));
+        System.out.println("Number of connected pairs of words by their distance: " + Arrays.toString(
+            Arrays.stream(distanceHistogram).skip(1).map(c -> c / 2).toArray()));
+
         System.out.println("\nAnd we are all done!");
     }
 }
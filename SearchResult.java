@@ -0,0 +1,44 @@
+import java.util.*;
+
+/**
+ * The result of one search, consisting of the path that was found and the statistics of
+ * the work that the search did to find it.
+ * @param <V> The type of the vertices of the graph.
+ */
+public class SearchResult<V> {
+
+    private final List<V> path;
+    private final SearchStats stats;
+
+    /**
+     * Constructor for the search result.
+     * @param path The path found by the search, or {@code null} if no path exists.
+     * @param stats The statistics of the search.
+     */
+    public SearchResult(List<V> path, SearchStats stats) {
+        this.path = path; this.stats = stats;
+    }
+
+    /**
+     * Returns the path found by the search.
+     * @return The list of vertices on the path from the start to the goal, or {@code null}
+     * if the search did not find any path.
+     */
+    public List<V> getPath() { return path; }
+
+    /**
+     * Checks whether the search found a path.
+     * @return Whether a path was found.
+     */
+    public boolean isFound() { return path != null; }
+
+    /**
+     * Returns the statistics of the search.
+     * @return The search statistics.
+     */
+    public SearchStats getStats() { return stats; }
+
+    public String toString() {
+        return (path == null ? "No solution" : path.size() + " " + path) + " (" + stats + ")";
+    }
+}
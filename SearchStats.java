@@ -0,0 +1,94 @@
+/**
+ * Immutable record of how much work one search did. Each search creates its own counter
+ * object, so that searches running in different threads at the same time do not interfere
+ * with each other's measurements.
+ */
+public class SearchStats {
+
+    /**
+     * The mutable counters that a search updates while it is running. This object is
+     * meant to be used only by the one thread that executes that search.
+     */
+    public static class Counter {
+        // How many nodes were taken out of the frontier and expanded.
+        public long expanded;
+        // How many nodes were created and added to the frontier.
+        public long generated;
+        // How many times a vertex that was already expanded was found through a better path.
+        public long reopened;
+        // The largest size of the frontier during the search.
+        public int peakFrontier;
+        // The time when the search started.
+        private final long startTime = System.nanoTime();
+
+        /**
+         * Update the peak frontier size with the current frontier size.
+         * @param size The current frontier size.
+         */
+        public void frontierSize(int size) {
+            if(size > peakFrontier) { peakFrontier = size; }
+        }
+
+        /**
+         * Freeze the current counter values into an immutable statistics object.
+         * @return The statistics of the search.
+         */
+        public SearchStats toStats() {
+            return new SearchStats(expanded, generated, reopened, peakFrontier, System.nanoTime() - startTime);
+        }
+    }
+
+    private final long expanded;
+    private final long generated;
+    private final long reopened;
+    private final int peakFrontier;
+    private final long nanos;
+
+    /**
+     * Constructor for the search statistics.
+     * @param expanded The number of expanded nodes.
+     * @param generated The number of generated nodes.
+     * @param reopened The number of reopened vertices.
+     * @param peakFrontier The peak size of the search frontier.
+     * @param nanos The wall clock time of the search in nanoseconds.
+     */
+    public SearchStats(long expanded, long generated, long reopened, int peakFrontier, long nanos) {
+        this.expanded = expanded; this.generated = generated; this.reopened = reopened;
+        this.peakFrontier = peakFrontier; this.nanos = nanos;
+    }
+
+    /**
+     * Returns the number of nodes that were expanded in the search.
+     * @return The expanded node count.
+     */
+    public long getExpanded() { return expanded; }
+
+    /**
+     * Returns the number of nodes that were generated in the search.
+     * @return The generated node count.
+     */
+    public long getGenerated() { return generated; }
+
+    /**
+     * Returns the number of times an already expanded vertex had to be expanded again.
+     * @return The reopening count.
+     */
+    public long getReopened() { return reopened; }
+
+    /**
+     * Returns the largest number of nodes in the search frontier at the same time.
+     * @return The peak frontier size.
+     */
+    public int getPeakFrontier() { return peakFrontier; }
+
+    /**
+     * Returns the wall clock time that the search took.
+     * @return The search time in nanoseconds.
+     */
+    public long getNanos() { return nanos; }
+
+    public String toString() {
+        return expanded + " expanded, " + generated + " generated, " + reopened + " reopened, peak frontier "
+            + peakFrontier + ", " + (nanos / 1000) + " us";
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.*;
+
+/**
+ * Find all pairs of words within the given Hamming distance k of each other, without
+ * comparing every word to every other word. The positions of the words are split into
+ * k+1 disjoint groups. By the pigeonhole principle, two words that differ in at most k
+ * positions must agree in every position of at least one of these groups. The words are
+ * therefore bucketed by their letters in each group, and only the words that share some
+ * bucket are compared. Each pair is reported only from the first group in which the two
+ * words agree, so that no pair is reported twice. Words of different lengths are never
+ * within any Hamming distance of each other, so each length is joined separately.
+ */
+public class SimilarityJoin {
+
+    // The low bits of a sort key that hold the position of the word.
+    private static final long INDEX_MASK = (1L << 24) - 1;
+
+    /**
+     * The receiver of the pairs of words found by the join.
+     */
+    public interface PairConsumer {
+        /**
+         * Accept one pair of words within the distance limit.
+         * @param i The position of the first word in the word list.
+         * @param j The position of the second word in the word list, greater than {@code i}.
+         * @param distance The Hamming distance between the two words.
+         */
+        void accept(int i, int j, int distance);
+    }
+
+    /**
+     * Find all pairs of distinct words whose Hamming distance is at most {@code k}.
+     * @param words The list of words to join.
+     * @param k The largest Hamming distance of the pairs to find.
+     * @param out The receiver of the pairs found.
+     * @return The number of candidate pairs whose distance was computed.
+     */
+    public static long join(List<String> words, int k, PairConsumer out) {
+        // Group the words by their length.
+        Map<Integer, List<Integer>> byLength = new TreeMap<>();
+        for(int i = 0; i < words.size(); i++) {
+            byLength.computeIfAbsent(words.get(i).length(), key -> new ArrayList<>()).add(i);
+        }
+        long candidates = 0;
+        for(Map.Entry<Integer, List<Integer>> entry: byLength.entrySet()) {
+            candidates += joinSameLength(words, entry.getValue(), entry.getKey(), k, out);
+        }
+        return candidates;
+    }
+
+    // Join the words of the given positions in the word list, all of the given length.
+    private static long joinSameLength(List<String> words, List<Integer> ids, int length, int k, PairConsumer out) {
+        int groups = k + 1;
+        // The group g consists of the positions from bounds[g] to bounds[g+1]-1.
+        int[] bounds = new int[groups + 1];
+        for(int g = 0; g <= groups; g++) { bounds[g] = (int)((long)g * length / groups); }
+        if(ids.size() > INDEX_MASK) {
+            throw new IllegalArgumentException("Too many words of length " + length);
+        }
+        char[][] chars = new char[ids.size()][];
+        for(int i = 0; i < chars.length; i++) { chars[i] = words.get(ids.get(i)).toCharArray(); }
+        long candidates = 0;
+        long[] keys = new long[chars.length];
+        for(int g = 0; g < groups; g++) {
+            // Bucket the words by sorting them by the hash of their letters in this group,
+            // with the position of the word in the low bits. Hash collisions only create
+            // more candidates to check, so the hash need not be perfect.
+            for(int i = 0; i < chars.length; i++) {
+                long hash = 0;
+                for(int p = bounds[g]; p < bounds[g + 1]; p++) { hash = 31 * hash + chars[i][p]; }
+                keys[i] = (hash * 0x9E3779B97F4A7C15L) & ~INDEX_MASK | i;
+            }
+            Arrays.sort(keys);
+            for(int start = 0, end; start < keys.length; start = end) {
+                end = start + 1;
+                while(end < keys.length && (keys[end] & ~INDEX_MASK) == (keys[start] & ~INDEX_MASK)) { end++; }
+                for(int a = start; a < end; a++) {
+                    int i1 = (int)(keys[a] & INDEX_MASK);
+                    char[] w1 = chars[i1];
+                    for(int b = a + 1; b < end; b++) {
+                        int i2 = (int)(keys[b] & INDEX_MASK);
+                        char[] w2 = chars[i2];
+                        // Skip the pairs that do not agree in this group, or that agree in
+                        // some earlier group so that they were already reported there.
+                        if(!agree(w1, w2, bounds, g) || agreeBefore(w1, w2, bounds, g)) { continue; }
+                        candidates++;
+                        int d = distance(w1, w2, k);
+                        if(d <= k) {
+                            int i = ids.get(i1), j = ids.get(i2);
+                            if(i < j) { out.accept(i, j, d); } else { out.accept(j, i, d); }
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // Check whether the two words agree in all positions of the group g.
+    private static boolean agree(char[] w1, char[] w2, int[] bounds, int g) {
+        for(int p = bounds[g]; p < bounds[g + 1]; p++) {
+            if(w1[p] != w2[p]) { return false; }
+        }
+        return true;
+    }
+
+    // Check whether the two words agree in all positions of some group before the group g.
+    private static boolean agreeBefore(char[] w1, char[] w2, int[] bounds, int g) {
+        for(int h = 0; h < g; h++) {
+            if(agree(w1, w2, bounds, h)) { return true; }
+        }
+        return false;
+    }
+
+    // The Hamming distance of the two words, giving up once it exceeds the limit.
+    private static int distance(char[] w1, char[] w2, int limit) {
+        int d = 0;
+        for(int p = 0; p < w1.length && d <= limit; p++) {
+            if(w1[p] != w2[p]) { d++; }
+        }
+        return d;
+    }
+
+    /**
+     * Build the lists of neighbours of each word, two words being neighbours if their
+     * Hamming distance is within the given range.
+     * @param words The list of words.
+     * @param minDistance The smallest Hamming distance of two neighbours, at least one.
+     * @param maxDistance The largest Hamming distance of two neighbours.
+     * @return The list of neighbour positions of each word, in ascending order.
+     */
+    public static List<List<Integer>> neighbourLists(List<String> words, int minDistance, int maxDistance) {
+        List<List<Integer>> neighbours = new ArrayList<>(words.size());
+        for(int i = 0; i < words.size(); i++) { neighbours.add(new ArrayList<>()); }
+        join(words, maxDistance, (i, j, d) -> {
+            if(d >= minDistance) {
+                neighbours.get(i).add(j);
+                neighbours.get(j).add(i);
+            }
+        });
+        for(List<Integer> nb: neighbours) { Collections.sort(nb); }
+        return neighbours;
+    }
+
+    public static void main(String[] args) throws java.io.FileNotFoundException {
+        ArrayList<String> words = new ArrayList<String>();
+        Scanner sc = new Scanner(new java.io.File("sgb-words.txt"));
+        while(sc.hasNextLine()) { words.add(sc.nextLine()); }
+        sc.close();
+        int[] packed = PackedWords.encodeAll(words);
+        int[] dist = new int[packed.length];
+        for(int round = 0; round < 6; round++) {
+            int k = 1 + round % 3;
+            long startTime = System.currentTimeMillis();
+            long[] pairs = new long[1];
+            long candidates = join(words, k, (i, j, d) -> pairs[0]++);
+            long midTime = System.currentTimeMillis();
+            // Compare to the packed all pairs scan, the fastest way without the join.
+            long scanPairs = 0;
+            for(int i = 0; i < packed.length; i++) {
+                PackedWords.hammingToAll(packed[i], packed, dist);
+                for(int j = i + 1; j < packed.length; j++) {
+                    if(dist[j] <= k) { scanPairs++; }
+                }
+            }
+            long endTime = System.currentTimeMillis();
+            System.out.println("Distance " + k + ": join found " + pairs[0] + " pairs from " + candidates
+                + " candidates in " + (midTime - startTime) + " ms, all pairs scan found " + scanPairs
+                + " pairs in " + (endTime - midTime) + " ms.");
+        }
+    }
+}
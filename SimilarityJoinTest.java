@@ -0,0 +1,62 @@
+import java.util.*;
+
+// Randomized tests of the pigeonhole similarity join against comparing every pair of
+// words, on random words of mixed lengths over small alphabets.
+
+public class SimilarityJoinTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    public static void testJoin(int seed, int count, int maxLength, int alphabet) {
+        Random rng = new Random(seed);
+        List<String> words = WordFixtures.randomWords(rng, count, 1, maxLength, alphabet);
+        for(int k = 0; k <= maxLength + 1; k++) {
+            Set<String> expected = new HashSet<>();
+            for(int i = 0; i < count; i++) {
+                for(int j = i + 1; j < count; j++) {
+                    int d = WordFixtures.hamming(words.get(i), words.get(j));
+                    if(d >= 0 && d <= k) { expected.add(i + " " + j + " " + d); }
+                }
+            }
+            Set<String> actual = new HashSet<>();
+            int limit = k;
+            SimilarityJoin.join(words, k, (i, j, d) -> {
+                check(i < j, "pair " + i + ", " + j + " in wrong order");
+                check(actual.add(i + " " + j + " " + d), "pair " + i + ", " + j + " reported twice for k = " + limit);
+            });
+            check(actual.equals(expected), "join for k = " + k + " found " + actual.size() + " pairs, expected "
+                + expected.size());
+        }
+    }
+
+    public static void testNeighbourLists(int seed, int count, int maxLength, int alphabet) {
+        Random rng = new Random(seed);
+        List<String> words = WordFixtures.randomWords(rng, count, 1, maxLength, alphabet);
+        for(int min = 1; min <= 3; min++) {
+            for(int max = min; max <= 3; max++) {
+                List<List<Integer>> neighbours = SimilarityJoin.neighbourLists(words, min, max);
+                for(int i = 0; i < count; i++) {
+                    List<Integer> expected = new ArrayList<>();
+                    for(int j = 0; j < count; j++) {
+                        int d = WordFixtures.hamming(words.get(i), words.get(j));
+                        if(j != i && d >= min && d <= max) { expected.add(j); }
+                    }
+                    check(neighbours.get(i).equals(expected), "neighbours of " + words.get(i) + " at distance "
+                        + min + " to " + max + " were " + neighbours.get(i) + ", expected " + expected);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 5; i++) {
+            testJoin(seed++, 300, 4, 3);
+            testJoin(seed++, 500, 7, 4);
+            testNeighbourLists(seed++, 300, 5, 3);
+        }
+        System.out.println("All SimilarityJoin tests passed.");
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.*;
+
+/**
+ * The sliding tile puzzles of up to sixteen cells, such as the 8-puzzle and the 15-puzzle,
+ * with each state packed into a single long, four bits per cell. The tile in the cell i,
+ * counted row by row, is stored in the bits 4i to 4i+3, and the blank is stored as zero.
+ * These states are searched with {@code LongStateSearch} without creating any objects.
+ */
+public class SlidingPuzzle {
+
+    private final int rows, cols, cells;
+    private final long goal;
+    // The Manhattan distance of each tile in each cell to its goal cell.
+    private final int[][] distance;
+
+    /**
+     * Constructor for the puzzle of the given size.
+     * @param rows The number of rows in the puzzle.
+     * @param cols The number of columns in the puzzle.
+     */
+    public SlidingPuzzle(int rows, int cols) {
+        if(rows < 2 || cols < 2 || rows * cols > 16) {
+            throw new IllegalArgumentException("Puzzle must be at least 2*2 with at most 16 cells");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = rows * cols;
+        long g = 0;
+        for(int i = 0; i < cells - 1; i++) { g |= (long)(i + 1) << (4 * i); }
+        this.goal = g;
+        this.distance = new int[cells][cells];
+        for(int tile = 1; tile < cells; tile++) {
+            for(int cell = 0; cell < cells; cell++) {
+                int target = tile - 1;
+                distance[tile][cell] = Math.abs(cell / cols - target / cols) + Math.abs(cell % cols - target % cols);
+            }
+        }
+    }
+
+    /**
+     * Returns the goal state with the tiles in order and the blank in the last cell.
+     * @return The goal state.
+     */
+    public long getGoal() { return goal; }
+
+    // The tile in the given cell of the state.
+    private static int tile(long state, int cell) {
+        return (int)(state >>> (4 * cell)) & 15;
+    }
+
+    // The cell that contains the blank.
+    private int blank(long state) {
+        for(int cell = 0; cell < cells; cell++) {
+            if(tile(state, cell) == 0) { return cell; }
+        }
+        throw new IllegalArgumentException("State " + Long.toHexString(state) + " has no blank");
+    }
+
+    // The state in which the tile in the given cell has slid into the blank cell.
+    private static long slide(long state, int blank, int cell) {
+        long tile = (state >>> (4 * cell)) & 15;
+        return state & ~(15L << (4 * cell)) | (tile << (4 * blank));
+    }
+
+    /**
+     * Write the successors of the state into the buffer, as needed by {@code LongStateSearch}.
+     * @param state The state whose successors are generated.
+     * @param buffer The array to write the successors into, with room for at least four.
+     * @return The number of successors written into the buffer.
+     */
+    public int successors(long state, long[] buffer) {
+        int b = blank(state);
+        int row = b / cols, col = b % cols, n = 0;
+        if(row > 0) { buffer[n++] = slide(state, b, b - cols); }
+        if(row < rows - 1) { buffer[n++] = slide(state, b, b + cols); }
+        if(col > 0) { buffer[n++] = slide(state, b, b - 1); }
+        if(col < cols - 1) { buffer[n++] = slide(state, b, b + 1); }
+        return n;
+    }
+
+    /**
+     * The Manhattan distance heuristic, the sum of the distances of each tile to its goal cell.
+     * @param state The state to evaluate.
+     * @return The lower bound for the number of moves to the goal state.
+     */
+    public int manhattan(long state) {
+        int total = 0;
+        for(int cell = 0; cell < cells; cell++) {
+            total += distance[tile(state, cell)][cell];
+        }
+        return total;
+    }
+
+    /**
+     * Scramble the given state with random moves, never immediately undoing the previous move.
+     * @param state The state to start from.
+     * @param moves The number of random moves to make.
+     * @param rng The random number generator to use.
+     * @return The scrambled state.
+     */
+    public long randomWalk(long state, int moves, Random rng) {
+        long[] buffer = new long[4];
+        long prev = state;
+        for(int i = 0; i < moves; i++) {
+            int n = successors(state, buffer);
+            long next;
+            do { next = buffer[rng.nextInt(n)]; } while(next == prev);
+            prev = state;
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * Render the given state as rows of tile numbers, with the blank shown as a dot.
+     * @param state The state to render.
+     * @return The string representation of the state.
+     */
+    public String toString(long state) {
+        StringBuilder result = new StringBuilder();
+        for(int cell = 0; cell < cells; cell++) {
+            int t = tile(state, cell);
+            result.append(String.format("%3s", t == 0 ? "." : Integer.toString(t)));
+            if(cell % cols == cols - 1) { result.append("\n"); }
+        }
+        return result.toString();
+    }
+
+    public static void main(String[] args) {
+        Random rng = new Random(12345);
+
+        System.out.println("Enumerating the reachable states of the 8-puzzle with BFS.");
+        SlidingPuzzle eight = new SlidingPuzzle(3, 3);
+        LongStateSearch eightSearch = new LongStateSearch(eight::successors, 4);
+        long startTime = System.currentTimeMillis();
+        eightSearch.breadthFirst(eight.getGoal(), s -> false);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Found " + eightSearch.getVisitedCount() + " states in "
+            + (endTime - startTime) + " ms, expected 181440.");
+
+        System.out.println("\nSolving random 8-puzzle instances with BFS and A*.");
+        long bfsExpanded = 0, aStarExpanded = 0;
+        int mismatches = 0;
+        for(int i = 0; i < 100; i++) {
+            long start = eight.randomWalk(eight.getGoal(), 100 + rng.nextInt(100), rng);
+            long[] bfsPath = eightSearch.breadthFirst(start, s -> s == eight.getGoal());
+            bfsExpanded += eightSearch.getStats().getExpanded();
+            long[] aStarPath = eightSearch.aStar(start, s -> s == eight.getGoal(), eight::manhattan);
+            aStarExpanded += eightSearch.getStats().getExpanded();
+            if(bfsPath.length != aStarPath.length) { mismatches++; }
+            if(i == 0) {
+                System.out.println("Solved in " + (aStarPath.length - 1) + " moves:\n" + eight.toString(start));
+            }
+        }
+        System.out.println("BFS expanded " + bfsExpanded + " states, A* expanded " + aStarExpanded
+            + " states, with " + mismatches + " mismatched path lengths.");
+
+        System.out.println("\nSolving random 15-puzzle instances with A*.");
+        SlidingPuzzle fifteen = new SlidingPuzzle(4, 4);
+        LongStateSearch fifteenSearch = new LongStateSearch(fifteen::successors, 4);
+        for(int moves = 20; moves <= 60; moves += 10) {
+            long start = fifteen.randomWalk(fifteen.getGoal(), moves, rng);
+            startTime = System.currentTimeMillis();
+            long[] path = fifteenSearch.aStar(start, s -> s == fifteen.getGoal(), fifteen::manhattan);
+            endTime = System.currentTimeMillis();
+            System.out.println("Walk of " + moves + " moves solved in " + (path.length - 1)
+                + " moves, " + fifteenSearch.getStats() + ", " + (endTime - startTime) + " ms.");
+        }
+
+        System.out.println("\nComparing to the generic A* with boxed states.");
+        long[] buffer = new long[4];
+        // Look for an instance that is hard enough for the difference to show.
+        long start;
+        long[] path;
+        do {
+            start = fifteen.randomWalk(fifteen.getGoal(), 100, rng);
+            startTime = System.currentTimeMillis();
+            path = fifteenSearch.aStar(start, s -> s == fifteen.getGoal(), fifteen::manhattan);
+            endTime = System.currentTimeMillis();
+        } while(fifteenSearch.getStats().getExpanded() < 200000);
+        System.out.println("LongStateSearch: " + (path.length - 1) + " moves, "
+            + fifteenSearch.getStats() + ", " + (endTime - startTime) + " ms.");
+        startTime = System.currentTimeMillis();
+        SearchResult<Long> result = AStar.search(
+            s -> {
+                int n = fifteen.successors(s, buffer);
+                List<Long> successors = new ArrayList<>(n);
+                for(int i = 0; i < n; i++) { successors.add(buffer[i]); }
+                return successors;
+            },
+            (s1, s2) -> 1.0, start, s -> s.longValue() == fifteen.getGoal(),
+            s -> (double)fifteen.manhattan(s)
+        );
+        endTime = System.currentTimeMillis();
+        System.out.println("AStar: " + (result.getPath().size() - 1) + " moves, "
+            + result.getStats() + ", " + (endTime - startTime) + " ms.");
+    }
+}
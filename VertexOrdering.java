@@ -0,0 +1,177 @@
+import java.util.*;
+
+/**
+ * Vertex orderings of an {@code IntGraph} for {@code IntGraph.permute}, to place the
+ * vertices that are near each other in the graph near each other in memory. Each ordering
+ * is given as the array of the original vertices in their new order, so that the vertex v
+ * of the renumbered graph is the vertex {@code order[v]} of the original graph, and the
+ * results computed in the renumbered graph are mapped back by looking them up in this
+ * array. The {@code inverse} of the ordering maps the original vertices to the new ones.
+ */
+public class VertexOrdering {
+
+    /**
+     * The reverse Cuthill-McKee ordering, which numbers the vertices of each connected
+     * component in breadth first order, visiting the neighbours of each vertex in the
+     * ascending order of their degrees, and finally reverses the whole order. Each search
+     * starts from a vertex of smallest degree in its component, found by a first search.
+     * This keeps the neighbours of each vertex within a narrow band of numbers.
+     * @param graph The undirected graph to order.
+     * @return The original vertices in their new order.
+     */
+    public static int[] reverseCuthillMcKee(IntGraph graph) {
+        int n = graph.vertexCount();
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int count = 0;
+        for(int s = 0; s < n; s++) {
+            if(visited[s]) { continue; }
+            // Find the vertex of smallest degree in the component of s to start from.
+            int first = count;
+            int tail = bfs(graph, s, order, count, visited, false);
+            int start = s;
+            for(int i = first; i < tail; i++) {
+                if(graph.degree(order[i]) < graph.degree(start)) { start = order[i]; }
+                visited[order[i]] = false;
+            }
+            count = bfs(graph, start, order, first, visited, true);
+        }
+        // Reversing the order tends to make the bands even narrower.
+        for(int i = 0, j = n - 1; i < j; i++, j--) {
+            int tmp = order[i]; order[i] = order[j]; order[j] = tmp;
+        }
+        return order;
+    }
+
+    // Breadth first search from the start vertex, appending the vertices that it visits to
+    // the order from the given position. Returns the position after the last visited vertex.
+    private static int bfs(IntGraph graph, int start, int[] order, int tail, boolean[] visited, boolean byDegree) {
+        int head = tail;
+        order[tail++] = start;
+        visited[start] = true;
+        while(head < tail) {
+            int v = order[head++];
+            int from = tail;
+            for(int e = graph.firstEdge(v), end = graph.firstEdge(v + 1); e < end; e++) {
+                int w = graph.target(e);
+                if(!visited[w]) { visited[w] = true; order[tail++] = w; }
+            }
+            if(byDegree) { sortByDegree(graph, order, from, tail); }
+        }
+        return tail;
+    }
+
+    // Sort the vertices in the given part of the array in ascending order of their degrees.
+    private static void sortByDegree(IntGraph graph, int[] vertices, int from, int to) {
+        for(int i = from + 1; i < to; i++) {
+            int v = vertices[i], j = i;
+            while(j > from && graph.degree(vertices[j - 1]) > graph.degree(v)) {
+                vertices[j] = vertices[j - 1];
+                j--;
+            }
+            vertices[j] = v;
+        }
+    }
+
+    /**
+     * The ordering of the vertices in descending order of their degrees, so that the hub
+     * vertices that most traversals pass through are all packed together at the start.
+     * @param graph The graph to order.
+     * @return The original vertices in their new order.
+     */
+    public static int[] byDegree(IntGraph graph) {
+        int n = graph.vertexCount();
+        // Counting sort by degree, keeping the original order among the vertices of equal degree.
+        int maxDegree = 0;
+        for(int v = 0; v < n; v++) { maxDegree = Math.max(maxDegree, graph.degree(v)); }
+        int[] start = new int[maxDegree + 2];
+        for(int v = 0; v < n; v++) { start[maxDegree - graph.degree(v) + 1]++; }
+        for(int d = 1; d < start.length; d++) { start[d] += start[d - 1]; }
+        int[] order = new int[n];
+        for(int v = 0; v < n; v++) { order[start[maxDegree - graph.degree(v)]++] = v; }
+        return order;
+    }
+
+    /**
+     * Returns the inverse of the given permutation.
+     * @param order The permutation to invert.
+     * @return The array whose element {@code order[v]} is {@code v} for each {@code v}.
+     */
+    public static int[] inverse(int[] order) {
+        int[] result = new int[order.length];
+        for(int v = 0; v < order.length; v++) { result[order[v]] = v; }
+        return result;
+    }
+
+    /**
+     * The average difference between the numbers of the two endpoints of an edge, which
+     * measures how far the traversals of the graph jump around in memory.
+     * @param graph The graph to measure.
+     * @return The average distance of the neighbours of a vertex from that vertex.
+     */
+    public static double averageEdgeSpan(IntGraph graph) {
+        long total = 0;
+        for(int v = 0; v < graph.vertexCount(); v++) {
+            for(int e = graph.firstEdge(v), end = graph.firstEdge(v + 1); e < end; e++) {
+                total += Math.abs(graph.target(e) - v);
+            }
+        }
+        return graph.edgeCount() == 0 ? 0 : (double)total / graph.edgeCount();
+    }
+
+    // Run breadth first search from every vertex of the graph, and return the number of
+    // edges traversed and the time taken in nanoseconds.
+    private static long[] bfsFromAll(IntGraph graph) {
+        IntGraphSearch search = new IntGraphSearch(graph);
+        int n = graph.vertexCount();
+        int[] reached = new int[n];
+        long edges = 0;
+        long startTime = System.nanoTime();
+        for(int s = 0; s < n; s++) {
+            int count = search.reachable(s, reached);
+            for(int i = 0; i < count; i++) { edges += graph.degree(reached[i]); }
+        }
+        long endTime = System.nanoTime();
+        return new long[] { edges, endTime - startTime };
+    }
+
+    public static void main(String[] args) throws java.io.FileNotFoundException {
+        ArrayList<String> words = new ArrayList<String>();
+        Scanner sc = new Scanner(new java.io.File("sgb-words.txt"));
+        while(sc.hasNextLine()) { words.add(sc.nextLine()); }
+        sc.close();
+        // The five letter words, and the larger graph of these words and all their prefixes.
+        Set<String> mixed = new LinkedHashSet<>(words);
+        for(String w: words) {
+            for(int len = 1; len < 5; len++) { mixed.add(w.substring(0, len)); }
+        }
+        List<String> mixedWords = new ArrayList<>(mixed);
+        Collections.shuffle(mixedWords, new Random(12345));
+        IntGraph[] graphs = {
+            new IntGraph(WordGraph.hammingAdjacency(words)),
+            new IntGraph(WordGraph.editDistanceOneAdjacency(mixedWords))
+        };
+        String[] graphNames = { "Hamming graph of sgb-words", "Edit distance graph with prefixes" };
+        for(int i = 0; i < graphs.length; i++) {
+            IntGraph graph = graphs[i];
+            int n = graph.vertexCount();
+            System.out.println(graphNames[i] + " with " + n + " vertices and " + graph.edgeCount() + " edges:");
+            int[] identity = new int[n];
+            for(int v = 0; v < n; v++) { identity[v] = v; }
+            List<Integer> shuffled = new ArrayList<>();
+            for(int v = 0; v < n; v++) { shuffled.add(v); }
+            Collections.shuffle(shuffled, new Random(777));
+            int[] random = new int[n];
+            for(int v = 0; v < n; v++) { random[v] = shuffled.get(v); }
+            int[][] orders = { identity, random, byDegree(graph), reverseCuthillMcKee(graph) };
+            String[] names = { "Original", "Random", "Degree", "Reverse Cuthill-McKee" };
+            for(int j = 0; j < orders.length; j++) {
+                IntGraph permuted = graph.permute(orders[j]);
+                if(j == 0) { bfsFromAll(permuted); } // Warm up.
+                long[] result = bfsFromAll(permuted);
+                System.out.printf("%s order: average edge span %.1f, BFS from every vertex traversed %d edges, %.1f per us.%n",
+                    names[j], averageEdgeSpan(permuted), result[0], result[0] * 1000.0 / result[1]);
+            }
+        }
+    }
+}
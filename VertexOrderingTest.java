@@ -0,0 +1,157 @@
+import java.util.*;
+
+// Randomized tests of the vertex orderings and IntGraph.permute on random graphs with
+// several connected components and isolated vertices, checking that the renumbered graph
+// has the same edges and breadth first search distances as the original.
+
+public class VertexOrderingTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // A random graph of the given number of vertices, split into the given number of groups
+    // with edges only inside each group, where about one vertex in ten has no edges at all.
+    // The vertices of the groups are interleaved, so that the components are not already
+    // contiguous. Each edge goes both ways when the graph is undirected.
+    private static int[][] randomGraph(Random rng, int n, int groups, double density, boolean undirected) {
+        int[] group = new int[n];
+        for(int v = 0; v < n; v++) { group[v] = rng.nextInt(10) == 0 ? -1 : rng.nextInt(groups); }
+        List<Set<Integer>> edges = new ArrayList<>();
+        for(int v = 0; v < n; v++) { edges.add(new TreeSet<>()); }
+        for(int v = 0; v < n; v++) {
+            for(int w = 0; w < n; w++) {
+                if(v != w && group[v] != -1 && group[v] == group[w] && rng.nextDouble() < density) {
+                    edges.get(v).add(w);
+                    if(undirected) { edges.get(w).add(v); }
+                }
+            }
+        }
+        int[][] adjacency = new int[n][];
+        for(int v = 0; v < n; v++) {
+            adjacency[v] = edges.get(v).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return adjacency;
+    }
+
+    // Check that the order is a permutation of the vertices, and that its inverse undoes it.
+    private static void checkPermutation(int[] order, int n, String name) {
+        check(order.length == n, name + " order has " + order.length + " elements for " + n + " vertices");
+        boolean[] seen = new boolean[n];
+        for(int v: order) {
+            check(v >= 0 && v < n && !seen[v], name + " order " + Arrays.toString(order) + " is not a permutation");
+            seen[v] = true;
+        }
+        int[] inverse = VertexOrdering.inverse(order);
+        for(int v = 0; v < n; v++) {
+            check(inverse[order[v]] == v && order[inverse[v]] == v, name + " inverse is wrong at " + v);
+        }
+    }
+
+    // Check that the permuted graph has the edge (v, w) exactly when the original graph has
+    // the edge (order[v], order[w]), and that the distances from every vertex agree.
+    private static void checkPermuted(IntGraph graph, int[] order, String name) {
+        int n = graph.vertexCount();
+        IntGraph permuted = graph.permute(order);
+        int[] inverse = VertexOrdering.inverse(order);
+        check(permuted.vertexCount() == n, name + " permuted graph has " + permuted.vertexCount() + " vertices");
+        check(permuted.edgeCount() == graph.edgeCount(), name + " permuted graph has " + permuted.edgeCount() + " edges");
+        boolean[][] original = new boolean[n][n];
+        for(int v = 0; v < n; v++) {
+            for(int w: graph.neighbours(v)) { original[v][w] = true; }
+        }
+        for(int v = 0; v < n; v++) {
+            int[] nb = permuted.neighbours(v);
+            check(nb.length == graph.degree(order[v]), name + " vertex " + v + " has degree " + nb.length);
+            boolean[] adjacent = new boolean[n];
+            for(int i = 0; i < nb.length; i++) {
+                check(i == 0 || nb[i - 1] < nb[i], name + " neighbours " + Arrays.toString(nb) + " of " + v + " are not sorted");
+                adjacent[nb[i]] = true;
+            }
+            for(int w = 0; w < n; w++) {
+                check(adjacent[w] == original[order[v]][order[w]], name + " edge (" + v + ", " + w + ") does not match the edge ("
+                    + order[v] + ", " + order[w] + ")");
+            }
+        }
+        IntGraphSearch search = new IntGraphSearch(graph);
+        IntGraphSearch permutedSearch = new IntGraphSearch(permuted);
+        int[] dist = new int[n];
+        int[] permutedDist = new int[n];
+        for(int s = 0; s < n; s++) {
+            int count = search.distances(s, dist);
+            check(permutedSearch.distances(inverse[s], permutedDist) == count, name + " reaches a different number of vertices from " + s);
+            for(int v = 0; v < n; v++) {
+                check(permutedDist[v] == dist[order[v]], name + " distance from " + s + " to " + order[v] + " is "
+                    + permutedDist[v] + ", expected " + dist[order[v]]);
+            }
+        }
+    }
+
+    public static void test(int seed, int n, int groups, double density, boolean undirected) {
+        Random rng = new Random(seed);
+        IntGraph graph = new IntGraph(randomGraph(rng, n, groups, density, undirected));
+        int[] identity = new int[n];
+        for(int v = 0; v < n; v++) { identity[v] = v; }
+        List<Integer> shuffled = new ArrayList<>();
+        for(int v = 0; v < n; v++) { shuffled.add(v); }
+        Collections.shuffle(shuffled, rng);
+        int[] random = shuffled.stream().mapToInt(Integer::intValue).toArray();
+
+        int[] byDegree = VertexOrdering.byDegree(graph);
+        checkPermutation(byDegree, n, "Degree");
+        for(int i = 1; i < n; i++) {
+            int d1 = graph.degree(byDegree[i - 1]), d2 = graph.degree(byDegree[i]);
+            check(d1 > d2 || (d1 == d2 && byDegree[i - 1] < byDegree[i]), "degree order is wrong at position " + i);
+        }
+        checkPermuted(graph, byDegree, "Degree");
+        checkPermuted(graph, identity, "Identity");
+        checkPermuted(graph, random, "Random");
+
+        // Reverse Cuthill-McKee is only defined for undirected graphs. Each component is a
+        // contiguous block of the order, ending with a vertex of smallest degree in it.
+        if(!undirected) { return; }
+        int[] rcm = VertexOrdering.reverseCuthillMcKee(graph);
+        checkPermutation(rcm, n, "RCM");
+        IntGraphSearch search = new IntGraphSearch(graph);
+        int[] dist = new int[n];
+        int[] position = VertexOrdering.inverse(rcm);
+        boolean[] done = new boolean[n];
+        for(int s = 0; s < n; s++) {
+            if(done[s]) { continue; }
+            int count = search.distances(s, dist);
+            int first = n, last = -1, minDegree = Integer.MAX_VALUE;
+            for(int v = 0; v < n; v++) {
+                if(dist[v] == -1) { continue; }
+                done[v] = true;
+                first = Math.min(first, position[v]);
+                last = Math.max(last, position[v]);
+                minDegree = Math.min(minDegree, graph.degree(v));
+            }
+            check(last - first + 1 == count, "component of " + s + " is not contiguous in the RCM order");
+            check(graph.degree(rcm[last]) == minDegree, "component of " + s + " does not end with a vertex of smallest degree");
+        }
+        checkPermuted(graph, rcm, "RCM");
+    }
+
+    public static void testRejected() {
+        IntGraph graph = new IntGraph(new int[][] { {1}, {0, 2}, {1} });
+        for(int[] order: new int[][] { {0, 1}, {0, 1, 2, 3}, {0, 1, 1}, {2, 0, 2} }) {
+            boolean thrown = false;
+            try { graph.permute(order); }
+            catch(IllegalArgumentException e) { thrown = true; }
+            check(thrown, "permuting by " + Arrays.toString(order) + " did not throw");
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 10; i++) {
+            test(seed++, 1, 1, 0.5, true);
+            test(seed++, 30, 3, 0.2, true);
+            test(seed++, 120, 6, 0.05, true);
+            test(seed++, 100, 4, 0.05, false);
+        }
+        testRejected();
+        System.out.println("All VertexOrdering tests passed.");
+    }
+}
@@ -0,0 +1,61 @@
+import java.util.*;
+
+// The shared fixtures of the word tests: random words over small alphabets, so that many
+// of them are close to each other, and the plain Hamming distance that the fast word
+// algorithms are compared to.
+
+public class WordFixtures {
+
+    // A random word of the given length over the first letters of the alphabet.
+    public static String randomWord(Random rng, int length, int alphabet) {
+        StringBuilder w = new StringBuilder();
+        for(int p = 0; p < length; p++) { w.append((char)('a' + rng.nextInt(alphabet))); }
+        return w.toString();
+    }
+
+    // Random words of lengths between the given bounds, about half of them made from some
+    // earlier word by one edit, which can also give back a word that is already listed.
+    public static List<String> randomWords(Random rng, int count, int minLength, int maxLength, int alphabet) {
+        List<String> words = new ArrayList<>();
+        while(words.size() < count) { words.add(nextWord(rng, words, minLength, maxLength, alphabet)); }
+        return words;
+    }
+
+    // As randomWords, but without repeated words. There must be at least the given number
+    // of different words of these lengths over this alphabet.
+    public static List<String> distinctWords(Random rng, int count, int minLength, int maxLength, int alphabet) {
+        List<String> words = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        while(words.size() < count) {
+            String w = nextWord(rng, words, minLength, maxLength, alphabet);
+            if(seen.add(w)) { words.add(w); }
+        }
+        return words;
+    }
+
+    // Either a new random word, or an earlier word with one letter substituted, inserted
+    // or deleted, keeping the length within the bounds.
+    private static String nextWord(Random rng, List<String> earlier, int minLength, int maxLength, int alphabet) {
+        if(earlier.isEmpty() || rng.nextBoolean()) {
+            return randomWord(rng, minLength + rng.nextInt(maxLength - minLength + 1), alphabet);
+        }
+        StringBuilder w = new StringBuilder(earlier.get(rng.nextInt(earlier.size())));
+        int p = rng.nextInt(w.length() + 1);
+        char c = (char)('a' + rng.nextInt(alphabet));
+        int edit = rng.nextInt(3);
+        if(edit == 1 && w.length() < maxLength) { w.insert(p, c); }
+        else if(edit == 2 && p < w.length() && w.length() > minLength) { w.deleteCharAt(p); }
+        else if(p < w.length()) { w.setCharAt(p, c); }
+        return w.toString();
+    }
+
+    // The Hamming distance of two words of equal length, or -1 for different lengths.
+    public static int hamming(String w1, String w2) {
+        if(w1.length() != w2.length()) { return -1; }
+        int d = 0;
+        for(int p = 0; p < w1.length(); p++) {
+            if(w1.charAt(p) != w2.charAt(p)) { d++; }
+        }
+        return d;
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.*;
+
+/**
+ * Builders for the word neighbourhood graphs used in the word ladder searches. Instead of
+ * comparing every word with every other word, the words are grouped into buckets by each
+ * of their single-wildcard patterns, so that for example "about" lands into the buckets
+ * "*bout", "a*out", "ab*ut", "abo*t" and "abou*". Two words of equal length are at Hamming
+ * distance one exactly when they share a bucket, and then they share exactly one bucket.
+ * The total work is therefore proportional to the number of edges plus the total length
+ * of the words, instead of growing quadratically with the number of words.
+ */
+public class WordGraph {
+
+    // The number of low bits of a sort key that hold the position of the word.
+    private static final int WORD_BITS = 24;
+    // The base of the polynomial hash of the letters of a word.
+    private static final long HASH_BASE = 1_000_003L;
+
+    /**
+     * Build the adjacency lists of the Hamming distance one graph of the given list of
+     * words, with each word represented by its position in that list. The neighbours of
+     * each word are listed in ascending order of their positions.
+     * @param words The list of distinct words that are the vertices of the graph.
+     * @return The array of neighbour positions of each word.
+     */
+    public static int[][] hammingAdjacency(List<String> words) {
+        int n = words.size();
+        // Group the words by their single-wildcard patterns.
+        Map<String, List<Integer>> buckets = new HashMap<>();
+        for(int i = 0; i < n; i++) {
+            char[] pattern = words.get(i).toCharArray();
+            for(int j = 0; j < pattern.length; j++) {
+                char c = pattern[j];
+                pattern[j] = '*';
+                buckets.computeIfAbsent(new String(pattern), k -> new ArrayList<>(2)).add(i);
+                pattern[j] = c;
+            }
+        }
+        // Count the degrees of the words to allocate the exact adjacency arrays.
+        int[] degree = new int[n];
+        for(List<Integer> bucket: buckets.values()) {
+            for(int v: bucket) { degree[v] += bucket.size() - 1; }
+        }
+        int[][] adjacency = new int[n][];
+        for(int i = 0; i < n; i++) { adjacency[i] = new int[degree[i]]; }
+        // Every pair of words in the same bucket is an edge.
+        int[] fill = new int[n];
+        for(List<Integer> bucket: buckets.values()) {
+            if(bucket.size() < 2) { continue; }
+            for(int v: bucket) {
+                for(int w: bucket) {
+                    if(v != w) { adjacency[v][fill[v]++] = w; }
+                }
+            }
+        }
+        for(int[] nb: adjacency) { Arrays.sort(nb); }
+        return adjacency;
+    }
+
+    /**
+     * Build the Hamming distance one neighbourhood graph of the given list of words as a
+     * map from each word to the list of its neighbours, listed in the same order as these
+     * words appear in the original list.
+     * @param words The list of distinct words that are the vertices of the graph.
+     * @return The neighbourhood map of the words.
+     */
+    public static Map<String, List<String>> hammingNeighbours(List<String> words) {
+        return toNeighbourMap(words, hammingAdjacency(words));
+    }
+
+    /**
+     * Convert the adjacency arrays of word positions into the map from each word to the
+     * list of its neighbours, so that a caller that needs the graph in both forms does not
+     * have to build it twice.
+     * @param words The list of words that are the vertices of the graph.
+     * @param adjacency The positions of the neighbours of each word in the word list.
+     * @return The neighbourhood map of the words.
+     */
+    public static Map<String, List<String>> toNeighbourMap(List<String> words, int[][] adjacency) {
+        Map<String, List<String>> neighbourMap = new HashMap<>();
+        for(int i = 0; i < adjacency.length; i++) {
+            List<String> neighbours = new ArrayList<>(adjacency[i].length);
+            for(int j: adjacency[i]) { neighbours.add(words.get(j)); }
+            neighbourMap.put(words.get(i), neighbours);
+        }
+        return neighbourMap;
+    }
+
+    /**
+     * Build the adjacency lists of the graph of the given words of any lengths, where two
+     * words are neighbours if one can be turned into the other by substituting, inserting
+     * or deleting one letter. A substitution is found through the single-wildcard patterns
+     * as in {@code hammingAdjacency}, but each pattern is represented by its hash code
+     * instead of a string, so that the words can be grouped by sorting an array of longs.
+     * The words in the same group are then compared to weed out the hash collisions. An
+     * insertion is found from the other direction as a deletion, by looking up each word
+     * with one letter deleted in the index of all words. The total work is proportional
+     * to the total length of the words times their maximum length, plus the edges.
+     * @param words The list of distinct words that are the vertices of the graph.
+     * @return The array of neighbour positions of each word, in ascending order.
+     */
+    public static int[][] editDistanceOneAdjacency(List<String> words) {
+        int n = words.size();
+        // The edges found so far as pairs of words packed into longs, both ways.
+        long[] edges = new long[1024];
+        int edgeCount = 0;
+        // Substitutions. Each pattern hash is stored in the high bits, the word in the low bits.
+        long total = 0;
+        for(String w: words) { total += w.length(); }
+        if(n >= (1 << WORD_BITS) || total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many words to index");
+        }
+        long[] keys = new long[(int)total];
+        int k = 0;
+        for(int i = 0; i < n; i++) {
+            String w = words.get(i);
+            long full = 0, power = 1;
+            for(int p = 0; p < w.length(); p++) { full += w.charAt(p) * power; power *= HASH_BASE; }
+            power = 1;
+            for(int p = 0; p < w.length(); p++) {
+                long pattern = full - w.charAt(p) * power + (31L * w.length() + p) * 0x9E3779B97F4A7C15L;
+                keys[k++] = mix(pattern) << WORD_BITS | i;
+                power *= HASH_BASE;
+            }
+        }
+        Arrays.sort(keys);
+        long wordMask = (1L << WORD_BITS) - 1;
+        for(int start = 0, end; start < keys.length; start = end) {
+            end = start + 1;
+            while(end < keys.length && (keys[end] >>> WORD_BITS) == (keys[start] >>> WORD_BITS)) { end++; }
+            for(int a = start; a < end; a++) {
+                int i = (int)(keys[a] & wordMask);
+                for(int b = a + 1; b < end; b++) {
+                    int j = (int)(keys[b] & wordMask);
+                    if(isSubstitution(words.get(i), words.get(j))) {
+                        if(edgeCount + 2 > edges.length) { edges = Arrays.copyOf(edges, 2 * edges.length); }
+                        edges[edgeCount++] = (long)i << 32 | j;
+                        edges[edgeCount++] = (long)j << 32 | i;
+                    }
+                }
+            }
+        }
+        // Insertions and deletions, found by deleting each letter from each word.
+        Map<String, Integer> index = new HashMap<>();
+        for(int i = 0; i < n; i++) { index.put(words.get(i), i); }
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < n; i++) {
+            String w = words.get(i);
+            for(int p = 0; p < w.length(); p++) {
+                // Deleting any letter of a run of equal letters gives the same word.
+                if(p > 0 && w.charAt(p) == w.charAt(p - 1)) { continue; }
+                sb.setLength(0);
+                sb.append(w, 0, p).append(w, p + 1, w.length());
+                Integer j = index.get(sb.toString());
+                if(j != null) {
+                    if(edgeCount + 2 > edges.length) { edges = Arrays.copyOf(edges, 2 * edges.length); }
+                    edges[edgeCount++] = (long)i << 32 | j;
+                    edges[edgeCount++] = (long)j << 32 | i;
+                }
+            }
+        }
+        // Sorting the edges groups them by their source word, with the targets in order.
+        Arrays.sort(edges, 0, edgeCount);
+        int[] degree = new int[n];
+        for(int e = 0; e < edgeCount; e++) {
+            // A pair of words can share more than one pattern hash only by a collision.
+            if(e > 0 && edges[e] == edges[e - 1]) { continue; }
+            degree[(int)(edges[e] >>> 32)]++;
+        }
+        int[][] adjacency = new int[n][];
+        for(int i = 0; i < n; i++) { adjacency[i] = new int[degree[i]]; }
+        int[] fill = new int[n];
+        for(int e = 0; e < edgeCount; e++) {
+            if(e > 0 && edges[e] == edges[e - 1]) { continue; }
+            int i = (int)(edges[e] >>> 32);
+            adjacency[i][fill[i]++] = (int)edges[e];
+        }
+        return adjacency;
+    }
+
+    /**
+     * Build the edit distance one neighbourhood graph of the given words of any lengths
+     * as a map from each word to the list of its neighbours.
+     * @param words The list of distinct words that are the vertices of the graph.
+     * @return The neighbourhood map of the words.
+     */
+    public static Map<String, List<String>> editDistanceOneNeighbours(List<String> words) {
+        return toNeighbourMap(words, editDistanceOneAdjacency(words));
+    }
+
+    // Mix the bits of the pattern hash, leaving the room for the word position.
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h >>> WORD_BITS;
+    }
+
+    // Check whether the two words have the same length and differ in exactly one position.
+    private static boolean isSubstitution(String w1, String w2) {
+        if(w1.length() != w2.length()) { return false; }
+        int diff = 0;
+        for(int p = 0; p < w1.length() && diff < 2; p++) {
+            if(w1.charAt(p) != w2.charAt(p)) { diff++; }
+        }
+        return diff == 1;
+    }
+}
@@ -0,0 +1,72 @@
+import java.util.*;
+
+// Randomized tests of the Hamming and edit distance one word graph builders against
+// comparing every pair of words, on random words over small alphabets.
+
+public class WordGraphTest {
+
+    private static void check(boolean condition, String message) {
+        if(!condition) { throw new AssertionError(message); }
+    }
+
+    // The Levenshtein distance of the two words, with the usual dynamic programming.
+    private static int editDistance(String w1, String w2) {
+        int[] prev = new int[w2.length() + 1], curr = new int[w2.length() + 1];
+        for(int j = 0; j <= w2.length(); j++) { prev[j] = j; }
+        for(int i = 1; i <= w1.length(); i++) {
+            curr[0] = i;
+            for(int j = 1; j <= w2.length(); j++) {
+                int sub = prev[j - 1] + (w1.charAt(i - 1) == w2.charAt(j - 1) ? 0 : 1);
+                curr[j] = Math.min(sub, Math.min(prev[j], curr[j - 1]) + 1);
+            }
+            int[] tmp = prev; prev = curr; curr = tmp;
+        }
+        return prev[w2.length()];
+    }
+
+    public static void testEditDistanceOne(int seed, int count, int minLength, int maxLength, int alphabet) {
+        List<String> words = WordFixtures.distinctWords(new Random(seed), count, minLength, maxLength, alphabet);
+        int[][] adjacency = WordGraph.editDistanceOneAdjacency(words);
+        for(int i = 0; i < count; i++) {
+            List<Integer> expected = new ArrayList<>();
+            for(int j = 0; j < count; j++) {
+                if(editDistance(words.get(i), words.get(j)) == 1) { expected.add(j); }
+            }
+            List<Integer> actual = new ArrayList<>();
+            for(int j: adjacency[i]) { actual.add(j); }
+            check(actual.equals(expected), "edit distance neighbours of \"" + words.get(i) + "\" were " + actual
+                + ", expected " + expected);
+        }
+    }
+
+    public static void testHamming(int seed, int count, int minLength, int maxLength, int alphabet) {
+        List<String> words = WordFixtures.distinctWords(new Random(seed), count, minLength, maxLength, alphabet);
+        int[][] adjacency = WordGraph.hammingAdjacency(words);
+        Map<String, List<String>> neighbourMap = WordGraph.hammingNeighbours(words);
+        for(int i = 0; i < count; i++) {
+            List<Integer> expected = new ArrayList<>();
+            List<String> expectedWords = new ArrayList<>();
+            for(int j = 0; j < count; j++) {
+                if(WordFixtures.hamming(words.get(i), words.get(j)) == 1) { expected.add(j); expectedWords.add(words.get(j)); }
+            }
+            List<Integer> actual = new ArrayList<>();
+            for(int j: adjacency[i]) { actual.add(j); }
+            check(actual.equals(expected), "Hamming neighbours of \"" + words.get(i) + "\" were " + actual
+                + ", expected " + expected);
+            check(neighbourMap.get(words.get(i)).equals(expectedWords), "neighbour map of \"" + words.get(i)
+                + "\" was " + neighbourMap.get(words.get(i)) + ", expected " + expectedWords);
+        }
+    }
+
+    public static void main(String[] args) {
+        int seed = 12345;
+        for(int i = 0; i < 5; i++) {
+            // Every word of at most four letters over three letters, including the empty word.
+            testEditDistanceOne(seed++, 121, 0, 4, 3);
+            testEditDistanceOne(seed++, 1000, 1, 7, 4);
+            testHamming(seed++, 100, 4, 4, 4);
+            testHamming(seed++, 1000, 1, 6, 3);
+        }
+        System.out.println("All WordGraph tests passed.");
+    }
+}